@@ -0,0 +1,135 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.PersonTest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Общее состояние для бенчмарков ArrayList. Для каждого сочетания параметров
+ * {@code size} и {@code elementType} заполняет два списка одинаковыми элементами:
+ * aston.bootcamp.ArrayList и java.util.ArrayList, который служит эталоном.</p>
+ * <p>Каждый метод с аннотацией {@code @Benchmark} запускается в отдельном прогоне
+ * со своим экземпляром состояния, поэтому изменения списка в одном бенчмарке
+ * не влияют на другие.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public abstract class AbstractListBenchmark {
+    /**
+     * Количество элементов в списке
+     */
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+    /**
+     * Тип элементов: Integer или PersonTest
+     */
+    @Param({"Integer", "PersonTest"})
+    public String elementType;
+
+    /**
+     * Исходные элементы в случайном порядке
+     */
+    protected Object[] data;
+    /**
+     * Исходные элементы в виде коллекции java.util для конструкторов и addAll
+     */
+    protected java.util.ArrayList<Object> source;
+    /**
+     * Тестируемый список
+     */
+    protected ArrayList<Object> my;
+    /**
+     * Эталонный список
+     */
+    protected java.util.ArrayList<Object> jdk;
+    /**
+     * Компаратор, соответствующий типу элементов
+     */
+    protected Comparator<Object> comparator;
+    /**
+     * Элемент, которого гарантированно нет в списке
+     */
+    protected Object missing;
+
+    @Setup(Level.Trial)
+    public void setUpList() {
+        data = Elements.generate(elementType, size, 42L);
+        source = new java.util.ArrayList<>(java.util.Arrays.asList(data));
+        my = new ArrayList<>(source);
+        jdk = new java.util.ArrayList<>(source);
+        comparator = Elements.comparator();
+        missing = Elements.missing(elementType);
+    }
+
+    /**
+     * Генерация элементов для бенчмарков
+     */
+    static final class Elements {
+        private Elements() {
+        }
+
+        /**
+         * Создает массив случайных элементов заданного типа
+         *
+         * @param elementType тип элементов: Integer или PersonTest
+         * @param size        количество элементов
+         * @param seed        начальное значение генератора
+         * @return массив элементов
+         */
+        static Object[] generate(String elementType, int size, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            Object[] result = new Object[size];
+            for (int i = 0; i < size; ++i) {
+                int value = random.nextInt(Integer.MAX_VALUE / 2);
+                result[i] = element(elementType, value);
+            }
+            return result;
+        }
+
+        /**
+         * Создает один элемент заданного типа по числовому ключу
+         *
+         * @param elementType тип элемента
+         * @param value       ключ сравнения (значение Integer или возраст PersonTest)
+         * @return созданный элемент
+         */
+        static Object element(String elementType, int value) {
+            switch (elementType) {
+                case "Integer":
+                    return value;
+                case "PersonTest":
+                    return new PersonTest(value, "person" + value);
+                default:
+                    throw new IllegalArgumentException("Unknown element type: " + elementType);
+            }
+        }
+
+        /**
+         * Элемент, которого нет среди сгенерированных (ключ отрицательный)
+         *
+         * @param elementType тип элемента
+         * @return отсутствующий элемент
+         */
+        static Object missing(String elementType) {
+            return element(elementType, -1);
+        }
+
+        /**
+         * Компаратор для обоих типов элементов. Оба типа реализуют Comparable
+         *
+         * @return компаратор естественного порядка
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        static Comparator<Object> comparator() {
+            return (x, y) -> ((Comparable) x).compareTo(y);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package aston.bootcamp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ListIterator;
+import java.util.SplittableRandom;
+
+/**
+ * Бенчмарки чтения: get по случайному индексу, indexOf/contains с полным проходом
+ * (искомого элемента нет в списке) и обход через ListIter
+ */
+public class AccessBenchmark extends AbstractListBenchmark {
+    /**
+     * Заранее сгенерированные случайные индексы для get
+     */
+    private int[] indexes;
+    /**
+     * Номер следующего индекса в массиве indexes
+     */
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUpIndexes() {
+        SplittableRandom random = new SplittableRandom(7L);
+        indexes = new int[1024];
+        for (int i = 0; i < indexes.length; ++i) {
+            indexes[i] = random.nextInt(size);
+        }
+    }
+
+    private int nextIndex() {
+        cursor = (cursor + 1) & (indexes.length - 1);
+        return indexes[cursor];
+    }
+
+    @Benchmark
+    public Object getMy() {
+        return my.get(nextIndex());
+    }
+
+    @Benchmark
+    public Object getJdk() {
+        return jdk.get(nextIndex());
+    }
+
+    @Benchmark
+    public int indexOfMy() {
+        return my.indexOf(missing);
+    }
+
+    @Benchmark
+    public int indexOfJdk() {
+        return jdk.indexOf(missing);
+    }
+
+    @Benchmark
+    public boolean containsMy() {
+        return my.contains(missing);
+    }
+
+    @Benchmark
+    public boolean containsJdk() {
+        return jdk.contains(missing);
+    }
+
+    @Benchmark
+    public void iterateMy(Blackhole bh) {
+        ListIterator<Object> it = my.listIterator();
+        while (it.hasNext()) {
+            bh.consume(it.next());
+        }
+    }
+
+    @Benchmark
+    public void iterateJdk(Blackhole bh) {
+        ListIterator<Object> it = jdk.listIterator();
+        while (it.hasNext()) {
+            bh.consume(it.next());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Бенчмарки вставки: add(T) в конец с ростом массива через grow() и add(int, T) в середину.
+ * Вставка в середину сопровождается удалением последнего элемента (без сдвига),
+ * чтобы размер списка между вызовами не менялся
+ */
+public class AddBenchmark extends AbstractListBenchmark {
+
+    @Benchmark
+    public ArrayList<Object> addMy() {
+        ArrayList<Object> list = new ArrayList<>();
+        for (Object e : data) {
+            list.add(e);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Object> addJdk() {
+        java.util.ArrayList<Object> list = new java.util.ArrayList<>();
+        for (Object e : data) {
+            list.add(e);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Object addIndexMy() {
+        my.add(size / 2, missing);
+        return my.remove(size);
+    }
+
+    @Benchmark
+    public Object addIndexJdk() {
+        jdk.add(size / 2, missing);
+        return jdk.remove(size);
+    }
+}
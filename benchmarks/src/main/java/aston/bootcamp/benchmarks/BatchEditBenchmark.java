@@ -0,0 +1,87 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пакет разбросанных по списку вставок и удалений: последовательные add(int)/remove(int)
+ * против одного {@link ArrayList.Edit#apply()}. Скрипт одинаковый для обоих вариантов
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BatchEditBenchmark {
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"16", "256"})
+    public int edits;
+
+    private Integer[] values;
+    private int[] positions;
+    private boolean[] inserts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        values = new Integer[size];
+        for (int i = 0; i < size; ++i) {
+            values[i] = i;
+        }
+        positions = new int[edits];
+        inserts = new boolean[edits];
+        int current = size;
+        for (int i = 0; i < edits; ++i) {
+            inserts[i] = random.nextBoolean();
+            positions[i] = random.nextInt(inserts[i] ? current + 1 : current);
+            current += inserts[i] ? 1 : -1;
+        }
+    }
+
+    private ArrayList<Integer> fresh() {
+        ArrayList<Integer> list = new ArrayList<>(size + edits);
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> baseline() {
+        return fresh();
+    }
+
+    @Benchmark
+    public ArrayList<Integer> sequential() {
+        ArrayList<Integer> list = fresh();
+        for (int i = 0; i < edits; ++i) {
+            if (inserts[i]) {
+                list.add(positions[i], -i);
+            } else {
+                list.remove(positions[i]);
+            }
+        }
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> batched() {
+        ArrayList<Integer> list = fresh();
+        ArrayList<Integer>.Edit edit = list.edit();
+        for (int i = 0; i < edits; ++i) {
+            if (inserts[i]) {
+                edit.insert(positions[i], -i);
+            } else {
+                edit.remove(positions[i]);
+            }
+        }
+        edit.apply();
+        return list;
+    }
+}
@@ -0,0 +1,26 @@
+package aston.bootcamp.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Точка входа для запуска бенчмарков. Принимает те же аргументы командной строки,
+ * что и org.openjdk.jmh.Main, и всегда подключает GCProfiler, чтобы в результатах были
+ * скорость выделения памяти (gc.alloc.rate.norm - байты на операцию) и число сборок мусора.
+ * По этим метрикам видны регрессии в grow() и конструкторах копирования.</p>
+ * <p>Пример: {@code java -jar target/benchmarks.jar AddBenchmark -p size=1000}</p>
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,81 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Бенчмарки массовых операций: конструкторы копирования, addAll и removeAll.
+ * removeAll выполняется над свежей копией списка, поэтому включает стоимость копирования;
+ * удаляется фиксированный набор из 16 элементов
+ */
+public class BulkBenchmark extends AbstractListBenchmark {
+    /**
+     * Количество удаляемых элементов в removeAll
+     */
+    private static final int REMOVE_COUNT = 16;
+    /**
+     * Удаляемые элементы для removeAll
+     */
+    private java.util.ArrayList<Object> toRemove;
+
+    @Setup(Level.Trial)
+    public void setUpRemoval() {
+        toRemove = new java.util.ArrayList<>();
+        int step = Math.max(1, size / REMOVE_COUNT);
+        for (int i = 0; i < size && toRemove.size() < REMOVE_COUNT; i += step) {
+            toRemove.add(data[i]);
+        }
+    }
+
+    @Benchmark
+    public ArrayList<Object> copyCollectionMy() {
+        return new ArrayList<>(source);
+    }
+
+    @Benchmark
+    public ArrayList<Object> copyArrayListMy() {
+        return new ArrayList<>(my);
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Object> copyJdk() {
+        return new java.util.ArrayList<>(jdk);
+    }
+
+    @Benchmark
+    public ArrayList<Object> addAllCollectionMy() {
+        ArrayList<Object> list = new ArrayList<>();
+        list.addAll(source);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Object> addAllArrayListMy() {
+        ArrayList<Object> list = new ArrayList<>();
+        list.addAll(my);
+        return list;
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Object> addAllJdk() {
+        java.util.ArrayList<Object> list = new java.util.ArrayList<>();
+        list.addAll(source);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Object> removeAllMy() {
+        ArrayList<Object> list = new ArrayList<>(my);
+        list.removeAll(toRemove);
+        return list;
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Object> removeAllJdk() {
+        java.util.ArrayList<Object> list = new java.util.ArrayList<>(jdk);
+        list.removeAll(toRemove);
+        return list;
+    }
+}
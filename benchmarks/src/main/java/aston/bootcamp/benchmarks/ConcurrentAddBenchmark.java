@@ -0,0 +1,81 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.ConcurrentArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Многопоточная пропускная способность добавления и чтения: ConcurrentArrayList против
+ * ArrayList под одной глобальной блокировкой. По умолчанию 32 потока, число можно
+ * изменить опцией -t. Списки создаются заново на каждой итерации, чтобы не расти бесконечно
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConcurrentAddBenchmark {
+    private static final Integer VALUE = 42;
+    private static final int READ_SIZE = 1 << 20;
+
+    private ConcurrentArrayList<Integer> concurrent;
+    private ArrayList<Integer> locked;
+    private final Object lock = new Object();
+
+    private ConcurrentArrayList<Integer> concurrentRead;
+    private ArrayList<Integer> lockedRead;
+
+    @Setup(Level.Trial)
+    public void setUpRead() {
+        concurrentRead = new ConcurrentArrayList<>(READ_SIZE);
+        lockedRead = new ArrayList<>(READ_SIZE);
+        for (int i = 0; i < READ_SIZE; ++i) {
+            concurrentRead.add(i);
+            lockedRead.add(i);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpAdd() {
+        concurrent = new ConcurrentArrayList<>();
+        locked = new ArrayList<>();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index;
+
+        int next() {
+            index = (index + 7919) & (READ_SIZE - 1);
+            return index;
+        }
+    }
+
+    @Benchmark
+    public boolean addConcurrent() {
+        return concurrent.add(VALUE);
+    }
+
+    @Benchmark
+    public boolean addSynchronized() {
+        synchronized (lock) {
+            return locked.add(VALUE);
+        }
+    }
+
+    @Benchmark
+    public Integer getConcurrent(Cursor cursor) {
+        return concurrentRead.get(cursor.next());
+    }
+
+    @Benchmark
+    public Integer getSynchronized(Cursor cursor) {
+        synchronized (lock) {
+            return lockedRead.get(cursor.next());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.FixedWidthCodec;
+import aston.bootcamp.IntArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Выгрузка списка в канал, который отбрасывает данные: writeTo примитивного списка,
+ * writeTo ArrayList с кодеком и прежний путь toArray + DataOutputStream по элементу
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExportBenchmark {
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private IntArrayList primitive;
+    private ArrayList<Integer> boxed;
+    private final WritableByteChannel sink = new WritableByteChannel() {
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            src.position(src.limit());
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        primitive = new IntArrayList(size);
+        boxed = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            primitive.add(i);
+            boxed.add(i);
+        }
+    }
+
+    @Benchmark
+    public long writeToPrimitive() throws IOException {
+        return primitive.writeTo(sink);
+    }
+
+    @Benchmark
+    public long writeToCodec() throws IOException {
+        return boxed.writeTo(sink, FixedWidthCodec.INT);
+    }
+
+    @Benchmark
+    public int toArrayDataOutput() throws IOException {
+        DataOutputStream out = new DataOutputStream(OutputStream.nullOutputStream());
+        for (Object value : boxed.toArray()) {
+            out.writeInt((Integer) value);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,57 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.GapBufferList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ListIterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Вставка серии из inserts элементов через ListIterator в середину списка из size элементов.
+ * В ArrayList каждая вставка сдвигает хвост, в GapBufferList хвост сдвигается один раз
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class GapBufferBenchmark {
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"100", "1000"})
+    public int inserts;
+
+    private ArrayList<Integer> array;
+    private GapBufferList<Integer> gap;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        array = new ArrayList<>(size);
+        gap = new GapBufferList<>(size);
+        for (int i = 0; i < size; ++i) {
+            array.add(i);
+            gap.add(i);
+        }
+    }
+
+    @Benchmark
+    public int insertAtCursorArrayList() {
+        ListIterator<Integer> iter = array.listIterator(size / 2);
+        for (int i = 0; i < inserts; ++i) {
+            iter.add(i);
+        }
+        return array.size();
+    }
+
+    @Benchmark
+    public int insertAtCursorGapBuffer() {
+        ListIterator<Integer> iter = gap.listIterator(size / 2);
+        for (int i = 0; i < inserts; ++i) {
+            iter.add(i);
+        }
+        return gap.size();
+    }
+}
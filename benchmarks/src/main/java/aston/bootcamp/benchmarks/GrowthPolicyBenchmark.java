@@ -0,0 +1,81 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.GrowthPolicy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Заполнение списка с разными стратегиями расширения: по одному элементу и пакетами
+ * по 1000 элементов через addAll. Расход памяти виден по gc.alloc.rate.norm.
+ * exactFit не участвует в добавлении по одному элементу: там он квадратичный
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class GrowthPolicyBenchmark {
+    private static final int BATCH = 1000;
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"default", "factor2", "factor1.25", "additive", "powerOfTwo"})
+    public String policy;
+
+    private GrowthPolicy growthPolicy;
+    private Integer[] values;
+    private List<Integer> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        growthPolicy = policy(policy);
+        values = new Integer[size];
+        for (int i = 0; i < size; ++i) {
+            values[i] = i;
+        }
+        batch = Arrays.asList(Arrays.copyOf(values, BATCH));
+    }
+
+    private static GrowthPolicy policy(String name) {
+        switch (name) {
+            case "default":
+                return GrowthPolicy.DEFAULT;
+            case "factor2":
+                return GrowthPolicy.factor(2.0);
+            case "factor1.25":
+                return GrowthPolicy.factor(1.25);
+            case "additive":
+                return GrowthPolicy.additive(1 << 16);
+            case "powerOfTwo":
+                return GrowthPolicy.powerOfTwo();
+            case "exactFit":
+                return GrowthPolicy.exactFit();
+            default:
+                throw new IllegalArgumentException("Unknown policy: " + name);
+        }
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addOneByOne() {
+        ArrayList<Integer> list = new ArrayList<>(0, growthPolicy);
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addInBatches() {
+        ArrayList<Integer> list = new ArrayList<>(0, growthPolicy);
+        for (int i = 0; i < size; i += BATCH) {
+            list.addAll(batch);
+        }
+        return list;
+    }
+}
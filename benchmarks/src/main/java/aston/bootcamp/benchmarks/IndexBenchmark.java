@@ -0,0 +1,81 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Хеш-индекс ArrayList: выигрыш на поиске и цена поддержки индекса при изменениях.
+ * indexed=false - обычный линейный поиск, indexed=true - поиск через индекс
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class IndexBenchmark {
+    @Param({"1000", "1000000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private ArrayList<String> list;
+    private String[] values;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = new String[size];
+        list = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            values[i] = "value-" + i;
+            list.add(values[i]);
+        }
+        if (indexed) {
+            list.enableIndex();
+        }
+    }
+
+    @Benchmark
+    public int indexOfHit() {
+        cursor = (cursor + 7919) % size;
+        return list.indexOf(values[cursor]);
+    }
+
+    @Benchmark
+    public boolean containsMiss() {
+        return list.contains("missing");
+    }
+
+    @Benchmark
+    public String setMaintenance() {
+        cursor = (cursor + 7919) % size;
+        return list.set(cursor, values[(cursor + 1) % size]);
+    }
+
+    @Benchmark
+    public String appendRemoveLastMaintenance() {
+        list.add("appended");
+        return list.remove(list.size() - 1);
+    }
+
+    @Benchmark
+    public String insertRemoveMiddleMaintenance() {
+        list.add(size / 2, "inserted");
+        return list.remove(size / 2);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public ArrayList<String> buildIndex() {
+        ArrayList<String> copy = new ArrayList<>(list);
+        copy.enableIndex();
+        return copy;
+    }
+}
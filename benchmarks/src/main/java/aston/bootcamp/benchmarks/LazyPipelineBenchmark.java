@@ -0,0 +1,90 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.IntArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Цепочка filter -> map -> limit: новый ArrayList на каждом шаге против ленивой цепочки
+ * lazy(), которая проходит массив один раз, и против stream() того же списка
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class LazyPipelineBenchmark {
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private ArrayList<Integer> list;
+    private int limit;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            list.add(i);
+        }
+        limit = size / 4;
+    }
+
+    @Benchmark
+    public ArrayList<Long> eagerSteps() {
+        ArrayList<Integer> filtered = new ArrayList<>();
+        for (int i = 0; i < list.size(); ++i) {
+            Integer value = list.get(i);
+            if (value % 3 != 0) {
+                filtered.add(value);
+            }
+        }
+        ArrayList<Long> mapped = new ArrayList<>();
+        for (int i = 0; i < filtered.size(); ++i) {
+            mapped.add(filtered.get(i) * 31L);
+        }
+        ArrayList<Long> limited = new ArrayList<>();
+        for (int i = 0; i < mapped.size() && i < limit; ++i) {
+            limited.add(mapped.get(i));
+        }
+        return limited;
+    }
+
+    @Benchmark
+    public ArrayList<Long> lazyFused() {
+        return list.lazy()
+                .filter(value -> value % 3 != 0)
+                .map(value -> value * 31L)
+                .limit(limit)
+                .toArrayList();
+    }
+
+    @Benchmark
+    public Object[] stream() {
+        return list.stream()
+                .filter(value -> value % 3 != 0)
+                .map(value -> value * 31L)
+                .limit(limit)
+                .toArray();
+    }
+
+    @Benchmark
+    public ArrayList<Long> lazyKnownSize() {
+        return list.lazy()
+                .skip(limit)
+                .map(value -> value * 31L)
+                .limit(limit)
+                .toArrayList();
+    }
+
+    @Benchmark
+    public IntArrayList lazyMapToInt() {
+        return list.lazy()
+                .filter(value -> value % 3 != 0)
+                .mapToInt(value -> value * 31)
+                .limit(limit)
+                .toIntArrayList();
+    }
+}
@@ -0,0 +1,60 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.ListPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Временный список на каждый запрос: новый ArrayList против выдачи из ListPool по потокам
+ * и из общего пула. Запускать с -prof gc и сравнивать gc.alloc.rate.norm: пул не выделяет
+ * память на запрос, новый список - массив и все его расширения
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ListPoolBenchmark {
+    @Param({"16", "1000"})
+    public int elems;
+
+    private ListPool<Integer> perThread;
+    private ListPool<Integer> shared;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        perThread = ListPool.perThread(4, 16, 4096);
+        shared = ListPool.shared(64, 16, 4096);
+    }
+
+    private int fill(ArrayList<Integer> list) {
+        for (int i = 0; i < elems; ++i) {
+            list.add(i);
+        }
+        return list.size();
+    }
+
+    @Benchmark
+    public int newList() {
+        return fill(new ArrayList<>());
+    }
+
+    @Benchmark
+    public int perThreadPool() {
+        ArrayList<Integer> list = perThread.lease();
+        int result = fill(list);
+        perThread.release(list);
+        return result;
+    }
+
+    @Benchmark
+    public int sharedPool() {
+        ArrayList<Integer> list = shared.lease();
+        int result = fill(list);
+        shared.release(list);
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.FixedWidthCodec;
+import aston.bootcamp.MappedArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Время готовности списка при старте процесса: повторное открытие MappedArrayList
+ * против построения ArrayList заново из records значений
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MappedReopenBenchmark {
+    @Param({"10000000"})
+    public int records;
+
+    private Path path;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        path = Files.createTempFile("mapped-list", ".bin");
+        Files.delete(path);
+        try (MappedArrayList<Long> list = MappedArrayList.open(path, FixedWidthCodec.LONG)) {
+            for (long i = 0; i < records; ++i) {
+                list.add(i);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public long reopenMapped() throws IOException {
+        try (MappedArrayList<Long> list = MappedArrayList.open(path, FixedWidthCodec.LONG)) {
+            return list.get(records - 1);
+        }
+    }
+
+    @Benchmark
+    public long rebuildArrayList() {
+        ArrayList<Long> list = new ArrayList<>(records);
+        for (long i = 0; i < records; ++i) {
+            list.add(i);
+        }
+        return list.get(records - 1);
+    }
+}
@@ -0,0 +1,70 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Цена счетчиков ListMetrics: одни и те же операции с выключенными (metrics=false)
+ * и включенными счетчиками. События JFR в обоих вариантах не записываются
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MetricsBenchmark {
+    @Param({"1000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private Integer[] values;
+    private ArrayList<Integer> list;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = new Integer[size];
+        list = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            values[i] = i;
+            list.add(values[i]);
+        }
+        if (metrics) {
+            list.enableMetrics();
+        }
+    }
+
+    @Benchmark
+    public Integer get() {
+        cursor = (cursor + 7919) % size;
+        return list.get(cursor);
+    }
+
+    @Benchmark
+    public Integer addRemoveLast() {
+        list.add(values[cursor]);
+        return list.remove(list.size() - 1);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> fill() {
+        ArrayList<Integer> fresh = new ArrayList<>();
+        if (metrics) {
+            fresh.enableMetrics();
+        }
+        for (Integer value : values) {
+            fresh.add(value);
+        }
+        return fresh;
+    }
+
+    @Benchmark
+    public int indexOfMiss() {
+        return list.indexOf(-1);
+    }
+}
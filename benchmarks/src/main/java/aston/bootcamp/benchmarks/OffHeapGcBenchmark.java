@@ -0,0 +1,124 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.FixedWidthCodec;
+import aston.bootcamp.OffHeapArrayList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Влияние хранения вне кучи на сборщик мусора. В обоих состояниях живут 10 млн записей
+ * по 24 байта: в ArrayList это объекты в куче, в OffHeapArrayList - один прямой буфер.
+ * fullGc измеряет время полной сборки мусора с таким живым набором, churn - паузы
+ * при обычном выделении короткоживущих объектов (смотреть gc.time и gc.count)
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-XX:MaxDirectMemorySize=1g"})
+public class OffHeapGcBenchmark {
+    private static final int RECORDS = 10_000_000;
+    private static final int CHURN = 1_000_000;
+
+    /**
+     * Запись фиксированной ширины
+     */
+    public static final class Point {
+        final long id;
+        final double x;
+        final double y;
+
+        Point(long id, double x, double y) {
+            this.id = id;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * Кодек записи: id, x, y - 24 байта
+     */
+    static final FixedWidthCodec<Point> POINT = new FixedWidthCodec<>() {
+        @Override
+        public int width() {
+            return 24;
+        }
+
+        @Override
+        public void encode(Point value, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, value.id);
+            buffer.putLong(offset + 8, Double.doubleToLongBits(value.x));
+            buffer.putLong(offset + 16, Double.doubleToLongBits(value.y));
+        }
+
+        @Override
+        public Point decode(ByteBuffer buffer, int offset) {
+            return new Point(buffer.getLong(offset),
+                    Double.longBitsToDouble(buffer.getLong(offset + 8)),
+                    Double.longBitsToDouble(buffer.getLong(offset + 16)));
+        }
+    };
+
+    @State(Scope.Benchmark)
+    public static class OnHeap {
+        ArrayList<Point> list;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            list = new ArrayList<>(RECORDS);
+            for (int i = 0; i < RECORDS; ++i) {
+                list.add(new Point(i, i * 0.5, i * 2.0));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OffHeap {
+        OffHeapArrayList<Point> list;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            list = new OffHeapArrayList<>(POINT, RECORDS);
+            for (int i = 0; i < RECORDS; ++i) {
+                list.add(new Point(i, i * 0.5, i * 2.0));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            list.close();
+        }
+    }
+
+    @Benchmark
+    public int fullGcOnHeap(OnHeap state) {
+        System.gc();
+        return state.list.size();
+    }
+
+    @Benchmark
+    public int fullGcOffHeap(OffHeap state) {
+        System.gc();
+        return state.list.size();
+    }
+
+    @Benchmark
+    public void churnOnHeap(OnHeap state, Blackhole blackhole) {
+        churn(state.list.size(), blackhole);
+    }
+
+    @Benchmark
+    public void churnOffHeap(OffHeap state, Blackhole blackhole) {
+        churn(state.list.size(), blackhole);
+    }
+
+    private static void churn(int salt, Blackhole blackhole) {
+        for (int i = 0; i < CHURN; ++i) {
+            blackhole.consume(new Point(i, salt, i));
+        }
+    }
+}
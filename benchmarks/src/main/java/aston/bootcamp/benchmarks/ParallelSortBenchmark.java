@@ -0,0 +1,56 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки параллельной сортировки больших списков в общем пуле ForkJoinPool.
+ * Эталоны - последовательный sort этого же списка и Arrays.parallelSort
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ParallelSortBenchmark {
+    @Param({"100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean stable;
+
+    private java.util.ArrayList<Object> source;
+    private Comparator<Object> comparator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        source = new java.util.ArrayList<>(Arrays.asList(AbstractListBenchmark.Elements.generate("Integer", size, 42L)));
+        comparator = AbstractListBenchmark.Elements.comparator();
+    }
+
+    @Benchmark
+    public ArrayList<Object> sequentialMy() {
+        ArrayList<Object> list = new ArrayList<>(source);
+        list.sort(comparator, stable);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Object> parallelMy() {
+        ArrayList<Object> list = new ArrayList<>(source);
+        list.parallelSort(comparator, stable);
+        return list;
+    }
+
+    @Benchmark
+    public Object[] parallelJdk() {
+        Object[] arr = source.toArray();
+        Arrays.parallelSort(arr, comparator);
+        return arr;
+    }
+}
@@ -0,0 +1,81 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.IntArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение IntArrayList с ArrayList&lt;Integer&gt;: заполнение, get и indexOf с полным проходом.
+ * Для оценки разницы в памяти стоит смотреть на gc.alloc.rate.norm бенчмарков add
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PrimitiveListBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    private int[] values;
+    private IntArrayList primitive;
+    private ArrayList<Integer> boxed;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        values = new int[size];
+        primitive = new IntArrayList(size);
+        boxed = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            values[i] = random.nextInt(Integer.MAX_VALUE);
+            primitive.add(values[i]);
+            boxed.add(values[i]);
+        }
+    }
+
+    @Benchmark
+    public IntArrayList addPrimitive() {
+        IntArrayList list = new IntArrayList();
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addBoxed() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public int getPrimitive() {
+        cursor = (cursor + 7919) % size;
+        return primitive.get(cursor);
+    }
+
+    @Benchmark
+    public Integer getBoxed() {
+        cursor = (cursor + 7919) % size;
+        return boxed.get(cursor);
+    }
+
+    @Benchmark
+    public int indexOfPrimitive() {
+        return primitive.indexOf(-1);
+    }
+
+    @Benchmark
+    public int indexOfBoxed() {
+        return boxed.indexOf(-1);
+    }
+}
@@ -0,0 +1,98 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки массового удаления половины элементов (все нечетные числа) через removeAll,
+ * retainAll и removeIf. Каждый вызов работает со свежей копией списка.
+ * Набор удаляемых элементов передается и как HashSet, и как ArrayList
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PurgeBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private ArrayList<Integer> my;
+    private java.util.ArrayList<Integer> jdk;
+    private Set<Integer> oddSet;
+    private ArrayList<Integer> oddList;
+    private Set<Integer> evenSet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        my = new ArrayList<>(size);
+        jdk = new java.util.ArrayList<>(size);
+        oddSet = new HashSet<>();
+        oddList = new ArrayList<>();
+        evenSet = new HashSet<>();
+        for (int i = 0; i < size; ++i) {
+            my.add(i);
+            jdk.add(i);
+            if (i % 2 == 1) {
+                oddSet.add(i);
+                oddList.add(i);
+            } else {
+                evenSet.add(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public ArrayList<Integer> removeAllSetMy() {
+        ArrayList<Integer> list = new ArrayList<>(my);
+        list.removeAll(oddSet);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> removeAllArrayListMy() {
+        ArrayList<Integer> list = new ArrayList<>(my);
+        list.removeAll(oddList);
+        return list;
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Integer> removeAllSetJdk() {
+        java.util.ArrayList<Integer> list = new java.util.ArrayList<>(jdk);
+        list.removeAll(oddSet);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> retainAllMy() {
+        ArrayList<Integer> list = new ArrayList<>(my);
+        list.retainAll(evenSet);
+        return list;
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Integer> retainAllJdk() {
+        java.util.ArrayList<Integer> list = new java.util.ArrayList<>(jdk);
+        list.retainAll(evenSet);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> removeIfMy() {
+        ArrayList<Integer> list = new ArrayList<>(my);
+        list.removeIf(x -> (x & 1) == 1);
+        return list;
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Integer> removeIfJdk() {
+        java.util.ArrayList<Integer> list = new java.util.ArrayList<>(jdk);
+        list.removeIf(x -> (x & 1) == 1);
+        return list;
+    }
+}
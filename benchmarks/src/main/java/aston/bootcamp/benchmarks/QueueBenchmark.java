@@ -0,0 +1,50 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.RingArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Очередь задач: в списке постоянно лежит size элементов, каждая операция добавляет
+ * элемент в конец и забирает первый. ArrayList делает это через remove(0),
+ * RingArrayList - через removeFirst
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class QueueBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private ArrayList<Integer> array;
+    private RingArrayList<Integer> ring;
+    private Integer task;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        array = new ArrayList<>(size + 1);
+        ring = new RingArrayList<>(size + 1);
+        for (int i = 0; i < size; ++i) {
+            array.add(i);
+            ring.addLast(i);
+        }
+        task = -1;
+    }
+
+    @Benchmark
+    public Integer enqueueDequeueArrayList() {
+        array.add(task);
+        return array.remove(0);
+    }
+
+    @Benchmark
+    public Integer enqueueDequeueRing() {
+        ring.addLast(task);
+        return ring.removeFirst();
+    }
+}
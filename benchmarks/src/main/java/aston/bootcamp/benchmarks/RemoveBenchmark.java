@@ -0,0 +1,40 @@
+package aston.bootcamp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Бенчмарки удаления из середины списка: remove(int) и remove(Object).
+ * Удаленный элемент сразу добавляется в конец, чтобы размер списка не менялся
+ */
+public class RemoveBenchmark extends AbstractListBenchmark {
+
+    @Benchmark
+    public Object removeIndexMy() {
+        Object removed = my.remove(size / 2);
+        my.add(removed);
+        return removed;
+    }
+
+    @Benchmark
+    public Object removeIndexJdk() {
+        Object removed = jdk.remove(size / 2);
+        jdk.add(removed);
+        return removed;
+    }
+
+    @Benchmark
+    public boolean removeObjectMy() {
+        Object target = my.get(size / 2);
+        boolean removed = my.remove(target);
+        my.add(target);
+        return removed;
+    }
+
+    @Benchmark
+    public boolean removeObjectJdk() {
+        Object target = jdk.get(size / 2);
+        boolean removed = jdk.remove(target);
+        jdk.add(target);
+        return removed;
+    }
+}
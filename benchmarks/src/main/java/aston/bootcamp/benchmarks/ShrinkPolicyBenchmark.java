@@ -0,0 +1,70 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.ShrinkPolicy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Цена автоматического сжатия: заполнение и опустошение списка удалением с конца без сжатия
+ * и со {@link ShrinkPolicy#DEFAULT}, а также чередование add и remove около порога сжатия,
+ * где гистерезис не должен приводить к копированию массива
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ShrinkPolicyBenchmark {
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private ArrayList<Integer> plain;
+    private ArrayList<Integer> shrinking;
+    private ArrayList<Integer> cycling;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        plain = new ArrayList<>();
+        shrinking = new ArrayList<>();
+        shrinking.setShrinkPolicy(ShrinkPolicy.DEFAULT);
+        cycling = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            cycling.add(i);
+        }
+        cycling.setShrinkPolicy(ShrinkPolicy.DEFAULT);
+        cycling.removeRange(size / 4, size);
+    }
+
+    private static int fillAndDrain(ArrayList<Integer> list, int size) {
+        for (int i = 0; i < size; ++i) {
+            list.add(i);
+        }
+        while (!list.isEmpty()) {
+            list.remove(list.size() - 1);
+        }
+        return list.shrinkCount();
+    }
+
+    @Benchmark
+    public int fillAndDrainPlain() {
+        return fillAndDrain(plain, size);
+    }
+
+    @Benchmark
+    public int fillAndDrainShrinking() {
+        return fillAndDrain(shrinking, size);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public int cycleAtThreshold() {
+        for (int i = 0; i < 1000; ++i) {
+            cycling.add(i);
+            cycling.remove(cycling.size() - 1);
+        }
+        return cycling.shrinkCount() + cycling.resizeCount();
+    }
+}
@@ -0,0 +1,75 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.PersistentVector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Снимок на каждый запрос: копия ArrayList через конструктор ArrayList(ArrayList) против
+ * версии PersistentVector, где снимок - это ссылка, а изменение копирует только путь в дереве.
+ * Отдельно - цена get, append и массового преобразования из ArrayList
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SnapshotBenchmark {
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private ArrayList<Integer> list;
+    private PersistentVector<Integer> vector;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            list.add(i);
+        }
+        vector = PersistentVector.from(list);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> snapshotAndSetArrayList() {
+        ArrayList<Integer> snapshot = new ArrayList<>(list);
+        cursor = (cursor + 7919) % size;
+        list.set(cursor, cursor);
+        return snapshot;
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> snapshotAndSetVector() {
+        PersistentVector<Integer> snapshot = vector;
+        cursor = (cursor + 7919) % size;
+        vector = vector.set(cursor, cursor);
+        return snapshot;
+    }
+
+    @Benchmark
+    public Integer getArrayList() {
+        cursor = (cursor + 7919) % size;
+        return list.get(cursor);
+    }
+
+    @Benchmark
+    public Integer getVector() {
+        cursor = (cursor + 7919) % size;
+        return vector.get(cursor);
+    }
+
+    @Benchmark
+    public PersistentVector<Integer> appendPop() {
+        return vector.append(-1).pop();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public PersistentVector<Integer> fromArrayList() {
+        return PersistentVector.from(list);
+    }
+}
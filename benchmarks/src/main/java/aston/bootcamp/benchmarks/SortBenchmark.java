@@ -0,0 +1,34 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Бенчмарки сортировки: sort(Comparator) и статический sort(ArrayList).
+ * Каждый вызов сортирует свежую копию неотсортированных данных,
+ * стоимость копирования одинакова для обеих реализаций
+ */
+public class SortBenchmark extends AbstractListBenchmark {
+
+    @Benchmark
+    public ArrayList<Object> sortComparatorMy() {
+        ArrayList<Object> list = new ArrayList<>(source);
+        list.sort(comparator);
+        return list;
+    }
+
+    @Benchmark
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ArrayList<Comparable> sortComparableMy() {
+        ArrayList<Comparable> list = new ArrayList<>((java.util.Collection) source);
+        ArrayList.sort(list);
+        return list;
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Object> sortJdk() {
+        java.util.ArrayList<Object> list = new java.util.ArrayList<>(source);
+        list.sort(comparator);
+        return list;
+    }
+}
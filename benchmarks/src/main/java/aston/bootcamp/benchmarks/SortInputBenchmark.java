@@ -0,0 +1,85 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки сортировки на разных входных распределениях: случайном, уже отсортированном,
+ * отсортированном в обратном порядке и с большим количеством повторов (16 различных значений).
+ * Сравниваются нестабильный и стабильный режимы sort(Comparator, boolean) и java.util.ArrayList
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SortInputBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"random", "sorted", "reversed", "duplicates"})
+    public String distribution;
+
+    @Param({"Integer", "PersonTest"})
+    public String elementType;
+
+    private java.util.ArrayList<Object> source;
+    private Comparator<Object> comparator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        int[] keys = new int[size];
+        for (int i = 0; i < size; ++i) {
+            switch (distribution) {
+                case "random":
+                    keys[i] = random.nextInt(Integer.MAX_VALUE / 2);
+                    break;
+                case "sorted":
+                    keys[i] = i;
+                    break;
+                case "reversed":
+                    keys[i] = size - i;
+                    break;
+                case "duplicates":
+                    keys[i] = random.nextInt(16);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown distribution: " + distribution);
+            }
+        }
+        Object[] data = new Object[size];
+        for (int i = 0; i < size; ++i) {
+            data[i] = AbstractListBenchmark.Elements.element(elementType, keys[i]);
+        }
+        source = new java.util.ArrayList<>(Arrays.asList(data));
+        comparator = AbstractListBenchmark.Elements.comparator();
+    }
+
+    @Benchmark
+    public ArrayList<Object> sortUnstableMy() {
+        ArrayList<Object> list = new ArrayList<>(source);
+        list.sort(comparator, false);
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Object> sortStableMy() {
+        ArrayList<Object> list = new ArrayList<>(source);
+        list.sort(comparator, true);
+        return list;
+    }
+
+    @Benchmark
+    public java.util.ArrayList<Object> sortJdk() {
+        java.util.ArrayList<Object> list = new java.util.ArrayList<>(source);
+        list.sort(comparator);
+        return list;
+    }
+}
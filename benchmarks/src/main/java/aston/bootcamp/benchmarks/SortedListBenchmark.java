@@ -0,0 +1,77 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.SortedArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SortedArrayList против отсортированного ArrayList: contains бинарным поиском
+ * против линейного и addAll слиянием против вставки по одному элементу
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SortedListBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Integer[] values;
+    private List<Integer> batch;
+    private ArrayList<Integer> plain;
+    private SortedArrayList<Integer> sorted;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        values = new Integer[size];
+        for (int i = 0; i < size; ++i) {
+            values[i] = random.nextInt();
+        }
+        Integer[] batchValues = new Integer[size / 10];
+        for (int i = 0; i < batchValues.length; ++i) {
+            batchValues[i] = random.nextInt();
+        }
+        batch = Arrays.asList(batchValues);
+        plain = new ArrayList<>(Arrays.asList(values));
+        ArrayList.sort(plain);
+        sorted = SortedArrayList.naturalOrder();
+        sorted.addAll(Arrays.asList(values));
+    }
+
+    @Benchmark
+    public boolean containsLinear() {
+        cursor = (cursor + 7919) % size;
+        return plain.contains(values[cursor]);
+    }
+
+    @Benchmark
+    public boolean containsBinary() {
+        cursor = (cursor + 7919) % size;
+        return sorted.contains(values[cursor]);
+    }
+
+    @Benchmark
+    public SortedArrayList<Integer> addAllMerge() {
+        SortedArrayList<Integer> list = new SortedArrayList<>(Integer::compare, Arrays.asList(values));
+        list.addAll(batch);
+        return list;
+    }
+
+    @Benchmark
+    public SortedArrayList<Integer> addAllOneByOne() {
+        SortedArrayList<Integer> list = new SortedArrayList<>(Integer::compare, Arrays.asList(values));
+        for (Integer value : batch) {
+            list.insertSorted(value);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,60 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки Stream: сумма элементов через stream() и parallelStream() в сравнении
+ * с прежним способом через toArray() и с java.util.ArrayList
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class StreamBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    private ArrayList<Integer> my;
+    private java.util.ArrayList<Integer> jdk;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        my = new ArrayList<>(size);
+        jdk = new java.util.ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            my.add(i);
+            jdk.add(i);
+        }
+    }
+
+    @Benchmark
+    public long streamMy() {
+        return my.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long toArrayStreamMy() {
+        return Arrays.stream(my.toArray()).mapToLong(x -> (Integer) x).sum();
+    }
+
+    @Benchmark
+    public long streamJdk() {
+        return jdk.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long parallelStreamMy() {
+        return my.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long parallelStreamJdk() {
+        return jdk.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+}
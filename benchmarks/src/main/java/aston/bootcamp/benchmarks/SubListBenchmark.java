@@ -0,0 +1,95 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Оконная обработка ArrayList: копирование окна через toArray() против представления subList,
+ * которое работает прямо с внутренним массивом. Для удаления диапазона - поэлементный
+ * remove(int) против одного arraycopy в subList().clear()
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SubListBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    @Param({"1000"})
+    public int window;
+
+    private ArrayList<Integer> list;
+    private Integer[] values;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = new Integer[size];
+        list = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            values[i] = (i * 7919) % size;
+            list.add(values[i]);
+        }
+    }
+
+    private int nextWindow() {
+        cursor = (cursor + window) % (size - window);
+        return cursor;
+    }
+
+    @Benchmark
+    public Object[] sortWindowCopy() {
+        int from = nextWindow();
+        Object[] copy = Arrays.copyOfRange(list.toArray(), from, from + window);
+        Arrays.sort(copy);
+        for (int i = 0; i < window; ++i) {
+            list.set(from + i, (Integer) copy[i]);
+        }
+        return copy;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> sortWindowView() {
+        int from = nextWindow();
+        list.subList(from, from + window).sort(Comparator.naturalOrder());
+        return list;
+    }
+
+    @Benchmark
+    public int indexOfWindowCopy() {
+        int from = nextWindow();
+        Object[] copy = Arrays.copyOfRange(list.toArray(), from, from + window);
+        return Arrays.asList(copy).indexOf(-1);
+    }
+
+    @Benchmark
+    public int indexOfWindowView() {
+        int from = nextWindow();
+        return list.subList(from, from + window).indexOf(-1);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> clearWindowLoop() {
+        int from = nextWindow();
+        for (int i = 0; i < window; ++i) {
+            list.remove(from);
+        }
+        list.addAll(Arrays.asList(values).subList(0, window));
+        return list;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> clearWindowView() {
+        int from = nextWindow();
+        list.subList(from, from + window).clear();
+        list.addAll(Arrays.asList(values).subList(0, window));
+        return list;
+    }
+}
@@ -0,0 +1,60 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.ArrayList;
+import aston.bootcamp.TieredArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TieredArrayList против ArrayList: пара вставка+удаление в середине и случайный get.
+ * Размер блока 1024 близок к √n для миллиона элементов
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TieredListBenchmark {
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private ArrayList<Integer> array;
+    private TieredArrayList<Integer> tiered;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        array = new ArrayList<>(size);
+        tiered = new TieredArrayList<>();
+        for (int i = 0; i < size; ++i) {
+            array.add(i);
+            tiered.add(i);
+        }
+    }
+
+    @Benchmark
+    public Integer insertRemoveMiddleArrayList() {
+        array.add(size / 2, -1);
+        return array.remove(size / 3);
+    }
+
+    @Benchmark
+    public Integer insertRemoveMiddleTiered() {
+        tiered.add(size / 2, -1);
+        return tiered.remove(size / 3);
+    }
+
+    @Benchmark
+    public Integer getArrayList() {
+        cursor = (cursor + 7919) % size;
+        return array.get(cursor);
+    }
+
+    @Benchmark
+    public Integer getTiered() {
+        cursor = (cursor + 7919) % size;
+        return tiered.get(cursor);
+    }
+}
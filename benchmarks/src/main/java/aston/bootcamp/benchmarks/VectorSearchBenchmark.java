@@ -0,0 +1,144 @@
+package aston.bootcamp.benchmarks;
+
+import aston.bootcamp.DoubleArrayList;
+import aston.bootcamp.IntArrayList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Векторные поиск и агрегаты IntArrayList и DoubleArrayList против скалярного цикла,
+ * которым до этого работал indexOf. Форк запускается с модулем jdk.incubator.vector;
+ * без него методы списков совпадают со скалярными вариантами
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "--add-modules=jdk.incubator.vector"})
+public class VectorSearchBenchmark {
+    @Param({"1000", "10000000"})
+    public int size;
+
+    private int[] ints;
+    private double[] doubles;
+    private IntArrayList intList;
+    private DoubleArrayList doubleList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42L);
+        ints = new int[size];
+        doubles = new double[size];
+        for (int i = 0; i < size; ++i) {
+            ints[i] = random.nextInt(Integer.MAX_VALUE);
+            doubles[i] = random.nextDouble();
+        }
+        intList = new IntArrayList(ints);
+        doubleList = new DoubleArrayList(doubles);
+    }
+
+    @Benchmark
+    public int intIndexOfScalar() {
+        for (int i = 0; i < size; ++i) {
+            if (Integer.compare(ints[i], -1) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int intIndexOfVector() {
+        return intList.indexOf(-1);
+    }
+
+    @Benchmark
+    public int intCountScalar() {
+        int count = 0;
+        for (int i = 0; i < size; ++i) {
+            if (ints[i] == 7) {
+                count += 1;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int intCountVector() {
+        return intList.count(7);
+    }
+
+    @Benchmark
+    public int intMaxScalar() {
+        int max = ints[0];
+        for (int i = 1; i < size; ++i) {
+            max = Math.max(max, ints[i]);
+        }
+        return max;
+    }
+
+    @Benchmark
+    public int intMaxVector() {
+        return intList.max();
+    }
+
+    @Benchmark
+    public long intSumScalar() {
+        long sum = 0;
+        for (int i = 0; i < size; ++i) {
+            sum += ints[i];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long intSumVector() {
+        return intList.sum();
+    }
+
+    @Benchmark
+    public int doubleIndexOfScalar() {
+        for (int i = 0; i < size; ++i) {
+            if (Double.compare(doubles[i], -1.0) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int doubleIndexOfVector() {
+        return doubleList.indexOf(-1.0);
+    }
+
+    @Benchmark
+    public double doubleMinScalar() {
+        double min = doubles[0];
+        for (int i = 1; i < size; ++i) {
+            min = Math.min(min, doubles[i]);
+        }
+        return min;
+    }
+
+    @Benchmark
+    public double doubleMinVector() {
+        return doubleList.min();
+    }
+
+    @Benchmark
+    public double doubleSumScalar() {
+        double sum = 0;
+        for (int i = 0; i < size; ++i) {
+            sum += doubles[i];
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double doubleSumVector() {
+        return doubleList.sum();
+    }
+}
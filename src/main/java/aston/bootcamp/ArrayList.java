@@ -1,7 +1,16 @@
 package aston.bootcamp;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>Моя реализация класса ArrayList из пакета java.util.ArrayList.
@@ -36,9 +45,10 @@ public class ArrayList<T> {
      */
     private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
     /**
-     * Поле-маркер для стандартного роста внутреннего массива при расширении
+     * Начиная с этого количества элементов аргумента removeAll и retainAll
+     * ищут элементы через HashSet, а не линейным поиском
      */
-    private static final int DEFAULT_GROWTH = -1;
+    private static final int HASH_LOOKUP_THRESHOLD = 16;
     /**
      * Внутренний массив, хранящий все элементы
      */
@@ -47,6 +57,55 @@ public class ArrayList<T> {
      * Количество элементов в массиве
      */
     private int size;
+    /**
+     * Стратегия расширения внутреннего массива
+     */
+    private GrowthPolicy growthPolicy = GrowthPolicy.DEFAULT;
+    /**
+     * Стратегия автоматического сжатия или null, если сжатие выключено
+     */
+    private ShrinkPolicy shrinkPolicy;
+    /**
+     * Количество расширений внутреннего массива
+     */
+    private int resizeCount;
+    /**
+     * Количество элементов, скопированных при расширениях
+     */
+    private long copiedElements;
+    /**
+     * Наибольшая вместимость внутреннего массива, достигнутая при расширениях
+     */
+    private int peakCapacity;
+    /**
+     * Количество автоматических сжатий внутреннего массива
+     */
+    private int shrinkCount;
+    /**
+     * Ячейки массива, освобожденные автоматическими сжатиями
+     */
+    private long reclaimedSlots;
+    /**
+     * Включен ли режим хеш-индекса
+     */
+    private boolean indexed;
+    /**
+     * Хеш-индекс позиций элементов или null, если режим выключен или индекс сброшен
+     */
+    private HashIndex index;
+    /**
+     * Счетчики операций или null, если они выключены
+     */
+    private ListMetrics metrics;
+    /**
+     * Количество структурных изменений: вставок, удалений, сортировок.
+     * По нему представления subList и пакеты изменений узнают, что список изменен в обход них
+     */
+    private int modCount;
+    /**
+     * Возвращен ли список в пул {@link ListPool} и еще не выдан снова
+     */
+    private boolean pooled;
 
     /**
      * Стандартный конструктор, создающий внутренний массив на 10 элементов
@@ -70,6 +129,17 @@ public class ArrayList<T> {
         }
     }
 
+    /**
+     * Конструктор, задающий начальный размер и стратегию расширения
+     *
+     * @param initialCapacity размер массива, который нужно создать
+     * @param growthPolicy    стратегия расширения внутреннего массива
+     */
+    public ArrayList(int initialCapacity, GrowthPolicy growthPolicy) {
+        this(initialCapacity);
+        setGrowthPolicy(growthPolicy);
+    }
+
     /**
      * Конструктор, создающий ArrayList на основе коллекции
      *
@@ -102,34 +172,317 @@ public class ArrayList<T> {
     }
 
     /**
-     * Метод для роста внутреннего массива. Вызывает другой метод, куда передает поле-маркер,
-     * которое указывает, что внутренний массив нужно расширить стандартным образом
+     * Конструктор для списков пакета, который использует переданный массив
+     * как внутренний без копирования
+     *
+     * @param array массив, который станет внутренним
+     * @param size  количество элементов с начала массива
+     */
+    ArrayList(Object[] array, int size) {
+        this.array = array;
+        this.size = size;
+    }
+
+    /**
+     * Возвращает количество структурных изменений списка. Нужен спискам и представлениям
+     * пакета, которые проходят внутренний массив напрямую
+     *
+     * @return счетчик изменений
+     */
+    int modCount() {
+        return modCount;
+    }
+
+    /**
+     * Возвращает внутренний массив без копирования. Нужен спискам пакета,
+     * которые публикуют результат пакетного изменения
+     *
+     * @return внутренний массив
+     */
+    Object[] backingArray() {
+        return array;
+    }
+
+    /**
+     * Метод для роста внутреннего массива на один элемент по текущей стратегии
      */
     private void grow() {
-        grow(DEFAULT_GROWTH);
+        grow(array.length + 1);
     }
 
     /**
-     * Метод, который осуществляет расширение внутреннего массива При передаче в него маркера
-     * DEFAULT_GROWTH расширяет массив в 1,5 раза.
+     * Метод, который осуществляет расширение внутреннего массива. Новую вместимость выбирает
+     * стратегия {@link GrowthPolicy}, но она не меньше minCapacity и не больше MAX_CAPACITY.
+     * Каждое расширение учитывается в статистике: количество расширений,
+     * скопированные элементы и наибольшая вместимость
      *
-     * @param growth указывает на сколько должен расти внутренний массив
+     * @param minCapacity минимально необходимая вместимость
      */
-    private void grow(int growth) {
+    private void grow(int minCapacity) {
         int capacity = array.length;
+        int arrLen = newCapacity(minCapacity);
         if (capacity > 0) {
-            int capGrowth = growth == DEFAULT_GROWTH ? ((capacity / 2) + 1) : (growth - capacity);
-            int arrLen = capacity + capGrowth;
-            if (arrLen > 0 && arrLen <= MAX_CAPACITY) {
-                array = Arrays.copyOf(array, arrLen);
-            } else if (arrLen < 0) {
-                throw new OutOfMemoryError("Required array length is too long");
+            array = Arrays.copyOf(array, arrLen);
+        } else {
+            array = new Object[arrLen];
+        }
+        recordGrow(capacity, arrLen, capacity);
+    }
+
+    /**
+     * Учитывает расширение в статистике, счетчиках и событии JFR
+     *
+     * @param oldCapacity вместимость до расширения
+     * @param newCapacity вместимость после расширения
+     * @param copied      количество скопированных элементов
+     */
+    private void recordGrow(int oldCapacity, int newCapacity, int copied) {
+        copiedElements += copied;
+        resizeCount += 1;
+        peakCapacity = Math.max(peakCapacity, newCapacity);
+        if (metrics != null) {
+            metrics.recordGrow(copied);
+        }
+        ListEvents.Grow event = new ListEvents.Grow();
+        if (event.shouldCommit()) {
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.allocatedBytes = (long) newCapacity * ListMetrics.referenceBytes();
+            event.copiedBytes = (long) copied * ListMetrics.referenceBytes();
+            event.commit();
+        }
+    }
+
+    /**
+     * Вычисляет вместимость для расширения по текущей стратегии
+     *
+     * @param minCapacity минимально необходимая вместимость
+     * @return новая вместимость от minCapacity до MAX_CAPACITY
+     */
+    private int newCapacity(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required array length is too long");
+        }
+        long proposed = growthPolicy.newCapacity(array.length, minCapacity);
+        return (int) Math.min(Math.max(proposed, minCapacity), MAX_CAPACITY);
+    }
+
+    /**
+     * Задает стратегию расширения внутреннего массива для следующих расширений
+     *
+     * @param growthPolicy стратегия расширения
+     * @throws NullPointerException если growthPolicy == null
+     */
+    public void setGrowthPolicy(GrowthPolicy growthPolicy) {
+        this.growthPolicy = Objects.requireNonNull(growthPolicy, "growthPolicy");
+    }
+
+    /**
+     * Возвращает текущую стратегию расширения внутреннего массива
+     *
+     * @return стратегия расширения
+     */
+    public GrowthPolicy getGrowthPolicy() {
+        return growthPolicy;
+    }
+
+    /**
+     * Включает автоматическое сжатие внутреннего массива после удалений и сразу применяет
+     * его к текущему массиву. null выключает сжатие; вместимость тогда меняется только
+     * расширением и {@link #trimToSize()}
+     *
+     * @param shrinkPolicy стратегия сжатия или null
+     */
+    public void setShrinkPolicy(ShrinkPolicy shrinkPolicy) {
+        this.shrinkPolicy = shrinkPolicy;
+        shrinkIfSparse();
+    }
+
+    /**
+     * Возвращает текущую стратегию сжатия внутреннего массива
+     *
+     * @return стратегия сжатия или null, если сжатие выключено
+     */
+    public ShrinkPolicy getShrinkPolicy() {
+        return shrinkPolicy;
+    }
+
+    /**
+     * Сжимает внутренний массив, если этого требует стратегия сжатия. Вызывается после
+     * каждой операции, уменьшающей размер. Позиции элементов не меняются, поэтому
+     * хеш-индекс и представления subList остаются действительными
+     */
+    private void shrinkIfSparse() {
+        ShrinkPolicy policy = shrinkPolicy;
+        if (policy == null) {
+            return;
+        }
+        int capacity = array.length;
+        int target = policy.shrinkTo(size, capacity);
+        if (target < 0) {
+            return;
+        }
+        array = target == 0 ? EMPTY_ARRAY : Arrays.copyOf(array, target);
+        shrinkCount += 1;
+        reclaimedSlots += capacity - target;
+        if (metrics != null) {
+            metrics.recordShrink(capacity - target);
+        }
+        ListEvents.Shrink event = new ListEvents.Shrink();
+        if (event.shouldCommit()) {
+            event.oldCapacity = capacity;
+            event.newCapacity = target;
+            event.reclaimedBytes = (long) (capacity - target) * ListMetrics.referenceBytes();
+            event.commit();
+        }
+    }
+
+    /**
+     * Возвращает количество расширений внутреннего массива за время жизни списка
+     *
+     * @return количество расширений
+     */
+    public int resizeCount() {
+        return resizeCount;
+    }
+
+    /**
+     * Возвращает суммарное количество элементов, скопированных при расширениях
+     *
+     * @return количество скопированных элементов
+     */
+    public long copiedElements() {
+        return copiedElements;
+    }
+
+    /**
+     * Возвращает количество автоматических сжатий внутреннего массива за время жизни списка
+     *
+     * @return количество сжатий
+     */
+    public int shrinkCount() {
+        return shrinkCount;
+    }
+
+    /**
+     * Возвращает байты ссылок, освобожденные автоматическими сжатиями за время жизни списка
+     *
+     * @return количество байт
+     */
+    public long reclaimedBytes() {
+        return reclaimedSlots == 0 ? 0 : reclaimedSlots * ListMetrics.referenceBytes();
+    }
+
+    /**
+     * Возвращает наибольшую вместимость внутреннего массива за время жизни списка
+     *
+     * @return наибольшая вместимость
+     */
+    public int peakCapacity() {
+        return Math.max(peakCapacity, array.length);
+    }
+
+    /**
+     * Включает сбор счетчиков операций {@link ListMetrics}. Пока счетчики выключены,
+     * каждая операция проверяет только одно поле на null. Повторный вызов возвращает
+     * уже собранные счетчики
+     *
+     * @return счетчики этого списка
+     */
+    public ListMetrics enableMetrics() {
+        if (metrics == null) {
+            metrics = new ListMetrics(size);
+        }
+        return metrics;
+    }
+
+    /**
+     * Выключает сбор счетчиков. Ранее возвращенный объект ListMetrics больше не изменяется
+     */
+    public void disableMetrics() {
+        metrics = null;
+    }
+
+    /**
+     * Возвращает счетчики операций
+     *
+     * @return счетчики или null, если они выключены
+     */
+    public ListMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Включает режим хеш-индекса: indexOf, lastIndexOf, contains и remove(Object) ищут
+     * элемент за O(1) в среднем вместо линейного прохода. Индекс строится сразу за O(n)
+     * и поддерживается при add, set, remove и clear. Вставка и удаление в середине
+     * дополнительно проходят таблицу индекса, чтобы сдвинуть позиции.
+     * Сортировка и пакетные удаления (removeAll, retainAll, removeIf) переписывают весь массив,
+     * поэтому сбрасывают индекс; он строится заново при следующем поиске.
+     * Индекс занимает около 16 байт на элемент и вмещает не больше 805 306 368 элементов
+     * (3/4 от 2^30): если список вырастает больше, режим выключается
+     *
+     * @throws IllegalStateException если в списке больше элементов, чем вмещает индекс
+     */
+    public void enableIndex() {
+        if (size > HashIndex.MAX_ENTRIES) {
+            throw new IllegalStateException("List of size " + size + " is too large for a hash index");
+        }
+        indexed = true;
+        index = new HashIndex(array, size);
+    }
+
+    /**
+     * Выключает режим хеш-индекса и освобождает его память
+     */
+    public void disableIndex() {
+        indexed = false;
+        index = null;
+    }
+
+    /**
+     * Проверяет, включен ли режим хеш-индекса
+     *
+     * @return true - если режим включен
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Возвращает индекс для поиска, при необходимости строя его заново
+     *
+     * @return индекс или null, если режим выключен
+     */
+    private HashIndex index() {
+        if (indexed && index == null) {
+            if (size > HashIndex.MAX_ENTRIES) {
+                disableIndex();
             } else {
-                array = Arrays.copyOf(array, MAX_CAPACITY);
+                index = new HashIndex(array, size);
             }
-        } else {
-            array = new Object[Math.max(DEFAULT_CAPACITY, growth)];
         }
+        return index;
+    }
+
+    /**
+     * Добавляет позицию в индекс. Если индекс заполнен, режим индекса выключается,
+     * и поиск возвращается к линейному проходу
+     *
+     * @param value элемент
+     * @param pos   позиция элемента в массиве
+     */
+    private void indexInsert(Object value, int pos) {
+        if (!index.insert(value, pos)) {
+            disableIndex();
+        }
+    }
+
+    /**
+     * Сбрасывает индекс перед переписыванием всего массива. Сам режим остается включенным
+     */
+    private void dropIndex() {
+        index = null;
     }
 
     /**
@@ -145,7 +498,14 @@ public class ArrayList<T> {
             grow();
         }
         array[size] = value;
+        if (index != null) {
+            indexInsert(value, size);
+        }
         size += 1;
+        modCount += 1;
+        if (metrics != null) {
+            metrics.recordAdd(size);
+        }
         return true;
     }
 
@@ -164,7 +524,18 @@ public class ArrayList<T> {
         }
         System.arraycopy(array, index, array, index + 1, size - index);
         array[index] = value;
+        if (this.index != null) {
+            if (index < size) {
+                this.index.shift(index, 1);
+            }
+            indexInsert(value, index);
+        }
         size += 1;
+        modCount += 1;
+        if (metrics != null) {
+            metrics.recordAdd(size);
+            metrics.recordShift(size - 1 - index);
+        }
     }
 
     /**
@@ -176,6 +547,9 @@ public class ArrayList<T> {
     @SuppressWarnings("unchecked")
     public T get(int index) {
         checkRmBounds(index);
+        if (metrics != null) {
+            metrics.recordGet();
+        }
         return (T) array[index];
     }
 
@@ -224,12 +598,24 @@ public class ArrayList<T> {
      * @param index индекс, по которому нужно удалить элемент
      */
     private void removeLogic(int index) {
+        if (this.index != null) {
+            this.index.delete(array[index], index);
+            if (index < size - 1) {
+                this.index.shift(index + 1, -1);
+            }
+        }
         int newSize = size - 1;
         if (index < newSize) {
-            System.arraycopy(array, index + 1, array, index, newSize);
+            System.arraycopy(array, index + 1, array, index, newSize - index);
         }
         array[newSize] = null;
         size -= 1;
+        modCount += 1;
+        if (metrics != null) {
+            metrics.recordRemove();
+            metrics.recordShift(newSize - index);
+        }
+        shrinkIfSparse();
     }
 
     /**
@@ -239,6 +625,15 @@ public class ArrayList<T> {
      * @return успешность проведенного удаления
      */
     public boolean remove(Object remObj) {
+        HashIndex hashIndex = index();
+        if (hashIndex != null) {
+            int pos = hashIndex.first(remObj, array);
+            if (pos == -1) {
+                return false;
+            }
+            removeLogic(pos);
+            return true;
+        }
         boolean match = false;
         for (int i = 0; i < size; ++i) {
             if (remObj == null) {
@@ -259,13 +654,16 @@ public class ArrayList<T> {
     }
 
     /**
-     * Очистка ArrayList
+     * Очистка ArrayList. Вместимость сохраняется, зануляется только занятый участок массива
      */
     public void clear() {
-        for (int i = 0; i < size; ++i) {
-            array[i] = null;
-        }
+        Arrays.fill(array, 0, size, null);
         size = 0;
+        modCount += 1;
+        if (index != null) {
+            index.clear();
+        }
+        shrinkIfSparse();
     }
 
     /**
@@ -279,6 +677,10 @@ public class ArrayList<T> {
     public T set(int index, T value) {
         checkRmBounds(index);
         @SuppressWarnings("unchecked") T prevElem = (T) array[index];
+        if (this.index != null) {
+            this.index.delete(prevElem, index);
+            indexInsert(value, index);
+        }
         array[index] = value;
         return prevElem;
     }
@@ -301,6 +703,64 @@ public class ArrayList<T> {
         return Arrays.copyOf(array, size);
     }
 
+    /**
+     * Выгружает список в канал в двоичном формате {@link BinaryFormat}: заголовок и пакеты
+     * записей фиксированной ширины с контрольными суммами. Элементы кодируются прямо
+     * из внутреннего массива в переиспользуемый прямой буфер, без копии списка
+     *
+     * @param channel канал, куда записываются данные
+     * @param codec   кодек элементов
+     * @return количество записанных байт
+     * @throws IOException при ошибке ввода-вывода
+     */
+    @SuppressWarnings("unchecked")
+    public long writeTo(WritableByteChannel channel, FixedWidthCodec<? super T> codec) throws IOException {
+        int width = codec.width();
+        int perBatch = BinaryFormat.recordsPerBatch(width);
+        ByteBuffer buffer = BinaryFormat.buffer();
+        long written = BinaryFormat.writeHeader(channel, buffer, width, size);
+        for (int from = 0; from < size; from += perBatch) {
+            int count = Math.min(perBatch, size - from);
+            buffer.clear();
+            for (int i = 0; i < count; ++i) {
+                codec.encode((T) array[from + i], buffer, BinaryFormat.PAYLOAD_OFFSET + i * width);
+            }
+            written += BinaryFormat.writeBatch(channel, buffer, count * width);
+        }
+        return written;
+    }
+
+    /**
+     * Читает список, выгруженный {@link #writeTo(WritableByteChannel, FixedWidthCodec)}.
+     * Внутренний массив создается сразу под количество записей из заголовка
+     *
+     * @param channel канал, откуда читаются данные
+     * @param codec   кодек элементов
+     * @param <T>     тип элементов
+     * @return прочитанный список
+     * @throws IOException              если поток поврежден, не совпала контрольная сумма
+     *                                  или поток закончился раньше времени
+     * @throws IllegalArgumentException если ширина записей в потоке не совпадает с кодеком
+     */
+    public static <T> ArrayList<T> readFrom(ReadableByteChannel channel, FixedWidthCodec<T> codec)
+            throws IOException {
+        int width = codec.width();
+        BinaryFormat.recordsPerBatch(width);
+        ByteBuffer buffer = BinaryFormat.buffer();
+        int total = BinaryFormat.readHeader(channel, buffer, width);
+        ArrayList<T> result = new ArrayList<>(total);
+        while (result.size < total) {
+            int count = BinaryFormat.readBatch(channel, buffer, width);
+            if (count > total - result.size) {
+                throw new IOException("List stream has more records than its header");
+            }
+            for (int i = 0; i < count; ++i) {
+                result.array[result.size++] = codec.decode(buffer, BinaryFormat.PAYLOAD_OFFSET + i * width);
+            }
+        }
+        return result;
+    }
+
     /**
      * Проверяет пуст ли ArrayList
      *
@@ -310,10 +770,56 @@ public class ArrayList<T> {
         return size == 0;
     }
 
+    /**
+     * Готовит список к повторному использованию пулом {@link ListPool}: зануляет занятый
+     * участок массива, выключает индекс, счетчики и автоматическое сжатие и возвращает
+     * стратегию расширения по умолчанию. Статистика расширений и сжатий обнуляется, чтобы
+     * следующий владелец не видел историю предыдущего; наибольшей вместимостью становится
+     * сохраненная. Вместимость сохраняется, но если она больше maxCapacity, массив
+     * заменяется новым на maxCapacity элементов
+     *
+     * @param maxCapacity наибольшая вместимость, которую список сохраняет
+     * @return true - если массив был урезан
+     * @throws IllegalStateException если список уже возвращен в пул и еще не выдан снова
+     */
+    boolean resetForReuse(int maxCapacity) {
+        if (pooled) {
+            throw new IllegalStateException("List is already released to the pool");
+        }
+        pooled = true;
+        boolean trimmed = array.length > maxCapacity;
+        if (trimmed) {
+            array = maxCapacity == 0 ? EMPTY_ARRAY : new Object[maxCapacity];
+        } else {
+            Arrays.fill(array, 0, size, null);
+        }
+        size = 0;
+        modCount += 1;
+        indexed = false;
+        index = null;
+        metrics = null;
+        growthPolicy = GrowthPolicy.DEFAULT;
+        shrinkPolicy = null;
+        resizeCount = 0;
+        copiedElements = 0;
+        peakCapacity = array.length;
+        shrinkCount = 0;
+        reclaimedSlots = 0;
+        return trimmed;
+    }
+
+    /**
+     * Отмечает, что пул снова выдал список, и его можно будет вернуть еще раз
+     */
+    void leasedFromPool() {
+        pooled = false;
+    }
+
     /**
      * Обрезает размер выделенной памяти до размеров ArrayList
      */
     public void trimToSize() {
+        modCount += 1;
         if (size < array.length) {
             if (size == 0) {
                 array = EMPTY_ARRAY;
@@ -330,6 +836,13 @@ public class ArrayList<T> {
      * @return индекс первого вхождения элемента или -1
      */
     public int indexOf(Object value) {
+        if (metrics != null) {
+            metrics.recordIndexOf();
+        }
+        HashIndex hashIndex = index();
+        if (hashIndex != null) {
+            return hashIndex.first(value, array);
+        }
         for (int i = 0; i < size; ++i) {
             int tempRes = indexOfLogic(value, i);
             if (tempRes != -1) return tempRes;
@@ -344,6 +857,13 @@ public class ArrayList<T> {
      * @return индекс последнего вхождения или -1
      */
     public int lastIndexOf(Object value) {
+        if (metrics != null) {
+            metrics.recordIndexOf();
+        }
+        HashIndex hashIndex = index();
+        if (hashIndex != null) {
+            return hashIndex.last(value, array);
+        }
         for (int i = size - 1; i >= 0; --i) {
             int tempRes = indexOfLogic(value, i);
             if (tempRes != -1) return tempRes;
@@ -400,7 +920,16 @@ public class ArrayList<T> {
                 grow(size + copyLen);
             }
             System.arraycopy(copyArr, 0, array, size, copyLen);
+            if (index != null) {
+                for (int i = 0; i < copyLen && index != null; ++i) {
+                    indexInsert(copyArr[i], size + i);
+                }
+            }
             size += copyLen;
+            modCount += 1;
+            if (metrics != null) {
+                metrics.recordAddAll(copyLen, size);
+            }
         }
         return result;
     }
@@ -419,192 +948,325 @@ public class ArrayList<T> {
     }
 
     /**
-     * Удаление всех элементов переданной коллекции в текущем ArrayList
+     * Удаление всех элементов переданной коллекции в текущем ArrayList.
+     * Выполняется за один проход со сжатием массива, см. {@link #removeIf(Predicate)}
      *
      * @param elems коллекция, указывающая, какие элементы надо удалить
      * @return false - если ArrayList не изменился, true - если произошло удаление
      */
     public boolean removeAll(Collection<? extends T> elems) {
-        boolean result = false;
-        Object[] arrElems = elems.toArray();
-        if (arrElems.length == 0) {
-            return false;
-        } else {
-            result = removeAllLogic(arrElems, result);
-        }
-        return result;
+        return batchRemove(membership(elems), false);
     }
 
     /**
-     * Удвление всех элементов переданного ArrayList в текущем ArrayList
+     * Удвление всех элементов переданного ArrayList в текущем ArrayList.
+     * Выполняется за один проход со сжатием массива, см. {@link #removeIf(Predicate)}
      *
      * @param elems ArrayList, элементы которого нужно удалить
      * @return false - если ArrayList не изменился, true - если произошло удаление
      */
     public boolean removeAll(ArrayList<? extends T> elems) {
-        boolean result = false;
-        Object[] arrElems = elems.toArray();
-        if (arrElems.length == 0) {
-            return false;
-        } else {
-            result = removeAllLogic(arrElems, result);
-        }
-        return result;
+        return batchRemove(membership(elems.array, elems.size), false);
     }
 
     /**
-     * Логика удаления нескольких элементов
+     * Оставляет в ArrayList только элементы, которые есть в переданной коллекции
      *
-     * @param arrElems Массив элементов, которые нужно удалить
-     * @param result   результат
-     * @return возвращает result
+     * @param elems коллекция элементов, которые нужно сохранить
+     * @return false - если ArrayList не изменился, true - если произошло удаление
      */
-    private boolean removeAllLogic(Object[] arrElems, boolean result) {
-        for (int i = 0; i < size; ++i) {
-            boolean tempRes = false;
-            for (Object arrElem : arrElems) {
-                if (arrElem == null) {
-                    if (arrElem == array[i]) {
-                        tempRes = true;
-                    }
-                } else {
-                    if (arrElem.equals(array[i])) {
-                        tempRes = true;
-                    }
-                }
-                if (tempRes) {
-                    result = true;
-                    removeLogic(i);
-                    i -= 1;
-                    break;
-                }
-            }
-        }
-        return result;
+    public boolean retainAll(Collection<?> elems) {
+        return batchRemove(membership(elems), true);
     }
 
     /**
-     * Проверяет содержится ли элемент в ArrayList
+     * Оставляет в ArrayList только элементы, которые есть в переданном ArrayList
      *
-     * @param obj искомый элемент
-     * @return true - если элемент есть в коллекции, false - если нет
+     * @param elems ArrayList элементов, которые нужно сохранить
+     * @return false - если ArrayList не изменился, true - если произошло удаление
      */
-    public boolean contains(Object obj) {
-        return indexOf(obj) != -1;
+    public boolean retainAll(ArrayList<?> elems) {
+        return batchRemove(membership(elems.array, elems.size), true);
     }
 
     /**
-     * Сортировка, основанная на переданном компараторе. Используется алгоритм быстрой сортировки
+     * Удаляет все элементы, удовлетворяющие условию. Оставшиеся элементы сдвигаются
+     * к началу массива за один проход, поэтому удаление любого количества элементов
+     * выполняется за O(n) вызовов условия и O(n) копирований
      *
-     * @param comparator компаратор, согласно которому сравниваются объекты
+     * @param filter условие, при котором элемент нужно удалить
+     * @return false - если ArrayList не изменился, true - если произошло удаление
      */
     @SuppressWarnings("unchecked")
-    public void sort(Comparator<? super T> comparator) {
-        comparatorQuickSort((T[]) array, comparator, 0, size - 1);
+    public boolean removeIf(Predicate<? super T> filter) {
+        return batchRemove(x -> filter.test((T) x), false);
     }
 
     /**
-     * Сортировка для ArrayList, элементы которой имплементируют интерфейс Comparable.
-     * Используется алгоритм быстрой сортировки
+     * Создает условие принадлежности элемента коллекции. Если коллекция - HashSet,
+     * используется она сама, иначе элементы копируются в массив
      *
-     * @param arr ArrayList, который необходимо отсортировать
+     * @param elems коллекция
+     * @return условие принадлежности
      */
-    public static void sort(ArrayList<? extends Comparable> arr) {
-        comparableQuickSort(arr, 0, arr.size() - 1);
-    }
-
-    @Override
-    public String toString() {
-        return "ArrayList{" +
-                "array=" + Arrays.toString(array) +
-                '}';
+    static Predicate<Object> membership(Collection<?> elems) {
+        if (elems instanceof HashSet) {
+            return elems::contains;
+        }
+        Object[] arrElems = elems.toArray();
+        return membership(arrElems, arrElems.length);
     }
 
     /**
-     * Реализация быстрой сортировки с компаратором
+     * Создает условие принадлежности элемента первым len элементам массива. Когда элементов
+     * больше HASH_LOOKUP_THRESHOLD, они складываются в HashSet и проверка выполняется за O(1),
+     * при этом равенство определяется через equals и hashCode. Для маленьких массивов
+     * используется линейный поиск, как в indexOf
      *
-     * @param arr        массив T, который нужно отсортировать
-     * @param comparator компаратор, предоставляющий инструмент для сравнения
-     * @param low        минимальный элемент, разделяющий массив
-     * @param high       максимальный элемент, разделяющий массив
+     * @param arrElems массив элементов
+     * @param len      количество элементов с начала массива
+     * @return условие принадлежности
      */
-    private void comparatorQuickSort(T[] arr, Comparator<? super T> comparator, int low, int high) {
-        if (low < high) {
-            int pivot = comparatorQuickSortLogic(arr, comparator, low, high);
-            comparatorQuickSort(arr, comparator, low, pivot - 1);
-            comparatorQuickSort(arr, comparator, pivot + 1, high);
+    static Predicate<Object> membership(Object[] arrElems, int len) {
+        if (len > HASH_LOOKUP_THRESHOLD) {
+            Set<Object> set = new HashSet<>(Math.max((int) (len / .75f) + 1, 16));
+            for (int i = 0; i < len; ++i) {
+                set.add(arrElems[i]);
+            }
+            return set::contains;
         }
+        return x -> {
+            for (int i = 0; i < len; ++i) {
+                if (Objects.equals(arrElems[i], x)) {
+                    return true;
+                }
+            }
+            return false;
+        };
     }
 
     /**
-     * Логика быстрой сортировки с компаратором. В качестве разделяющего элемента берется последний
-     * элемент коллекции. Все элементы, что меньше него, идут влево, все что больше - вправо.
+     * Логика удаления нескольких элементов. Сначала ищется первый удаляемый элемент,
+     * после него каждый сохраняемый элемент записывается на следующую свободную позицию.
+     * Освободившийся хвост массива зануляется одним вызовом Arrays.fill. Если условие
+     * выбросит исключение, непроверенные элементы сдвигаются к уже сохраненным и
+     * ArrayList остается согласованным
      *
-     * @param arr        массив T, который нужно отсортировать
-     * @param comparator компаратор, предоставляющий инструмент для сравнения
-     * @param low        минимальный элемент, разделяющий массив
-     * @param high       максимальный элемент, разделяющий массив
-     * @return следующий индекс, по которому нужно разделить массив
+     * @param match      условие принадлежности элемента набору
+     * @param complement true - удалять элементы, которых нет в наборе, false - которые есть
+     * @return false - если ArrayList не изменился, true - если произошло удаление
      */
-    private int comparatorQuickSortLogic(T[] arr, Comparator<? super T> comparator, int low, int high) {
-        T pivot = arr[high];
-        int sortIndex = low - 1;
-        for (int i = low; i < high; ++i) {
-            if (comparator.compare(arr[i], pivot) < 0) {
-                sortIndex++;
-                T temp = arr[sortIndex];
-                arr[sortIndex] = arr[i];
-                arr[i] = temp;
+    private boolean batchRemove(Predicate<Object> match, boolean complement) {
+        Object[] arr = array;
+        int end = size;
+        int i = 0;
+        while (i < end && match.test(arr[i]) == complement) {
+            i += 1;
+        }
+        if (i == end) {
+            return false;
+        }
+        dropIndex();
+        int newSize = i;
+        i += 1;
+        try {
+            for (; i < end; ++i) {
+                Object elem = arr[i];
+                if (match.test(elem) == complement) {
+                    arr[newSize++] = elem;
+                }
             }
+        } finally {
+            if (i < end) {
+                System.arraycopy(arr, i, arr, newSize, end - i);
+                newSize += end - i;
+            }
+            Arrays.fill(arr, newSize, end, null);
+            size = newSize;
+            modCount += 1;
+            recordBulkRemove(end, end - newSize);
         }
-        T temp = arr[sortIndex + 1];
-        arr[sortIndex + 1] = arr[high];
-        arr[high] = temp;
-        return sortIndex + 1;
+        shrinkIfSparse();
+        return true;
     }
 
     /**
-     * Реализация быстрой сортировки с Comparable.
+     * Учитывает пакетное удаление в счетчиках и событии JFR
      *
-     * @param arr  ArrayList, который нужно отсортировать
-     * @param low  минимальный элемент, разделяющий массив
-     * @param high максимальный элемент, разделяющий массив
+     * @param sizeBefore размер до удаления
+     * @param removed    количество удаленных элементов
      */
-    private static void comparableQuickSort(ArrayList<? extends Comparable> arr,
-                                            int low, int high) {
-        if (low < high) {
-            int pivot = comparableQuickSortLogic(arr, low, high);
-            comparableQuickSort(arr, low, pivot - 1);
-            comparableQuickSort(arr, pivot + 1, high);
+    private void recordBulkRemove(int sizeBefore, int removed) {
+        if (metrics != null) {
+            metrics.recordBulkRemove(removed);
+        }
+        ListEvents.BulkRemove event = new ListEvents.BulkRemove();
+        if (event.shouldCommit()) {
+            event.sizeBefore = sizeBefore;
+            event.removed = removed;
+            event.commit();
         }
     }
 
     /**
-     * Логика быстрой сортировки с компаратором. В качестве разделяющего элемента берется последний
-     * элемент коллекции. Все элементы, что меньше него, идут влево, все что больше - вправо.
+     * Проверяет содержится ли элемент в ArrayList
      *
-     * @param arr  ArrayList, который нужно отсортировать
-     * @param low  минимальный элемент, разделяющий массив
-     * @param high максимальный элемент, разделяющий массив
-     * @return следующий индекс, по которому нужно разделить массив
+     * @param obj искомый элемент
+     * @return true - если элемент есть в коллекции, false - если нет
      */
-    @SuppressWarnings("unchecked")
-    private static int comparableQuickSortLogic(ArrayList<? extends Comparable> arr,
-                                                int low, int high) {
-        Comparable pivot = arr.get(high);
-        int sortIndex = low - 1;
-        for (int i = low; i < high; ++i) {
-            if (arr.get(i).compareTo(pivot) < 0) {
-                sortIndex++;
-                Comparable temp = arr.get(sortIndex);
-                arr.array[sortIndex] = arr.array[i];
-                arr.array[i] = temp;
-            }
+    public boolean contains(Object obj) {
+        return indexOf(obj) != -1;
+    }
+
+    /**
+     * Сортировка, основанная на переданном компараторе. Используется интроспективная сортировка
+     * (см. {@link ArraySorter}), худший случай O(n log n). Порядок равных элементов не сохраняется
+     *
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     */
+    public void sort(Comparator<? super T> comparator) {
+        sort(comparator, false);
+    }
+
+    /**
+     * Сортировка, основанная на переданном компараторе. В стабильном режиме используется
+     * сортировка слиянием естественных серий, которая сохраняет порядок равных элементов
+     * и требует дополнительной памяти до n/2 ссылок
+     *
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     * @param stable     true - сохранять порядок равных элементов
+     */
+    public void sort(Comparator<? super T> comparator, boolean stable) {
+        sortRange(0, size, comparator, stable, null);
+    }
+
+    /**
+     * Логика всех сортировок, в том числе всего списка и диапазонов subList: сброс индекса,
+     * сортировка диапазона [from, to) внутреннего массива без копирования, счетчики
+     * и событие JFR. Время замеряется только при включенных счетчиках
+     *
+     * @param from       начало диапазона
+     * @param to         конец диапазона, не включительно
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     * @param stable     true - сохранять порядок равных элементов
+     * @param pool       пул для параллельной сортировки или null для последовательной
+     */
+    private void sortRange(int from, int to, Comparator<?> comparator, boolean stable, ForkJoinPool pool) {
+        dropIndex();
+        modCount += 1;
+        @SuppressWarnings("unchecked")
+        Comparator<Object> cmp = (Comparator<Object>) comparator;
+        ListEvents.Sort event = new ListEvents.Sort();
+        event.begin();
+        long start = metrics != null ? System.nanoTime() : 0L;
+        if (pool == null) {
+            ArraySorter.sort(array, from, to, cmp, stable);
+        } else {
+            ArraySorter.parallelSort(array, from, to, cmp, stable, pool);
+        }
+        if (metrics != null) {
+            metrics.recordSort(System.nanoTime() - start);
+        }
+        if (event.shouldCommit()) {
+            event.size = to - from;
+            event.stable = stable;
+            event.parallel = pool != null;
+            event.commit();
         }
-        Comparable temp = arr.get(sortIndex + 1);
-        arr.array[sortIndex + 1] = arr.array[high];
-        arr.array[high] = temp;
-        return sortIndex + 1;
+    }
+
+    /**
+     * Сортировка для ArrayList, элементы которой имплементируют интерфейс Comparable.
+     * Используется интроспективная сортировка, порядок равных элементов не сохраняется
+     *
+     * @param arr ArrayList, который необходимо отсортировать
+     */
+    public static void sort(ArrayList<? extends Comparable> arr) {
+        sort(arr, false);
+    }
+
+    /**
+     * Сортировка для ArrayList, элементы которой имплементируют интерфейс Comparable
+     *
+     * @param arr    ArrayList, который необходимо отсортировать
+     * @param stable true - сохранять порядок равных элементов
+     */
+    public static void sort(ArrayList<? extends Comparable> arr, boolean stable) {
+        arr.sortRange(0, arr.size, ArraySorter.NATURAL_ORDER, stable, null);
+    }
+
+    /**
+     * Параллельная сортировка, основанная на переданном компараторе. Выполняется в общем пуле
+     * ForkJoinPool.commonPool(), порядок равных элементов не сохраняется
+     *
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     */
+    public void parallelSort(Comparator<? super T> comparator) {
+        parallelSort(comparator, false, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельная сортировка, основанная на переданном компараторе. Выполняется в общем пуле
+     * ForkJoinPool.commonPool()
+     *
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     * @param stable     true - сохранять порядок равных элементов
+     */
+    public void parallelSort(Comparator<? super T> comparator, boolean stable) {
+        parallelSort(comparator, stable, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельная сортировка, основанная на переданном компараторе. Внутренний массив
+     * делится на диапазоны, которые сортируются в переданном пуле и затем сливаются.
+     * Маленькие списки сортируются последовательно, как в {@link #sort(Comparator, boolean)}.
+     * Во время сортировки дополнительно выделяется массив на size ссылок
+     *
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     * @param stable     true - сохранять порядок равных элементов
+     * @param pool       пул потоков, в котором выполняется сортировка
+     */
+    public void parallelSort(Comparator<? super T> comparator, boolean stable, ForkJoinPool pool) {
+        sortRange(0, size, comparator, stable, pool);
+    }
+
+    /**
+     * Параллельная сортировка для ArrayList, элементы которой имплементируют интерфейс Comparable.
+     * Выполняется в общем пуле ForkJoinPool.commonPool(), порядок равных элементов не сохраняется
+     *
+     * @param arr ArrayList, который необходимо отсортировать
+     */
+    public static void parallelSort(ArrayList<? extends Comparable> arr) {
+        parallelSort(arr, false, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельная сортировка для ArrayList, элементы которой имплементируют интерфейс Comparable.
+     * Выполняется в общем пуле ForkJoinPool.commonPool()
+     *
+     * @param arr    ArrayList, который необходимо отсортировать
+     * @param stable true - сохранять порядок равных элементов
+     */
+    public static void parallelSort(ArrayList<? extends Comparable> arr, boolean stable) {
+        parallelSort(arr, stable, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Параллельная сортировка для ArrayList, элементы которой имплементируют интерфейс Comparable
+     *
+     * @param arr    ArrayList, который необходимо отсортировать
+     * @param stable true - сохранять порядок равных элементов
+     * @param pool   пул потоков, в котором выполняется сортировка
+     */
+    public static void parallelSort(ArrayList<? extends Comparable> arr, boolean stable, ForkJoinPool pool) {
+        arr.sortRange(0, arr.size, ArraySorter.NATURAL_ORDER, stable, pool);
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayList{" +
+                "array=" + Arrays.toString(array) +
+                '}';
     }
 
     /**
@@ -627,6 +1289,813 @@ public class ArrayList<T> {
         return new ListIter(0);
     }
 
+    /**
+     * Возвращает ленивое представление списка для цепочек filter, map, limit и других.
+     * Операции не выполняются до терминального метода и затем сливаются в один проход
+     * по внутреннему массиву, см. {@link LazyList}
+     *
+     * @return ленивое представление всех элементов списка
+     */
+    public LazyList<T> lazy() {
+        return new LazyList<>(this);
+    }
+
+    /**
+     * Проверка диапазона [from, to) по границам 0..size
+     *
+     * @param from начало диапазона
+     * @param to   конец диапазона, не включительно
+     * @param size размер списка или представления
+     * @throws IndexOutOfBoundsException если (from < 0 || to > size || from > to)
+     */
+    private static void checkRange(int from, int to, int size) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bound");
+        }
+    }
+
+    /**
+     * Удаляет элементы диапазона [from, to) одним сдвигом хвоста arraycopy
+     *
+     * @param from первый удаляемый индекс
+     * @param to   индекс после последнего удаляемого
+     * @throws IndexOutOfBoundsException если (from < 0 || to > size || from > to)
+     */
+    public void removeRange(int from, int to) {
+        checkRange(from, to, size);
+        removeRangeLogic(from, to);
+    }
+
+    /**
+     * Логика удаления диапазона: один arraycopy хвоста и зануление освободившихся ячеек
+     *
+     * @param from первый удаляемый индекс
+     * @param to   индекс после последнего удаляемого
+     */
+    private void removeRangeLogic(int from, int to) {
+        if (from == to) {
+            return;
+        }
+        dropIndex();
+        int oldSize = size;
+        int newSize = oldSize - (to - from);
+        System.arraycopy(array, to, array, from, oldSize - to);
+        Arrays.fill(array, newSize, oldSize, null);
+        size = newSize;
+        modCount += 1;
+        if (metrics != null) {
+            metrics.recordShift(oldSize - to);
+        }
+        recordBulkRemove(oldSize, oldSize - newSize);
+        shrinkIfSparse();
+    }
+
+    /**
+     * Заменяет все элементы списка на value
+     *
+     * @param value новый элемент
+     */
+    public void fill(T value) {
+        fillRange(0, size, value);
+    }
+
+    private void fillRange(int from, int to, T value) {
+        dropIndex();
+        Arrays.fill(array, from, to, value);
+    }
+
+    /**
+     * Заменяет каждый элемент результатом функции за один проход по массиву
+     *
+     * @param operator функция, применяемая к каждому элементу
+     */
+    public void replaceAll(UnaryOperator<T> operator) {
+        replaceAllRange(0, size, operator);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void replaceAllRange(int from, int to, UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator, "operator");
+        dropIndex();
+        Object[] arr = array;
+        for (int i = from; i < to; ++i) {
+            arr[i] = operator.apply((T) arr[i]);
+        }
+    }
+
+    /**
+     * Поиск первого вхождения элемента в диапазоне [from, to)
+     *
+     * @param value искомый элемент
+     * @param from  начало диапазона
+     * @param to    конец диапазона, не включительно
+     * @return индекс в списке или -1
+     */
+    private int indexOfRange(Object value, int from, int to) {
+        if (metrics != null) {
+            metrics.recordIndexOf();
+        }
+        for (int i = from; i < to; ++i) {
+            if (indexOfLogic(value, i) != -1) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Поиск последнего вхождения элемента в диапазоне [from, to)
+     *
+     * @param value искомый элемент
+     * @param from  начало диапазона
+     * @param to    конец диапазона, не включительно
+     * @return индекс в списке или -1
+     */
+    private int lastIndexOfRange(Object value, int from, int to) {
+        if (metrics != null) {
+            metrics.recordIndexOf();
+        }
+        for (int i = to - 1; i >= from; --i) {
+            if (indexOfLogic(value, i) != -1) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Возвращает представление диапазона [from, to) списка без копирования. Чтение и запись
+     * через представление идут прямо во внутренний массив этого списка, а вставки и удаления
+     * через представление меняют и сам список. Если список структурно изменен в обход
+     * представления, любая операция представления бросает ConcurrentModificationException
+     *
+     * @param from начало диапазона
+     * @param to   конец диапазона, не включительно
+     * @return представление диапазона
+     * @throws IndexOutOfBoundsException если (from < 0 || to > size || from > to)
+     */
+    public SubList subList(int from, int to) {
+        checkRange(from, to, size);
+        return new SubList(null, from, to - from);
+    }
+
+    /**
+     * <p>Представление диапазона ArrayList. Хранит только смещение в массиве родительского
+     * списка и свой размер, поэтому создается за O(1) и не выделяет память под элементы.</p>
+     * <p>Операции над диапазоном ({@code sort}, {@code clear}, {@code indexOf}, {@code fill},
+     * {@code replaceAll}) работают прямо с участком внутреннего массива: clear - один arraycopy
+     * хвоста, sort - сортировка участка на месте.</p>
+     * <p>Представления можно вкладывать друг в друга. Изменения через вложенное
+     * представление обновляют размеры всех внешних.</p>
+     */
+    public final class SubList {
+        /**
+         * Внешнее представление или null, если это представление самого списка
+         */
+        private final SubList parent;
+        /**
+         * Начало диапазона во внутреннем массиве списка
+         */
+        private final int offset;
+        /**
+         * Размер представления
+         */
+        private int size;
+        /**
+         * Количество изменений списка, известное представлению
+         */
+        private int expectedModCount;
+
+        SubList(SubList parent, int offset, int size) {
+            this.parent = parent;
+            this.offset = offset;
+            this.size = size;
+            this.expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /**
+         * Учитывает структурное изменение, сделанное через это представление,
+         * в нем и во всех внешних представлениях
+         *
+         * @param delta изменение размера
+         */
+        private void updateSizeAndModCount(int delta) {
+            for (SubList view = this; view != null; view = view.parent) {
+                view.size += delta;
+                view.expectedModCount = modCount;
+            }
+        }
+
+        private void checkRmIndex(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+            }
+        }
+
+        /**
+         * Возвращает элемент по индексу внутри представления за O(1)
+         *
+         * @param index индекс относительно начала представления
+         * @return элемент по индексу
+         * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+         */
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            checkRmIndex(index);
+            checkForComodification();
+            return (T) array[offset + index];
+        }
+
+        /**
+         * Замена элемента по индексу внутри представления
+         *
+         * @param index индекс относительно начала представления
+         * @param value новый элемент
+         * @return замененный элемент
+         * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+         */
+        public T set(int index, T value) {
+            checkRmIndex(index);
+            checkForComodification();
+            return ArrayList.this.set(offset + index, value);
+        }
+
+        /**
+         * Добавляет элемент в конец представления, то есть вставляет его в список
+         * сразу после диапазона
+         *
+         * @param value элемент, который будет добавлен
+         * @return boolean-значение, отображающее успешность произведенной операции
+         */
+        public boolean add(T value) {
+            add(size, value);
+            return true;
+        }
+
+        /**
+         * Вставляет элемент по индексу внутри представления
+         *
+         * @param index индекс относительно начала представления
+         * @param value элемент, который будет добавлен
+         * @throws IndexOutOfBoundsException index < 0 || index > size
+         */
+        public void add(int index, T value) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+            }
+            checkForComodification();
+            ArrayList.this.add(offset + index, value);
+            updateSizeAndModCount(1);
+        }
+
+        /**
+         * Удаляет элемент по индексу внутри представления
+         *
+         * @param index индекс относительно начала представления
+         * @return удаленный элемент
+         * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+         */
+        public T remove(int index) {
+            checkRmIndex(index);
+            checkForComodification();
+            T remElement = ArrayList.this.remove(offset + index);
+            updateSizeAndModCount(-1);
+            return remElement;
+        }
+
+        /**
+         * Удаляет все элементы диапазона из списка одним arraycopy хвоста
+         */
+        public void clear() {
+            removeRange(0, size);
+        }
+
+        /**
+         * Удаляет элементы [from, to) представления одним arraycopy хвоста
+         *
+         * @param from первый удаляемый индекс относительно начала представления
+         * @param to   индекс после последнего удаляемого
+         * @throws IndexOutOfBoundsException если (from < 0 || to > size || from > to)
+         */
+        public void removeRange(int from, int to) {
+            checkRange(from, to, size);
+            checkForComodification();
+            if (from < to) {
+                removeRangeLogic(offset + from, offset + to);
+                updateSizeAndModCount(from - to);
+            }
+        }
+
+        /**
+         * Сортирует диапазон на месте интроспективной сортировкой
+         *
+         * @param comparator компаратор, согласно которому сравниваются объекты
+         */
+        public void sort(Comparator<? super T> comparator) {
+            sort(comparator, false);
+        }
+
+        /**
+         * Сортирует диапазон на месте
+         *
+         * @param comparator компаратор, согласно которому сравниваются объекты
+         * @param stable     true - сохранять порядок равных элементов
+         */
+        public void sort(Comparator<? super T> comparator, boolean stable) {
+            checkForComodification();
+            sortRange(offset, offset + size, comparator, stable, null);
+            updateSizeAndModCount(0);
+        }
+
+        /**
+         * Заменяет все элементы диапазона на value одним Arrays.fill
+         *
+         * @param value новый элемент
+         */
+        public void fill(T value) {
+            checkForComodification();
+            fillRange(offset, offset + size, value);
+        }
+
+        /**
+         * Заменяет каждый элемент диапазона результатом функции
+         *
+         * @param operator функция, применяемая к каждому элементу
+         */
+        public void replaceAll(UnaryOperator<T> operator) {
+            checkForComodification();
+            replaceAllRange(offset, offset + size, operator);
+        }
+
+        /**
+         * Возвращает индекс первого вхождения элемента внутри представления или -1
+         *
+         * @param value искомый элемент
+         * @return индекс относительно начала представления или -1
+         */
+        public int indexOf(Object value) {
+            checkForComodification();
+            int pos = indexOfRange(value, offset, offset + size);
+            return pos == -1 ? -1 : pos - offset;
+        }
+
+        /**
+         * Возвращает индекс последнего вхождения элемента внутри представления или -1
+         *
+         * @param value искомый элемент
+         * @return индекс относительно начала представления или -1
+         */
+        public int lastIndexOf(Object value) {
+            checkForComodification();
+            int pos = lastIndexOfRange(value, offset, offset + size);
+            return pos == -1 ? -1 : pos - offset;
+        }
+
+        /**
+         * Проверяет содержится ли элемент в представлении
+         *
+         * @param value искомый элемент
+         * @return true - если элемент есть в представлении, false - если нет
+         */
+        public boolean contains(Object value) {
+            return indexOf(value) != -1;
+        }
+
+        /**
+         * Возвращает представление части этого представления
+         *
+         * @param from начало диапазона относительно начала представления
+         * @param to   конец диапазона, не включительно
+         * @return вложенное представление
+         * @throws IndexOutOfBoundsException если (from < 0 || to > size || from > to)
+         */
+        public SubList subList(int from, int to) {
+            checkRange(from, to, size);
+            checkForComodification();
+            return new SubList(this, offset + from, to - from);
+        }
+
+        /**
+         * Возвращает количество элементов в представлении
+         *
+         * @return количество элементов
+         */
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        /**
+         * Проверяет пусто ли представление
+         *
+         * @return true - если пусто, false - если есть элементы
+         */
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        /**
+         * Копирует элементы представления в новый массив
+         *
+         * @return массив, основанный на элементах представления
+         */
+        public Object[] toArray() {
+            checkForComodification();
+            return Arrays.copyOfRange(array, offset, offset + size);
+        }
+
+        @Override
+        public String toString() {
+            return "SubList{" +
+                    "array=" + Arrays.toString(toArray()) +
+                    '}';
+        }
+    }
+
+    /**
+     * Начинает пакет структурных изменений. Операции пакета записываются с индексами
+     * в том виде, в каком их видел бы последовательный вызов методов списка,
+     * и применяются вместе методом {@link Edit#apply()}
+     *
+     * @return новый пустой пакет изменений
+     */
+    public Edit edit() {
+        return new Edit();
+    }
+
+    /**
+     * <p>Пакет структурных изменений: вставки, удаления, замены и удаление диапазонов.
+     * Результат {@link #apply()} такой же, как при последовательном вызове add(int, T),
+     * remove(int), set и удаления диапазона, но хвост массива сдвигается не при каждой
+     * операции, а один раз за всё применение.</p>
+     * <p>Пакет хранит будущий список как последовательность кусков: диапазоны исходного
+     * массива и вставленные элементы. Каждая операция находит свой кусок линейным проходом,
+     * поэтому запись k операций стоит O(k²) независимо от размера списка, а применение -
+     * O(n + k) с не более чем одним расширением массива.</p>
+     * <p>Между созданием пакета и apply() список нельзя изменять другими методами.</p>
+     */
+    public final class Edit {
+        /**
+         * Куски будущего списка по порядку
+         */
+        private final ArrayList<Piece> pieces = new ArrayList<>();
+        /**
+         * Размер списка после уже записанных операций
+         */
+        private int editSize;
+        /**
+         * Количество изменений списка при создании пакета
+         */
+        private final int expectedModCount;
+        /**
+         * Применен ли пакет
+         */
+        private boolean applied;
+
+        Edit() {
+            expectedModCount = modCount;
+            editSize = size;
+            if (size > 0) {
+                pieces.add(new Piece(0, size, null));
+            }
+        }
+
+        /**
+         * Вставка элемента, аналог add(int, T)
+         *
+         * @param index индекс вставки в списке после предыдущих операций пакета
+         * @param value элемент
+         * @return этот пакет
+         * @throws IndexOutOfBoundsException если (index < 0 || index > size)
+         */
+        public Edit insert(int index, T value) {
+            checkOpen();
+            if (index < 0 || index > editSize) {
+                throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+            }
+            pieces.add(split(index), new Piece(-1, 1, value));
+            editSize += 1;
+            return this;
+        }
+
+        /**
+         * Удаление элемента, аналог remove(int)
+         *
+         * @param index индекс в списке после предыдущих операций пакета
+         * @return этот пакет
+         * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+         */
+        public Edit remove(int index) {
+            return removeRange(index, index + 1);
+        }
+
+        /**
+         * Замена элемента, аналог set(int, T)
+         *
+         * @param index индекс в списке после предыдущих операций пакета
+         * @param value новый элемент
+         * @return этот пакет
+         * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+         */
+        public Edit replace(int index, T value) {
+            removeRange(index, index + 1);
+            return insert(index, value);
+        }
+
+        /**
+         * Удаление диапазона [from, to)
+         *
+         * @param from первый удаляемый индекс
+         * @param to   индекс после последнего удаляемого
+         * @return этот пакет
+         * @throws IndexOutOfBoundsException если (from < 0 || to > size || from > to)
+         */
+        public Edit removeRange(int from, int to) {
+            checkOpen();
+            if (from < 0 || to > editSize || from > to) {
+                throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of bound");
+            }
+            if (from == to) {
+                return this;
+            }
+            int first = split(from);
+            int last = split(to);
+            for (int i = last - 1; i >= first; --i) {
+                pieces.remove(i);
+            }
+            editSize -= to - from;
+            return this;
+        }
+
+        /**
+         * Разрезает кусок так, чтобы index был началом куска
+         *
+         * @param index индекс в будущем списке
+         * @return номер куска, который начинается с index (или количество кусков)
+         */
+        private int split(int index) {
+            int offset = 0;
+            for (int i = 0; i < pieces.size(); ++i) {
+                Piece piece = pieces.get(i);
+                if (offset == index) {
+                    return i;
+                }
+                if (index < offset + piece.length) {
+                    int head = index - offset;
+                    pieces.add(i + 1, new Piece(piece.origin + head, piece.length - head, null));
+                    piece.length = head;
+                    return i + 1;
+                }
+                offset += piece.length;
+            }
+            return pieces.size();
+        }
+
+        private void checkOpen() {
+            if (applied) {
+                throw new IllegalStateException("Edit is already applied");
+            }
+        }
+
+        /**
+         * Применяет пакет одним проходом по массиву. Если новый размер не помещается,
+         * массив расширяется один раз и куски копируются сразу в новый массив.
+         * Если все исходные куски сдвигаются только влево или только вправо,
+         * массив перестраивается на месте; иначе куски копируются в новый массив того же размера
+         *
+         * @throws IllegalStateException если пакет уже применен или список изменен
+         *                               после создания пакета
+         */
+        public void apply() {
+            checkOpen();
+            if (modCount != expectedModCount) {
+                throw new IllegalStateException("List was modified after the edit was started");
+            }
+            applied = true;
+            dropIndex();
+            int oldSize = size;
+            boolean movesLeft = false;
+            boolean movesRight = false;
+            int originals = 0;
+            int dest = 0;
+            for (int i = 0; i < pieces.size(); ++i) {
+                Piece piece = pieces.get(i);
+                if (piece.origin >= 0) {
+                    movesLeft |= dest < piece.origin;
+                    movesRight |= dest > piece.origin;
+                    originals += piece.length;
+                }
+                dest += piece.length;
+            }
+            if (editSize > array.length) {
+                int capacity = array.length;
+                int arrLen = newCapacity(editSize);
+                array = copyPieces(new Object[arrLen]);
+                recordGrow(capacity, arrLen, oldSize);
+            } else if (movesLeft && movesRight) {
+                array = copyPieces(new Object[array.length]);
+            } else if (movesRight) {
+                dest = editSize;
+                for (int i = pieces.size() - 1; i >= 0; --i) {
+                    dest -= pieces.get(i).length;
+                    pieces.get(i).copyTo(array, dest);
+                }
+            } else {
+                copyPieces(array);
+            }
+            if (editSize < oldSize) {
+                Arrays.fill(array, editSize, oldSize, null);
+            }
+            size = editSize;
+            modCount += 1;
+            if (originals < oldSize) {
+                recordBulkRemove(oldSize, oldSize - originals);
+            }
+            if (metrics != null) {
+                metrics.recordAddAll(editSize - originals, editSize);
+            }
+            shrinkIfSparse();
+        }
+
+        private Object[] copyPieces(Object[] target) {
+            int dest = 0;
+            for (int i = 0; i < pieces.size(); ++i) {
+                Piece piece = pieces.get(i);
+                piece.copyTo(target, dest);
+                dest += piece.length;
+            }
+            return target;
+        }
+    }
+
+    /**
+     * Кусок будущего списка в пакете изменений: диапазон исходного массива
+     * или один вставленный элемент
+     */
+    private final class Piece {
+        /**
+         * Начало диапазона в исходном массиве или -1 для вставленного элемента
+         */
+        private final int origin;
+        /**
+         * Длина куска
+         */
+        private int length;
+        /**
+         * Вставленный элемент
+         */
+        private final Object value;
+
+        Piece(int origin, int length, Object value) {
+            this.origin = origin;
+            this.length = length;
+            this.value = value;
+        }
+
+        void copyTo(Object[] target, int dest) {
+            if (origin < 0) {
+                target[dest] = value;
+            } else if (origin != dest || target != array) {
+                System.arraycopy(array, origin, target, dest, length);
+            }
+        }
+    }
+
+    /**
+     * Возвращает Spliterator для обхода и разделения ArrayList без копирования
+     * внутреннего массива. Spliterator связывается с массивом и размером при первом
+     * обходе, разделении или запросе размера, а не при создании
+     *
+     * @return объект типа Spliterator<T> с характеристиками ORDERED, SIZED и SUBSIZED
+     */
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator(0, -1);
+    }
+
+    /**
+     * Возвращает последовательный Stream по элементам ArrayList
+     *
+     * @return последовательный Stream
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Возвращает параллельный Stream по элементам ArrayList. Диапазон делится пополам
+     * на каждом шаге, поэтому части получаются одинакового размера
+     *
+     * @return параллельный Stream
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Spliterator по диапазону внутреннего массива [index, fence).
+     * Пока fence равен -1, Spliterator не связан с массивом
+     */
+    private class ArraySpliterator implements Spliterator<T> {
+        /**
+         * Индекс следующего элемента
+         */
+        private int index;
+        /**
+         * Индекс за последним элементом или -1, если Spliterator еще не связан
+         */
+        private int fence;
+        /**
+         * Массив, с которым связан Spliterator
+         */
+        private Object[] arr;
+
+        /**
+         * Конструктор, задающий диапазон обхода
+         *
+         * @param origin индекс первого элемента
+         * @param fence  индекс за последним элементом или -1 для позднего связывания
+         */
+        ArraySpliterator(int origin, int fence) {
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        /**
+         * При первом обращении запоминает текущие массив и размер ArrayList
+         *
+         * @return индекс за последним элементом
+         */
+        private int getFence() {
+            if (fence < 0) {
+                arr = array;
+                fence = size;
+            }
+            return fence;
+        }
+
+        /**
+         * Делит оставшийся диапазон пополам и отдает левую половину
+         *
+         * @return Spliterator по левой половине или null, если делить нечего
+         */
+        @Override
+        public Spliterator<T> trySplit() {
+            int hi = getFence();
+            int lo = index;
+            int mid = (lo + hi) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            ArraySpliterator prefix = new ArraySpliterator(lo, mid);
+            prefix.arr = arr;
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            int hi = getFence();
+            if (index < hi) {
+                T elem = (T) arr[index];
+                index += 1;
+                action.accept(elem);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            int hi = getFence();
+            Object[] a = arr;
+            int i = index;
+            index = hi;
+            for (; i < hi; ++i) {
+                action.accept((T) a[i]);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
     /**
      * Класс, реализующий методы ListIterator, нужен для перебора ArrayList.
      * Итерация может происходить как вперед, так и назад. Также возможно добавление,
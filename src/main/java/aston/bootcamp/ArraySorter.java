@@ -0,0 +1,485 @@
+package aston.bootcamp;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>Алгоритмы сортировки диапазона массива Object[], которые используют списки пакета.</p>
+ * <p>Нестабильная сортировка - интроспективная: быстрая сортировка с медианой из трех
+ * и трехпутевым разбиением (устойчива к большому количеству одинаковых элементов),
+ * сортировка вставками для маленьких диапазонов и пирамидальная сортировка,
+ * если глубина рекурсии превысила 2*log2(n). Худший случай - O(n log n).</p>
+ * <p>Стабильная сортировка - слиянием естественных серий в стиле TimSort: уже упорядоченные
+ * и строго убывающие участки находятся за один проход, короткие серии дополняются
+ * бинарными вставками до {@link #MIN_RUN} элементов, затем серии попарно сливаются.</p>
+ * <p>Обе сортировки за O(n) распознают уже отсортированный и строго убывающий вход.</p>
+ * <p>Параллельная сортировка делит диапазон на части, сортирует их в ForkJoinPool
+ * одним из двух алгоритмов выше и сливает результаты.</p>
+ *
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+final class ArraySorter {
+    /**
+     * Диапазоны не длиннее этого значения сортируются вставками
+     */
+    static final int INSERTION_SORT_THRESHOLD = 16;
+    /**
+     * Минимальная длина серии для стабильной сортировки
+     */
+    static final int MIN_RUN = 32;
+    /**
+     * Диапазоны короче этого значения parallelSort сортирует последовательно
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+    /**
+     * Минимальный размер части, которую одна задача параллельной сортировки
+     * сортирует последовательно
+     */
+    static final int MIN_PARALLEL_GRAIN = 1 << 12;
+    /**
+     * Компаратор естественного порядка для элементов, реализующих Comparable
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final Comparator<Object> NATURAL_ORDER = (x, y) -> ((Comparable) x).compareTo(y);
+
+    private ArraySorter() {
+    }
+
+    /**
+     * Сортирует диапазон массива [from, to)
+     *
+     * @param arr        сортируемый массив
+     * @param from       начало диапазона (включительно)
+     * @param to         конец диапазона (не включительно)
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     * @param stable     true - сохранять порядок равных элементов
+     */
+    static <T> void sort(Object[] arr, int from, int to, Comparator<? super T> comparator, boolean stable) {
+        if (stable) {
+            mergeSort(arr, from, to, comparator);
+        } else {
+            introSort(arr, from, to, comparator);
+        }
+    }
+
+    /**
+     * Параллельно сортирует диапазон массива [from, to) в пуле ForkJoinPool.
+     * Диапазон делится пополам, пока части не станут меньше гранулы, части сортируются
+     * последовательно, а затем попарно сливаются через общий буфер размером (to - from).
+     * Слияние стабильно, поэтому в стабильном режиме результат совпадает с {@link #mergeSort}.
+     * Если диапазон короче {@link #PARALLEL_THRESHOLD} или в пуле один поток,
+     * выполняется обычная последовательная сортировка
+     *
+     * @param arr        сортируемый массив
+     * @param from       начало диапазона (включительно)
+     * @param to         конец диапазона (не включительно)
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     * @param stable     true - сохранять порядок равных элементов
+     * @param pool       пул, в котором выполняется сортировка
+     */
+    static <T> void parallelSort(Object[] arr, int from, int to, Comparator<? super T> comparator,
+                                 boolean stable, ForkJoinPool pool) {
+        int len = to - from;
+        int parallelism = pool.getParallelism();
+        if (len < PARALLEL_THRESHOLD || parallelism < 2) {
+            sort(arr, from, to, comparator, stable);
+            return;
+        }
+        int grain = Math.max(MIN_PARALLEL_GRAIN, len / (parallelism << 2));
+        Object[] buffer = new Object[len];
+        pool.invoke(new SortTask<>(arr, from, to, comparator, stable, grain, buffer, from));
+    }
+
+    /**
+     * Задача параллельной сортировки одного диапазона
+     *
+     * @param <T> тип сравниваемых элементов
+     */
+    private static final class SortTask<T> extends RecursiveAction {
+        private final Object[] arr;
+        private final int low;
+        private final int high;
+        private final Comparator<? super T> comparator;
+        private final boolean stable;
+        private final int grain;
+        /**
+         * Общий для всех задач буфер. Задача использует только свой участок буфера,
+         * поэтому соседние задачи не пересекаются
+         */
+        private final Object[] buffer;
+        /**
+         * Индекс массива, которому соответствует начало буфера
+         */
+        private final int base;
+
+        SortTask(Object[] arr, int low, int high, Comparator<? super T> comparator,
+                 boolean stable, int grain, Object[] buffer, int base) {
+            this.arr = arr;
+            this.low = low;
+            this.high = high;
+            this.comparator = comparator;
+            this.stable = stable;
+            this.grain = grain;
+            this.buffer = buffer;
+            this.base = base;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= grain) {
+                sort(arr, low, high, comparator, stable);
+                return;
+            }
+            int mid = (low + high) >>> 1;
+            invokeAll(new SortTask<>(arr, low, mid, comparator, stable, grain, buffer, base),
+                    new SortTask<>(arr, mid, high, comparator, stable, grain, buffer, base));
+            if (compare(comparator, arr[mid - 1], arr[mid]) > 0) {
+                mergeLogic(arr, low, mid, high, comparator, buffer, low - base);
+            }
+        }
+    }
+
+    /**
+     * Нестабильная интроспективная сортировка диапазона [from, to)
+     *
+     * @param arr        сортируемый массив
+     * @param from       начало диапазона (включительно)
+     * @param to         конец диапазона (не включительно)
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     */
+    static <T> void introSort(Object[] arr, int from, int to, Comparator<? super T> comparator) {
+        int len = to - from;
+        if (len < 2) {
+            return;
+        }
+        if (countRunAndMakeAscending(arr, from, to, comparator) == len) {
+            return;
+        }
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(len));
+        introSortLogic(arr, from, to, comparator, depthLimit);
+    }
+
+    /**
+     * Логика интроспективной сортировки. Рекурсия идет только в меньшую часть разбиения,
+     * большая обрабатывается в цикле, поэтому глубина стека не превышает log2(n)
+     *
+     * @param arr        сортируемый массив
+     * @param low        начало диапазона (включительно)
+     * @param high       конец диапазона (не включительно)
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     * @param depth      оставшийся запас глубины до перехода на пирамидальную сортировку
+     */
+    private static <T> void introSortLogic(Object[] arr, int low, int high,
+                                           Comparator<? super T> comparator, int depth) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(arr, low, high, comparator);
+                return;
+            }
+            depth -= 1;
+            int mid = low + ((high - low) >>> 1);
+            medianOfThree(arr, low, mid, high - 1, comparator);
+            Object pivot = arr[mid];
+            int lt = low;
+            int gt = high - 1;
+            int i = low;
+            while (i <= gt) {
+                int cmp = compare(comparator, arr[i], pivot);
+                if (cmp < 0) {
+                    swap(arr, lt++, i++);
+                } else if (cmp > 0) {
+                    swap(arr, i, gt--);
+                } else {
+                    i += 1;
+                }
+            }
+            if (lt - low < high - gt - 1) {
+                introSortLogic(arr, low, lt, comparator, depth);
+                low = gt + 1;
+            } else {
+                introSortLogic(arr, gt + 1, high, comparator, depth);
+                high = lt;
+            }
+        }
+        insertionSort(arr, low, high, comparator);
+    }
+
+    /**
+     * Упорядочивает элементы с индексами a, b и c так, что в b оказывается медиана трех
+     *
+     * @param arr        массив
+     * @param a          индекс первого элемента
+     * @param b          индекс среднего элемента
+     * @param c          индекс последнего элемента
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     */
+    private static <T> void medianOfThree(Object[] arr, int a, int b, int c, Comparator<? super T> comparator) {
+        if (compare(comparator, arr[b], arr[a]) < 0) {
+            swap(arr, a, b);
+        }
+        if (compare(comparator, arr[c], arr[b]) < 0) {
+            swap(arr, b, c);
+            if (compare(comparator, arr[b], arr[a]) < 0) {
+                swap(arr, a, b);
+            }
+        }
+    }
+
+    /**
+     * Сортировка вставками диапазона [from, to)
+     *
+     * @param arr        сортируемый массив
+     * @param from       начало диапазона (включительно)
+     * @param to         конец диапазона (не включительно)
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     */
+    static <T> void insertionSort(Object[] arr, int from, int to, Comparator<? super T> comparator) {
+        for (int i = from + 1; i < to; ++i) {
+            Object current = arr[i];
+            int j = i - 1;
+            while (j >= from && compare(comparator, current, arr[j]) < 0) {
+                arr[j + 1] = arr[j];
+                j -= 1;
+            }
+            arr[j + 1] = current;
+        }
+    }
+
+    /**
+     * Пирамидальная сортировка диапазона [from, to). Используется как запасной вариант,
+     * когда быстрая сортировка вырождается
+     *
+     * @param arr        сортируемый массив
+     * @param from       начало диапазона (включительно)
+     * @param to         конец диапазона (не включительно)
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     */
+    static <T> void heapSort(Object[] arr, int from, int to, Comparator<? super T> comparator) {
+        int len = to - from;
+        for (int i = (len >>> 1) - 1; i >= 0; --i) {
+            siftDown(arr, from, i, len, comparator);
+        }
+        for (int end = len - 1; end > 0; --end) {
+            swap(arr, from, from + end);
+            siftDown(arr, from, 0, end, comparator);
+        }
+    }
+
+    /**
+     * Просеивание элемента вниз по куче, которая начинается с индекса base
+     *
+     * @param arr        массив
+     * @param base       индекс корня кучи в массиве
+     * @param node       номер просеиваемого узла относительно base
+     * @param len        количество элементов в куче
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     */
+    private static <T> void siftDown(Object[] arr, int base, int node, int len, Comparator<? super T> comparator) {
+        Object value = arr[base + node];
+        int half = len >>> 1;
+        while (node < half) {
+            int child = 2 * node + 1;
+            int right = child + 1;
+            if (right < len && compare(comparator, arr[base + child], arr[base + right]) < 0) {
+                child = right;
+            }
+            if (compare(comparator, value, arr[base + child]) >= 0) {
+                break;
+            }
+            arr[base + node] = arr[base + child];
+            node = child;
+        }
+        arr[base + node] = value;
+    }
+
+    /**
+     * Стабильная сортировка слиянием естественных серий диапазона [from, to)
+     *
+     * @param arr        сортируемый массив
+     * @param from       начало диапазона (включительно)
+     * @param to         конец диапазона (не включительно)
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     */
+    static <T> void mergeSort(Object[] arr, int from, int to, Comparator<? super T> comparator) {
+        int len = to - from;
+        if (len < 2) {
+            return;
+        }
+        int[] bounds = new int[len / MIN_RUN + 2];
+        int runs = 0;
+        bounds[0] = from;
+        int low = from;
+        while (low < to) {
+            int runLen = countRunAndMakeAscending(arr, low, to, comparator);
+            if (runLen < MIN_RUN) {
+                int force = Math.min(MIN_RUN, to - low);
+                binaryInsertionSort(arr, low, low + force, low + runLen, comparator);
+                runLen = force;
+            }
+            low += runLen;
+            runs += 1;
+            bounds[runs] = low;
+        }
+        Object[] buffer = null;
+        while (runs > 1) {
+            int merged = 0;
+            for (int i = 0; i + 1 < runs; i += 2) {
+                buffer = merge(arr, bounds[i], bounds[i + 1], bounds[i + 2], comparator, buffer);
+                merged += 1;
+                bounds[merged] = bounds[i + 2];
+            }
+            if ((runs & 1) == 1) {
+                merged += 1;
+                bounds[merged] = bounds[runs];
+            }
+            runs = merged;
+        }
+    }
+
+    /**
+     * Стабильное слияние двух соседних упорядоченных участков [low, mid) и [mid, high).
+     * Левый участок копируется во временный буфер, который переиспользуется между слияниями
+     *
+     * @param arr        массив
+     * @param low        начало левого участка
+     * @param mid        начало правого участка
+     * @param high       конец правого участка (не включительно)
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     * @param buffer     временный буфер или null
+     * @return буфер, пригодный для следующих слияний
+     */
+    static <T> Object[] merge(Object[] arr, int low, int mid, int high,
+                              Comparator<? super T> comparator, Object[] buffer) {
+        if (mid == low || mid == high || compare(comparator, arr[mid - 1], arr[mid]) <= 0) {
+            return buffer;
+        }
+        int leftLen = mid - low;
+        if (buffer == null || buffer.length < leftLen) {
+            buffer = new Object[leftLen];
+        }
+        mergeLogic(arr, low, mid, high, comparator, buffer, 0);
+        Arrays.fill(buffer, 0, leftLen, null);
+        return buffer;
+    }
+
+    /**
+     * Логика слияния. Левый участок копируется в buffer начиная с offset,
+     * при равенстве элементов первым берется элемент левого участка
+     *
+     * @param arr        массив
+     * @param low        начало левого участка
+     * @param mid        начало правого участка
+     * @param high       конец правого участка (не включительно)
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     * @param buffer     временный буфер, вмещающий левый участок начиная с offset
+     * @param offset     позиция в буфере для левого участка
+     */
+    private static <T> void mergeLogic(Object[] arr, int low, int mid, int high,
+                                       Comparator<? super T> comparator, Object[] buffer, int offset) {
+        int leftEnd = offset + (mid - low);
+        System.arraycopy(arr, low, buffer, offset, mid - low);
+        int i = offset;
+        int j = mid;
+        int k = low;
+        while (i < leftEnd && j < high) {
+            if (compare(comparator, arr[j], buffer[i]) < 0) {
+                arr[k++] = arr[j++];
+            } else {
+                arr[k++] = buffer[i++];
+            }
+        }
+        if (i < leftEnd) {
+            System.arraycopy(buffer, i, arr, k, leftEnd - i);
+        }
+    }
+
+    /**
+     * Сортировка бинарными вставками диапазона [from, to), первые (start - from) элементов
+     * которого уже упорядочены. Равные элементы вставляются после существующих, поэтому
+     * сортировка стабильна
+     *
+     * @param arr        сортируемый массив
+     * @param from       начало диапазона (включительно)
+     * @param to         конец диапазона (не включительно)
+     * @param start      индекс первого неупорядоченного элемента
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     */
+    static <T> void binaryInsertionSort(Object[] arr, int from, int to, int start,
+                                        Comparator<? super T> comparator) {
+        if (start == from) {
+            start += 1;
+        }
+        for (; start < to; ++start) {
+            Object pivot = arr[start];
+            int left = from;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (compare(comparator, pivot, arr[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(arr, left, arr, left + 1, start - left);
+            arr[left] = pivot;
+        }
+    }
+
+    /**
+     * Находит длину серии, которая начинается с индекса from. Строго убывающая серия
+     * разворачивается на месте, чтобы стать возрастающей
+     *
+     * @param arr        массив
+     * @param from       начало серии
+     * @param to         конец диапазона (не включительно)
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     * @return длина найденной серии
+     */
+    static <T> int countRunAndMakeAscending(Object[] arr, int from, int to, Comparator<? super T> comparator) {
+        int runEnd = from + 1;
+        if (runEnd == to) {
+            return 1;
+        }
+        if (compare(comparator, arr[runEnd], arr[from]) < 0) {
+            runEnd += 1;
+            while (runEnd < to && compare(comparator, arr[runEnd], arr[runEnd - 1]) < 0) {
+                runEnd += 1;
+            }
+            reverse(arr, from, runEnd);
+        } else {
+            runEnd += 1;
+            while (runEnd < to && compare(comparator, arr[runEnd], arr[runEnd - 1]) >= 0) {
+                runEnd += 1;
+            }
+        }
+        return runEnd - from;
+    }
+
+    /**
+     * Разворачивает диапазон массива [from, to)
+     *
+     * @param arr  массив
+     * @param from начало диапазона (включительно)
+     * @param to   конец диапазона (не включительно)
+     */
+    static void reverse(Object[] arr, int from, int to) {
+        for (int i = from, j = to - 1; i < j; ++i, --j) {
+            swap(arr, i, j);
+        }
+    }
+
+    private static void swap(Object[] arr, int i, int j) {
+        Object temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> int compare(Comparator<? super T> comparator, Object x, Object y) {
+        return comparator.compare((T) x, (T) y);
+    }
+}
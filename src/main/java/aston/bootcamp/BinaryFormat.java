@@ -0,0 +1,213 @@
+package aston.bootcamp;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.CRC32C;
+
+/**
+ * <p>Двоичный формат выгрузки списков в каналы NIO. Общий для {@link ArrayList}
+ * и примитивных списков, поэтому файл, записанный IntArrayList, читается
+ * ArrayList с {@link FixedWidthCodec#INT} и наоборот.</p>
+ * <p>Формат (все числа little-endian):</p>
+ * <ul>
+ *     <li>заголовок: сигнатура (8 байт), версия (4), ширина записи (4), количество записей (8),
+ *     CRC32C первых 24 байт (4);</li>
+ *     <li>пакеты до заполнения количества записей: длина данных в байтах (4), данные,
+ *     CRC32C данных (4).</li>
+ * </ul>
+ * <p>Пакеты собираются в один прямой буфер на поток, который переиспользуется между вызовами,
+ * как и вычислитель контрольной суммы, поэтому выгрузка не выделяет память на каждый элемент
+ * или пакет.</p>
+ *
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+final class BinaryFormat {
+    /**
+     * Сигнатура потока
+     */
+    private static final long MAGIC = 0x4d594152524c5354L;
+    /**
+     * Версия формата
+     */
+    private static final int VERSION = 1;
+    /**
+     * Размер заголовка вместе с контрольной суммой
+     */
+    private static final int HEADER_BYTES = 28;
+    /**
+     * Размер буфера пакета в байтах
+     */
+    static final int BATCH_BYTES = 1 << 20;
+    /**
+     * Смещение данных в буфере пакета: перед ними лежит длина
+     */
+    static final int PAYLOAD_OFFSET = Integer.BYTES;
+    /**
+     * Буфер пакета, свой у каждого потока
+     */
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() ->
+            ByteBuffer.allocateDirect(BATCH_BYTES).order(ByteOrder.LITTLE_ENDIAN));
+    /**
+     * Вычислитель контрольной суммы, свой у каждого потока
+     */
+    private static final ThreadLocal<CRC32C> CRC = ThreadLocal.withInitial(CRC32C::new);
+
+    private BinaryFormat() {
+    }
+
+    /**
+     * Возвращает буфер пакета текущего потока
+     *
+     * @return очищенный прямой буфер размера BATCH_BYTES
+     */
+    static ByteBuffer buffer() {
+        return BUFFER.get().clear();
+    }
+
+    /**
+     * Количество записей, помещающихся в один пакет
+     *
+     * @param width ширина записи в байтах
+     * @return количество записей в пакете
+     * @throws IllegalArgumentException если запись не помещается в пакет
+     */
+    static int recordsPerBatch(int width) {
+        if (width <= 0 || width > BATCH_BYTES - PAYLOAD_OFFSET - Integer.BYTES) {
+            throw new IllegalArgumentException("Illegal element width: " + width);
+        }
+        return (BATCH_BYTES - PAYLOAD_OFFSET - Integer.BYTES) / width;
+    }
+
+    /**
+     * Записывает заголовок потока
+     *
+     * @param channel канал
+     * @param buffer  буфер пакета
+     * @param width   ширина записи
+     * @param count   количество записей
+     * @return количество записанных байт
+     * @throws IOException при ошибке ввода-вывода
+     */
+    static long writeHeader(WritableByteChannel channel, ByteBuffer buffer, int width, long count)
+            throws IOException {
+        buffer.clear();
+        buffer.putLong(MAGIC).putInt(VERSION).putInt(width).putLong(count);
+        buffer.putInt(checksum(buffer, 0, HEADER_BYTES - Integer.BYTES));
+        buffer.flip();
+        return writeFully(channel, buffer);
+    }
+
+    /**
+     * Читает и проверяет заголовок потока
+     *
+     * @param channel канал
+     * @param buffer  буфер пакета
+     * @param width   ожидаемая ширина записи
+     * @return количество записей
+     * @throws IOException              если поток поврежден или закончился раньше времени
+     * @throws IllegalArgumentException если ширина записи в потоке другая
+     */
+    static int readHeader(ReadableByteChannel channel, ByteBuffer buffer, int width) throws IOException {
+        buffer.clear().limit(HEADER_BYTES);
+        readFully(channel, buffer);
+        if (buffer.getLong(0) != MAGIC || buffer.getInt(8) != VERSION) {
+            throw new IOException("Not a list stream");
+        }
+        if (buffer.getInt(HEADER_BYTES - Integer.BYTES) != checksum(buffer, 0, HEADER_BYTES - Integer.BYTES)) {
+            throw new IOException("Header checksum mismatch");
+        }
+        int storedWidth = buffer.getInt(12);
+        if (storedWidth != width) {
+            throw new IllegalArgumentException("Record width " + storedWidth
+                    + " does not match codec width " + width);
+        }
+        long count = buffer.getLong(16);
+        if (count < 0 || count > Integer.MAX_VALUE - 8) {
+            throw new IOException("Illegal record count: " + count);
+        }
+        return (int) count;
+    }
+
+    /**
+     * Дописывает к данным пакета длину и контрольную сумму и записывает пакет в канал.
+     * Данные должны лежать в буфере начиная с PAYLOAD_OFFSET
+     *
+     * @param channel      канал
+     * @param buffer       буфер пакета
+     * @param payloadBytes длина данных
+     * @return количество записанных байт
+     * @throws IOException при ошибке ввода-вывода
+     */
+    static long writeBatch(WritableByteChannel channel, ByteBuffer buffer, int payloadBytes) throws IOException {
+        buffer.putInt(0, payloadBytes);
+        buffer.putInt(PAYLOAD_OFFSET + payloadBytes, checksum(buffer, PAYLOAD_OFFSET, payloadBytes));
+        buffer.position(0).limit(PAYLOAD_OFFSET + payloadBytes + Integer.BYTES);
+        return writeFully(channel, buffer);
+    }
+
+    /**
+     * Читает пакет и проверяет его контрольную сумму. Данные остаются в буфере
+     * начиная с PAYLOAD_OFFSET
+     *
+     * @param channel канал
+     * @param buffer  буфер пакета
+     * @param width   ширина записи
+     * @return количество записей в пакете
+     * @throws IOException если пакет поврежден или поток закончился раньше времени
+     */
+    static int readBatch(ReadableByteChannel channel, ByteBuffer buffer, int width) throws IOException {
+        buffer.clear().limit(PAYLOAD_OFFSET);
+        readFully(channel, buffer);
+        int payloadBytes = buffer.getInt(0);
+        if (payloadBytes <= 0 || payloadBytes > BATCH_BYTES - PAYLOAD_OFFSET - Integer.BYTES
+                || payloadBytes % width != 0) {
+            throw new IOException("Illegal batch length: " + payloadBytes);
+        }
+        buffer.limit(PAYLOAD_OFFSET + payloadBytes + Integer.BYTES);
+        readFully(channel, buffer);
+        if (buffer.getInt(PAYLOAD_OFFSET + payloadBytes) != checksum(buffer, PAYLOAD_OFFSET, payloadBytes)) {
+            throw new IOException("Batch checksum mismatch");
+        }
+        return payloadBytes / width;
+    }
+
+    /**
+     * CRC32C участка буфера без выделения памяти: участок задается позицией и границей
+     * самого буфера, которые затем восстанавливаются
+     *
+     * @param buffer буфер
+     * @param from   начало участка
+     * @param length длина участка
+     * @return контрольная сумма
+     */
+    private static int checksum(ByteBuffer buffer, int from, int length) {
+        CRC32C crc = CRC.get();
+        crc.reset();
+        int position = buffer.position();
+        int limit = buffer.limit();
+        crc.update(buffer.limit(from + length).position(from));
+        buffer.limit(limit).position(position);
+        return (int) crc.getValue();
+    }
+
+    private static long writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        long written = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return written;
+    }
+
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of list stream");
+            }
+        }
+    }
+}
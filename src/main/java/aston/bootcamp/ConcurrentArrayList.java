@@ -0,0 +1,332 @@
+package aston.bootcamp;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>Потокобезопасный список, оптимизированный для добавления в конец из многих потоков
+ * одновременно. Блокировок нет: поток резервирует позицию во внутреннем массиве операцией
+ * compare-and-set над счетчиком {@code reserved} и записывает туда элемент volatile-записью.
+ * Пока в массиве есть место, добавление не ждет других потоков.</p>
+ * <p>{@code size} - длина записанного префикса массива. После записи поток продвигает size
+ * через все подряд записанные позиции, начиная с текущего значения; это же делает любой другой
+ * добавляющий поток. Поток, зарезервировавший позицию и вытесненный до записи, задерживает
+ * только рост size, но не других производителей: их элементы станут видны, как только
+ * запишется его позиция. Все элементы с индексом меньше size записаны и видны любому потоку,
+ * а {@link #get(int)} читает их без блокировок. Значения null хранятся как внутренний
+ * маркер, поэтому пустая ячейка всегда означает незаписанную позицию.</p>
+ * <p>Когда массив заполнен, потоки, которым не хватило места, расширяют его совместно:
+ * первый поток устанавливает описатель расширения и только после этого создает новый массив
+ * в 1,5 раза больше, затем каждый ожидающий поток забирает очередной блок из
+ * {@link #TRANSFER_CHUNK} элементов и копирует его. Последний скопированный блок публикует
+ * новый массив. Копирование начинается, когда записаны все позиции старого массива, поэтому
+ * расширение, в отличие от обычного добавления, ждет потоки, зарезервировавшие позицию
+ * в старом массиве, но еще не записавшие элемент.</p>
+ * <p>Список поддерживает только добавление и чтение; удаление и замена элементов
+ * не предусмотрены.</p>
+ *
+ * @param <T> тип элементов в коллекции
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public class ConcurrentArrayList<T> {
+    /**
+     * Стандартный размер создаваемого массива
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+    /**
+     * Максимальный размер выделенной памяти для внутреннего массива.
+     * Не Integer.MAX_VALUE из-за ограничений виртуальной машины
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    /**
+     * Количество элементов, которое один поток копирует за раз при расширении массива
+     */
+    static final int TRANSFER_CHUNK = 1 << 12;
+    /**
+     * Количество активных ожиданий до того, как поток уступит процессор
+     */
+    private static final int SPINS_BEFORE_YIELD = 64;
+    /**
+     * Маркер, которым хранится null: пустая ячейка означает незаписанную позицию
+     */
+    private static final Object NULL_ELEMENT = new Object();
+    /**
+     * Volatile-доступ к ячейкам массива
+     */
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+    /**
+     * Внутренний массив, хранящий все элементы
+     */
+    private volatile Object[] array;
+    /**
+     * Количество зарезервированных позиций. Никогда не превышает array.length
+     */
+    private final AtomicInteger reserved = new AtomicInteger();
+    /**
+     * Длина записанного префикса массива. Все позиции меньше size записаны
+     */
+    private final AtomicInteger size = new AtomicInteger();
+    /**
+     * Текущее расширение массива или null
+     */
+    private final AtomicReference<Resize> resizing = new AtomicReference<>();
+
+    /**
+     * Стандартный конструктор, создающий внутренний массив на 10 элементов
+     */
+    public ConcurrentArrayList() {
+        array = new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Конструктор, задающий размер, указанный пользователем
+     *
+     * @param initialCapacity размер массива, который нужно создать
+     */
+    public ConcurrentArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        array = new Object[Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * Добавляет элемент в конец списка. Без блокировок и ожидания других потоков, если
+     * в массиве есть место; иначе поток участвует в расширении массива
+     *
+     * @param value элемент, который будет добавлен
+     * @return boolean-значение, отображающее успешность произведенной операции
+     */
+    public boolean add(T value) {
+        for (;;) {
+            Object[] arr = array;
+            int slot = reserved.get();
+            if (slot < arr.length) {
+                if (reserved.compareAndSet(slot, slot + 1)) {
+                    // Запись ячейки и последующее чтение size в advanceSize - пара store-load, как
+                    // в алгоритме Деккера. Release-запись не упорядочивает запись перед более
+                    // поздним чтением: два потока, записавшие соседние ячейки, могли бы оба не увидеть
+                    // чужую запись и остановить size, хотя следующая ячейка уже записана
+                    SLOTS.setVolatile(arr, slot, value == null ? NULL_ELEMENT : value);
+                    advanceSize(arr);
+                    return true;
+                }
+            } else {
+                helpResize(arr);
+            }
+        }
+    }
+
+    /**
+     * Продвигает size через записанные позиции массива arr, пока не встретит незаписанную.
+     * Не ждет: если следующая позиция еще пуста, ее продвинет записавший ее поток
+     *
+     * @param arr массив, в который поток записал элемент
+     */
+    private void advanceSize(Object[] arr) {
+        int current = size.get();
+        while (current < arr.length && SLOTS.getVolatile(arr, current) != null) {
+            if (size.compareAndSet(current, current + 1)) {
+                current += 1;
+            } else {
+                current = size.get();
+            }
+        }
+    }
+
+    /**
+     * Участие в расширении заполненного массива arr. Если расширение еще не начато,
+     * поток начинает его сам
+     *
+     * @param arr заполненный массив, который видел поток
+     */
+    private void helpResize(Object[] arr) {
+        Resize resize = resizing.get();
+        if (array != arr) {
+            return;
+        }
+        if (resize == null) {
+            if (arr.length == MAX_CAPACITY) {
+                throw new OutOfMemoryError("Required array length is too long");
+            }
+            resize = new Resize(arr);
+            if (!resizing.compareAndSet(null, resize)) {
+                return;
+            }
+            if (array != arr) {
+                resizing.compareAndSet(resize, null);
+                return;
+            }
+            resize.allocate();
+        } else if (resize.oldArray != arr) {
+            return;
+        }
+        resize.transfer();
+    }
+
+    /**
+     * Ожидание с уступкой процессора после SPINS_BEFORE_YIELD попыток
+     *
+     * @param spins количество уже выполненных попыток
+     * @return новое количество попыток
+     */
+    private static int spinWait(int spins) {
+        if (spins < SPINS_BEFORE_YIELD) {
+            Thread.onSpinWait();
+            return spins + 1;
+        }
+        Thread.yield();
+        return spins;
+    }
+
+    /**
+     * Возвращает элемент по индексу за константное время O(1) без блокировок
+     *
+     * @param index индекс, по которому мы хотим получить элемент
+     * @return элемент по индексу
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        int currentSize = size.get();
+        if (index < 0 || index >= currentSize) {
+            throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+        }
+        Object elem = array[index];
+        return elem == NULL_ELEMENT ? null : (T) elem;
+    }
+
+    /**
+     * Возвращает количество опубликованных элементов
+     *
+     * @return количество элементов в списке
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Проверяет пуст ли список
+     *
+     * @return true - если пуст, false - если есть элементы
+     */
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    /**
+     * Возвращает массив опубликованных на момент вызова элементов
+     *
+     * @return массив, основанный на элементах списка
+     */
+    public Object[] toArray() {
+        Object[] result = Arrays.copyOf(array, size.get());
+        for (int i = 0; i < result.length; ++i) {
+            if (result[i] == NULL_ELEMENT) {
+                result[i] = null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Одно расширение внутреннего массива. Описатель устанавливается до создания нового
+     * массива, поэтому массив создает только поток, выигравший установку, а не каждый поток,
+     * нашедший заполненный массив. Копирование делится на блоки, которые забирают потоки,
+     * ожидающие свободного места
+     */
+    private final class Resize {
+        /**
+         * Заполненный массив
+         */
+        private final Object[] oldArray;
+        /**
+         * Новый массив или null, пока его не создал установивший описатель поток
+         */
+        private volatile Object[] newArray;
+        /**
+         * Не удалось создать новый массив: ожидающие потоки выходят и пробуют снова
+         */
+        private volatile boolean failed;
+        /**
+         * Количество блоков копирования
+         */
+        private final int chunks;
+        /**
+         * Номер следующего свободного блока
+         */
+        private final AtomicInteger nextChunk = new AtomicInteger();
+        /**
+         * Количество скопированных блоков
+         */
+        private final AtomicInteger doneChunks = new AtomicInteger();
+
+        Resize(Object[] oldArray) {
+            this.oldArray = oldArray;
+            this.chunks = (oldArray.length + TRANSFER_CHUNK - 1) / TRANSFER_CHUNK;
+        }
+
+        /**
+         * Создает новый массив. Вызывается один раз потоком, установившим описатель.
+         * Если создать массив не удалось (например, OutOfMemoryError), описатель снимается,
+         * ожидающие потоки отпускаются, а ошибка пробрасывается вызывающему
+         */
+        void allocate() {
+            int capacity = oldArray.length;
+            int arrLen = capacity + (capacity / 2) + 1;
+            try {
+                newArray = new Object[arrLen > 0 && arrLen <= MAX_CAPACITY ? arrLen : MAX_CAPACITY];
+            } catch (Throwable e) {
+                failed = true;
+                resizing.compareAndSet(this, null);
+                throw e;
+            }
+        }
+
+        /**
+         * Ждет, пока будет создан новый массив и записаны все зарезервированные позиции
+         * старого, затем копирует свободные блоки. Поток, скопировавший последний блок,
+         * публикует новый массив. Метод возвращается, когда новый массив опубликован
+         * или его не удалось создать
+         */
+        void transfer() {
+            int spins = 0;
+            Object[] target;
+            while ((target = newArray) == null) {
+                if (failed) {
+                    return;
+                }
+                spins = spinWait(spins);
+            }
+            spins = 0;
+            while (size.get() < oldArray.length) {
+                advanceSize(oldArray);
+                spins = spinWait(spins);
+            }
+            int chunk;
+            while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                int from = chunk * TRANSFER_CHUNK;
+                System.arraycopy(oldArray, from, target, from, Math.min(TRANSFER_CHUNK, oldArray.length - from));
+                if (doneChunks.incrementAndGet() == chunks) {
+                    array = target;
+                    resizing.set(null);
+                }
+            }
+            spins = 0;
+            while (array == oldArray) {
+                spins = spinWait(spins);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentArrayList{" +
+                "array=" + Arrays.toString(toArray()) +
+                '}';
+    }
+}
@@ -0,0 +1,473 @@
+package aston.bootcamp;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Потокобезопасный список с копированием при записи для данных, которые читаются намного
+ * чаще, чем изменяются. Элементы хранятся в массиве Object[], как в {@link ArrayList}.
+ * Текущее состояние - неизменяемый {@link Snapshot}, на который указывает volatile-поле.</p>
+ * <p>Читатели не берут блокировок и ничего не копируют: {@link #snapshot()} возвращает текущий
+ * снимок, который никогда не изменится, поэтому несколько чтений из одного снимка согласованы
+ * между собой.</p>
+ * <p>Писатели работают под одной блокировкой: строят новый массив один раз и атомарно
+ * публикуют новый снимок. Каждая одиночная операция (add, set, remove) копирует массив,
+ * поэтому для нескольких изменений подряд стоит использовать пакетные методы
+ * {@link #addAll(Collection)}, {@link #removeAll(Collection)}, {@link #sort(Comparator)}
+ * или {@link #update(Consumer)} - они копируют массив один раз на весь пакет.</p>
+ *
+ * @param <T> тип элементов в коллекции
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public class CopyOnWriteArrayList<T> {
+    /**
+     * Пустой массив, необходимый для инициализации пустого списка
+     */
+    private static final Object[] EMPTY_ARRAY = {};
+    /**
+     * Блокировка писателей
+     */
+    private final Object lock = new Object();
+    /**
+     * Текущий снимок
+     */
+    private volatile Snapshot<T> current;
+
+    /**
+     * Стандартный конструктор, создающий пустой список
+     */
+    public CopyOnWriteArrayList() {
+        current = new Snapshot<>(EMPTY_ARRAY, 0);
+    }
+
+    /**
+     * Конструктор, создающий список на основе коллекции
+     *
+     * @param target коллекция, откуда будут взяты элементы
+     */
+    public CopyOnWriteArrayList(Collection<? extends T> target) {
+        Object[] targetArr = Arrays.copyOf(target.toArray(), target.size(), Object[].class);
+        current = new Snapshot<>(targetArr, targetArr.length);
+    }
+
+    /**
+     * Возвращает текущий неизменяемый снимок списка без копирования
+     *
+     * @return текущий снимок
+     */
+    public Snapshot<T> snapshot() {
+        return current;
+    }
+
+    /**
+     * Возвращает элемент по индексу из текущего снимка
+     *
+     * @param index индекс, по которому мы хотим получить элемент
+     * @return элемент по индексу
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    public T get(int index) {
+        return current.get(index);
+    }
+
+    /**
+     * Возвращает количество элементов в текущем снимке
+     *
+     * @return количество элементов
+     */
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * Проверяет пуст ли текущий снимок
+     *
+     * @return true - если пуст, false - если есть элементы
+     */
+    public boolean isEmpty() {
+        return current.isEmpty();
+    }
+
+    /**
+     * Возвращает индекс первого вхождения элемента в текущем снимке или -1
+     *
+     * @param value искомый элемент
+     * @return индекс первого вхождения элемента или -1
+     */
+    public int indexOf(Object value) {
+        return current.indexOf(value);
+    }
+
+    /**
+     * Проверяет содержится ли элемент в текущем снимке
+     *
+     * @param value искомый элемент
+     * @return true - если элемент есть, false - если нет
+     */
+    public boolean contains(Object value) {
+        return current.contains(value);
+    }
+
+    /**
+     * Возвращает последовательный Stream по текущему снимку
+     *
+     * @return последовательный Stream
+     */
+    public Stream<T> stream() {
+        return current.stream();
+    }
+
+    /**
+     * Добавляет элемент в конец списка. Копирует массив
+     *
+     * @param value элемент, который будет добавлен
+     * @return boolean-значение, отображающее успешность произведенной операции
+     */
+    public boolean add(T value) {
+        synchronized (lock) {
+            Snapshot<T> snap = current;
+            Object[] newArr = Arrays.copyOf(snap.array, snap.size + 1);
+            newArr[snap.size] = value;
+            current = new Snapshot<>(newArr, newArr.length);
+            return true;
+        }
+    }
+
+    /**
+     * Вставляет элемент по индексу. Копирует массив
+     *
+     * @param index индекс, куда нужно вставить элемент
+     * @param value элемент, который будет добавлен
+     * @throws IndexOutOfBoundsException index < 0 || index > size
+     */
+    public void add(int index, T value) {
+        synchronized (lock) {
+            Snapshot<T> snap = current;
+            if (index < 0 || index > snap.size) {
+                throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+            }
+            Object[] newArr = new Object[snap.size + 1];
+            System.arraycopy(snap.array, 0, newArr, 0, index);
+            newArr[index] = value;
+            System.arraycopy(snap.array, index, newArr, index + 1, snap.size - index);
+            current = new Snapshot<>(newArr, newArr.length);
+        }
+    }
+
+    /**
+     * Замена элемента по индексу. Копирует массив
+     *
+     * @param index индекс, по которому необходимо заменить элемент
+     * @param value новый элемент
+     * @return замененный элемент
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    public T set(int index, T value) {
+        synchronized (lock) {
+            Snapshot<T> snap = current;
+            T prevElem = snap.get(index);
+            Object[] newArr = Arrays.copyOf(snap.array, snap.size);
+            newArr[index] = value;
+            current = new Snapshot<>(newArr, newArr.length);
+            return prevElem;
+        }
+    }
+
+    /**
+     * Удаляет элемент по индексу. Копирует массив
+     *
+     * @param index индекс по которому нужно удалить элемент
+     * @return удаленный элемент
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    public T remove(int index) {
+        synchronized (lock) {
+            Snapshot<T> snap = current;
+            T remElement = snap.get(index);
+            current = removeLogic(snap, index);
+            return remElement;
+        }
+    }
+
+    /**
+     * Удаляет первое вхождение объекта. Копирует массив, только если объект найден
+     *
+     * @param remObj объект, который необходимо удалить
+     * @return успешность проведенного удаления
+     */
+    public boolean remove(Object remObj) {
+        synchronized (lock) {
+            Snapshot<T> snap = current;
+            int index = snap.indexOf(remObj);
+            if (index == -1) {
+                return false;
+            }
+            current = removeLogic(snap, index);
+            return true;
+        }
+    }
+
+    /**
+     * Логика удаления: новый массив без элемента с указанным индексом
+     *
+     * @param snap  снимок, из которого удаляется элемент
+     * @param index индекс удаляемого элемента
+     * @return новый снимок
+     */
+    private Snapshot<T> removeLogic(Snapshot<T> snap, int index) {
+        Object[] newArr = new Object[snap.size - 1];
+        System.arraycopy(snap.array, 0, newArr, 0, index);
+        System.arraycopy(snap.array, index + 1, newArr, index, snap.size - index - 1);
+        return new Snapshot<>(newArr, newArr.length);
+    }
+
+    /**
+     * Очистка списка
+     */
+    public void clear() {
+        synchronized (lock) {
+            current = new Snapshot<>(EMPTY_ARRAY, 0);
+        }
+    }
+
+    /**
+     * Добавляет все элементы коллекции одним копированием массива
+     *
+     * @param copyCol коллекция, элементы которой нужно добавить
+     * @return true - если список изменился, false - если нет
+     */
+    public boolean addAll(Collection<? extends T> copyCol) {
+        Object[] copyArr = copyCol.toArray();
+        if (copyArr.length == 0) {
+            return false;
+        }
+        synchronized (lock) {
+            Snapshot<T> snap = current;
+            Object[] newArr = Arrays.copyOf(snap.array, snap.size + copyArr.length);
+            System.arraycopy(copyArr, 0, newArr, snap.size, copyArr.length);
+            current = new Snapshot<>(newArr, newArr.length);
+            return true;
+        }
+    }
+
+    /**
+     * Удаляет все элементы переданной коллекции за один проход
+     *
+     * @param elems коллекция, указывающая, какие элементы надо удалить
+     * @return false - если список не изменился, true - если произошло удаление
+     */
+    public boolean removeAll(Collection<?> elems) {
+        Predicate<Object> match = ArrayList.membership(elems);
+        return filterLogic(x -> !match.test(x));
+    }
+
+    /**
+     * Оставляет только элементы, которые есть в переданной коллекции
+     *
+     * @param elems коллекция элементов, которые нужно сохранить
+     * @return false - если список не изменился, true - если произошло удаление
+     */
+    public boolean retainAll(Collection<?> elems) {
+        return filterLogic(ArrayList.membership(elems));
+    }
+
+    /**
+     * Удаляет все элементы, удовлетворяющие условию, за один проход
+     *
+     * @param filter условие, при котором элемент нужно удалить
+     * @return false - если список не изменился, true - если произошло удаление
+     */
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super T> filter) {
+        return filterLogic(x -> !filter.test((T) x));
+    }
+
+    /**
+     * Логика пакетного удаления: сохраняемые элементы собираются в новый массив
+     * за один проход. Если ничего не удалено, снимок не меняется
+     *
+     * @param keep условие, при котором элемент остается в списке
+     * @return false - если список не изменился, true - если произошло удаление
+     */
+    private boolean filterLogic(Predicate<Object> keep) {
+        synchronized (lock) {
+            Snapshot<T> snap = current;
+            Object[] newArr = new Object[snap.size];
+            int newSize = 0;
+            for (int i = 0; i < snap.size; ++i) {
+                Object elem = snap.array[i];
+                if (keep.test(elem)) {
+                    newArr[newSize++] = elem;
+                }
+            }
+            if (newSize == snap.size) {
+                return false;
+            }
+            current = new Snapshot<>(Arrays.copyOf(newArr, newSize), newSize);
+            return true;
+        }
+    }
+
+    /**
+     * Сортировка копии массива с одной публикацией результата.
+     * Порядок равных элементов не сохраняется
+     *
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     */
+    public void sort(Comparator<? super T> comparator) {
+        sort(comparator, false);
+    }
+
+    /**
+     * Сортировка копии массива с одной публикацией результата
+     *
+     * @param comparator компаратор, согласно которому сравниваются объекты
+     * @param stable     true - сохранять порядок равных элементов
+     */
+    public void sort(Comparator<? super T> comparator, boolean stable) {
+        synchronized (lock) {
+            Snapshot<T> snap = current;
+            Object[] newArr = Arrays.copyOf(snap.array, snap.size);
+            ArraySorter.sort(newArr, 0, newArr.length, comparator, stable);
+            current = new Snapshot<>(newArr, newArr.length);
+        }
+    }
+
+    /**
+     * Пакетное изменение. Переданное действие получает ArrayList с копией текущих элементов
+     * и может вызывать любые его методы; результат публикуется одним снимком после
+     * завершения действия. Массив копируется один раз на весь пакет. Если действие
+     * выбросит исключение, снимок не меняется. Действие не должно сохранять ссылку
+     * на переданный ArrayList
+     *
+     * @param batch действие над копией списка
+     */
+    public void update(Consumer<? super ArrayList<T>> batch) {
+        synchronized (lock) {
+            Snapshot<T> snap = current;
+            ArrayList<T> work = new ArrayList<>(Arrays.copyOf(snap.array, snap.size), snap.size);
+            batch.accept(work);
+            current = new Snapshot<>(work.backingArray(), work.size());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CopyOnWriteArrayList{" +
+                "array=" + Arrays.toString(current.toArray()) +
+                '}';
+    }
+
+    /**
+     * <p>Неизменяемый снимок списка. Никогда не меняется после публикации, поэтому
+     * его можно читать из любого количества потоков без блокировок.</p>
+     *
+     * @param <T> тип элементов
+     */
+    public static final class Snapshot<T> implements Iterable<T> {
+        /**
+         * Массив элементов. Не изменяется после создания снимка
+         */
+        private final Object[] array;
+        /**
+         * Количество элементов с начала массива
+         */
+        private final int size;
+
+        Snapshot(Object[] array, int size) {
+            this.array = array;
+            this.size = size;
+        }
+
+        /**
+         * Возвращает элемент по индексу
+         *
+         * @param index индекс, по которому мы хотим получить элемент
+         * @return элемент по индексу
+         * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+         */
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+            }
+            return (T) array[index];
+        }
+
+        /**
+         * Возвращает количество элементов в снимке
+         *
+         * @return количество элементов
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Проверяет пуст ли снимок
+         *
+         * @return true - если пуст, false - если есть элементы
+         */
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Возвращает индекс первого вхождения элемента или -1
+         *
+         * @param value искомый элемент
+         * @return индекс первого вхождения элемента или -1
+         */
+        public int indexOf(Object value) {
+            for (int i = 0; i < size; ++i) {
+                if (Objects.equals(value, array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Проверяет содержится ли элемент в снимке
+         *
+         * @param value искомый элемент
+         * @return true - если элемент есть, false - если нет
+         */
+        public boolean contains(Object value) {
+            return indexOf(value) != -1;
+        }
+
+        /**
+         * Превращает снимок в массив
+         *
+         * @return копия элементов снимка
+         */
+        public Object[] toArray() {
+            return Arrays.copyOf(array, size);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterator<T> iterator() {
+            return (Iterator<T>) Arrays.asList(array).subList(0, size).iterator();
+        }
+
+        @Override
+        public Spliterator<T> spliterator() {
+            return Spliterators.spliterator(array, 0, size, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+        }
+
+        /**
+         * Возвращает последовательный Stream по элементам снимка
+         *
+         * @return последовательный Stream
+         */
+        public Stream<T> stream() {
+            return StreamSupport.stream(spliterator(), false);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package aston.bootcamp;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+
+/**
+ * <p>Явное освобождение памяти прямых (direct) и отображенных в память буферов.
+ * Без этого память буфера освобождается только после того, как сборщик мусора
+ * соберет сам объект ByteBuffer, а это может произойти намного позже.</p>
+ * <p>Используется sun.misc.Unsafe.invokeCleaner из модуля jdk.unsupported. Метод ищется
+ * через отражение, поэтому код компилируется без обращений к внутреннему API. Если метод
+ * недоступен, освобождение остается за сборщиком мусора.</p>
+ *
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+final class DirectMemory {
+    /**
+     * Метод invokeCleaner(ByteBuffer), привязанный к экземпляру sun.misc.Unsafe,
+     * или null, если он недоступен
+     */
+    private static final MethodHandle INVOKE_CLEANER = loadCleaner();
+
+    private DirectMemory() {
+    }
+
+    private static MethodHandle loadCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Освобождает память прямого буфера. После вызова буфер и все его срезы
+     * использовать нельзя
+     *
+     * @param buffer прямой буфер, созданный allocateDirect или FileChannel.map
+     */
+    static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER != null && buffer != null && buffer.isDirect()) {
+            try {
+                INVOKE_CLEANER.invokeExact(buffer);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to free direct buffer", e);
+            }
+        }
+    }
+}
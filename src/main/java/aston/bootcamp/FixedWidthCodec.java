@@ -0,0 +1,99 @@
+package aston.bootcamp;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>Кодек элементов фиксированной ширины для списков, которые хранят элементы в байтовых
+ * буферах вне кучи. Каждый элемент занимает ровно {@link #width()} байт и читается
+ * и записывается абсолютными методами ByteBuffer по смещению, не меняя позицию буфера.</p>
+ * <p>Кодек должен быть каноническим: равные элементы должны давать одинаковые байты,
+ * потому что списки сравнивают элементы по их закодированному виду.</p>
+ *
+ * @param <T> тип элементов
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public interface FixedWidthCodec<T> {
+    /**
+     * Кодек для Integer, 4 байта
+     */
+    FixedWidthCodec<Integer> INT = new FixedWidthCodec<>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer value, ByteBuffer buffer, int offset) {
+            buffer.putInt(offset, value);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+    /**
+     * Кодек для Long, 8 байт
+     */
+    FixedWidthCodec<Long> LONG = new FixedWidthCodec<>() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long value, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, value);
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+    /**
+     * Кодек для Double, 8 байт. Все NaN записываются в каноническом виде
+     */
+    FixedWidthCodec<Double> DOUBLE = new FixedWidthCodec<>() {
+        @Override
+        public int width() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void encode(Double value, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, Double.doubleToLongBits(value));
+        }
+
+        @Override
+        public Double decode(ByteBuffer buffer, int offset) {
+            return Double.longBitsToDouble(buffer.getLong(offset));
+        }
+    };
+
+    /**
+     * Возвращает размер одного элемента в байтах
+     *
+     * @return размер элемента в байтах, больше 0
+     */
+    int width();
+
+    /**
+     * Записывает элемент в буфер начиная с offset
+     *
+     * @param value  элемент
+     * @param buffer буфер
+     * @param offset смещение в байтах
+     */
+    void encode(T value, ByteBuffer buffer, int offset);
+
+    /**
+     * Читает элемент из буфера начиная с offset
+     *
+     * @param buffer буфер
+     * @param offset смещение в байтах
+     * @return прочитанный элемент
+     */
+    T decode(ByteBuffer buffer, int offset);
+}
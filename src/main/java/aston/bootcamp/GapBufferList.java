@@ -0,0 +1,484 @@
+package aston.bootcamp;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * <p>Список на основе gap buffer - массива со свободным промежутком (gap) внутри.
+ * Промежуток стоит там, где последний раз вставляли или удаляли элементы, поэтому
+ * серия вставок и удалений в одном месте выполняется за амортизированное O(1):
+ * элементы сдвигаются только при переносе промежутка на новое место, и сдвигается
+ * лишь участок между старым и новым положением.</p>
+ * <p>Такой список подходит для задач в духе текстового редактора, где элементы вставляются
+ * через курсор {@link #listIterator()}. В {@link ArrayList} каждая такая вставка сдвигает
+ * весь хвост массива, и k вставок стоят O(k·n).</p>
+ * <p>Методы {@code get}, {@code set}, {@code size} и {@code isEmpty} выполняются за O(1).
+ * Вставка и удаление стоят O(1) в месте промежутка и O(d) на расстоянии d от него.</p>
+ * <p>Обратите внимание на то, что класс не потокобезопасен и не подходит
+ * для работы в конкурентной среде.</p>
+ *
+ * @param <T> тип элементов в коллекции
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public class GapBufferList<T> {
+    /**
+     * Стандартный размер создаваемого массива
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+    /**
+     * Максимальный размер выделенной памяти для внутреннего массива.
+     * Не Integer.MAX_VALUE из-за ограничений виртуальной машины
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    /**
+     * Внутренний массив: элементы [0, gapStart) и [gapEnd, length), между ними промежуток
+     */
+    private Object[] array;
+    /**
+     * Начало промежутка, совпадает с логическим индексом первого элемента после него
+     */
+    private int gapStart;
+    /**
+     * Конец промежутка (не включительно)
+     */
+    private int gapEnd;
+
+    /**
+     * Стандартный конструктор, создающий внутренний массив на 10 элементов
+     */
+    public GapBufferList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Конструктор, задающий размер, указанный пользователем
+     *
+     * @param initialCapacity размер массива, который нужно создать
+     */
+    public GapBufferList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        array = new Object[initialCapacity];
+        gapEnd = initialCapacity;
+    }
+
+    /**
+     * Конструктор, создающий список на основе коллекции. Промежуток ставится в конец
+     *
+     * @param target коллекция, откуда будут взяты элементы
+     */
+    public GapBufferList(Collection<? extends T> target) {
+        Object[] targetArr = target.toArray();
+        array = Arrays.copyOf(targetArr, Math.max(targetArr.length, DEFAULT_CAPACITY), Object[].class);
+        gapStart = targetArr.length;
+        gapEnd = array.length;
+    }
+
+    /**
+     * Длина промежутка
+     *
+     * @return количество свободных ячеек
+     */
+    private int gapLength() {
+        return gapEnd - gapStart;
+    }
+
+    /**
+     * Переводит логический индекс в позицию во внутреннем массиве
+     *
+     * @param index логический индекс
+     * @return позиция в массиве
+     */
+    private int physical(int index) {
+        return index < gapStart ? index : index + gapLength();
+    }
+
+    /**
+     * Переносит промежуток так, чтобы он начинался с логического индекса index.
+     * Сдвигаются только элементы между старым и новым положением промежутка
+     *
+     * @param index новое начало промежутка
+     */
+    private void moveGap(int index) {
+        if (index == gapStart) {
+            return;
+        }
+        int gapLen = gapLength();
+        if (index < gapStart) {
+            int count = gapStart - index;
+            System.arraycopy(array, index, array, gapEnd - count, count);
+            Arrays.fill(array, index, Math.min(gapStart, index + gapLen), null);
+        } else {
+            int count = index - gapStart;
+            System.arraycopy(array, gapEnd, array, gapStart, count);
+            Arrays.fill(array, Math.max(gapEnd, gapStart + count), gapEnd + count, null);
+        }
+        gapStart = index;
+        gapEnd = index + gapLen;
+    }
+
+    /**
+     * Расширяет внутренний массив в 1,5 раза. Новое свободное место добавляется к промежутку
+     */
+    private void grow() {
+        int capacity = array.length;
+        int arrLen = capacity + (capacity / 2) + 1;
+        if (capacity == MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required array length is too long");
+        }
+        if (arrLen < 0 || arrLen > MAX_CAPACITY) {
+            arrLen = MAX_CAPACITY;
+        }
+        arrLen = Math.max(arrLen, DEFAULT_CAPACITY);
+        Object[] newArray = new Object[arrLen];
+        int tail = capacity - gapEnd;
+        System.arraycopy(array, 0, newArray, 0, gapStart);
+        System.arraycopy(array, gapEnd, newArray, arrLen - tail, tail);
+        array = newArray;
+        gapEnd = arrLen - tail;
+    }
+
+    /**
+     * Проверка индекса по границам списка (для добавления элементов)
+     *
+     * @param index проверяемый индекс
+     * @throws IndexOutOfBoundsException если проверка не пройдена
+     */
+    private void checkAddBounds(int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+        }
+    }
+
+    /**
+     * Проверка индекса по границам списка (для удаления и изменения элементов)
+     *
+     * @param index проверяемый индекс
+     * @throws IndexOutOfBoundsException если проверка не пройдена
+     */
+    private void checkRmBounds(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+        }
+    }
+
+    /**
+     * Добавляет элемент в конец списка. Промежуток переносится в конец
+     *
+     * @param value элемент, который будет добавлен
+     * @return boolean-значение, отображающее успешность произведенной операции
+     */
+    public boolean add(T value) {
+        add(size(), value);
+        return true;
+    }
+
+    /**
+     * Вставляет элемент по индексу. O(1), если индекс совпадает с началом промежутка,
+     * иначе O(d), где d - расстояние до промежутка
+     *
+     * @param index индекс, куда нужно вставить элемент
+     * @param value элемент, который будет добавлен
+     * @throws IndexOutOfBoundsException index < 0 || index > size
+     */
+    public void add(int index, T value) {
+        checkAddBounds(index);
+        moveGap(index);
+        if (gapStart == gapEnd) {
+            grow();
+        }
+        array[gapStart] = value;
+        gapStart += 1;
+    }
+
+    /**
+     * Возвращает элемент по индексу за константное время O(1)
+     *
+     * @param index индекс, по которому мы хотим получить элемент
+     * @return элемент по индексу
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkRmBounds(index);
+        return (T) array[physical(index)];
+    }
+
+    /**
+     * Замена элемента по индексу за O(1)
+     *
+     * @param index индекс, по которому необходимо заменить элемент
+     * @param value новый элемент
+     * @return замененный элемент
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    @SuppressWarnings("unchecked")
+    public T set(int index, T value) {
+        checkRmBounds(index);
+        int pos = physical(index);
+        T prevElem = (T) array[pos];
+        array[pos] = value;
+        return prevElem;
+    }
+
+    /**
+     * Удаляет элемент по индексу. Элемент прямо перед промежутком или прямо после него
+     * удаляется за O(1) расширением промежутка
+     *
+     * @param index индекс по которому нужно удалить элемент
+     * @return удаленный элемент
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        checkRmBounds(index);
+        T remElement;
+        if (index == gapStart - 1) {
+            gapStart -= 1;
+            remElement = (T) array[gapStart];
+            array[gapStart] = null;
+        } else {
+            moveGap(index);
+            remElement = (T) array[gapEnd];
+            array[gapEnd] = null;
+            gapEnd += 1;
+        }
+        return remElement;
+    }
+
+    /**
+     * Удаление элемента по передаваемому объекту. Выполняется за O(n)
+     *
+     * @param remObj объект, который необходимо удалить
+     * @return успешность проведенного удаления
+     */
+    public boolean remove(Object remObj) {
+        int index = indexOf(remObj);
+        if (index == -1) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Возвращает индекс первого вхождения элемента или -1
+     *
+     * @param value искомый элемент
+     * @return индекс первого вхождения элемента или -1
+     */
+    public int indexOf(Object value) {
+        for (int i = 0; i < gapStart; ++i) {
+            if (Objects.equals(value, array[i])) {
+                return i;
+            }
+        }
+        for (int i = gapEnd; i < array.length; ++i) {
+            if (Objects.equals(value, array[i])) {
+                return i - gapLength();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Проверяет содержится ли элемент в списке
+     *
+     * @param value искомый элемент
+     * @return true - если элемент есть в списке, false - если нет
+     */
+    public boolean contains(Object value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Очистка списка: весь массив становится промежутком
+     */
+    public void clear() {
+        Arrays.fill(array, null);
+        gapStart = 0;
+        gapEnd = array.length;
+    }
+
+    /**
+     * Возвращает количество элементов в списке
+     *
+     * @return количество элементов в списке
+     */
+    public int size() {
+        return array.length - gapLength();
+    }
+
+    /**
+     * Проверяет пуст ли список
+     *
+     * @return true - если пуст, false - если есть элементы
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Возвращает массив элементов списка по порядку
+     *
+     * @return массив, основанный на элементах списка
+     */
+    public Object[] toArray() {
+        Object[] result = new Object[size()];
+        System.arraycopy(array, 0, result, 0, gapStart);
+        System.arraycopy(array, gapEnd, result, gapStart, array.length - gapEnd);
+        return result;
+    }
+
+    /**
+     * Возвращает ListIterator, установленный на элемент по индексу
+     *
+     * @param index индекс первого элемента, который вернет next()
+     * @return объект ListIterator
+     * @throws IndexOutOfBoundsException если (index < 0 || index > size)
+     */
+    public ListIterator<T> listIterator(int index) {
+        checkAddBounds(index);
+        return new ListIter(index);
+    }
+
+    /**
+     * Возвращает ListIterator, установленный на начало списка
+     *
+     * @return объект ListIterator
+     */
+    public ListIterator<T> listIterator() {
+        return new ListIter(0);
+    }
+
+    /**
+     * Итератор-курсор. add и remove работают рядом с курсором, поэтому промежуток
+     * следует за курсором и серия правок стоит O(1) на операцию
+     */
+    private class ListIter implements ListIterator<T> {
+        /**
+         * Указатель на элемент, который вернет next()
+         */
+        private int pointer;
+        /**
+         * Индекс элемента, возвращенного последним вызовом next() или previous()
+         */
+        private int last = -1;
+
+        /**
+         * Конструктор, показывающий, на какой элемент ставить указатель
+         *
+         * @param index номер элемента
+         */
+        ListIter(int index) {
+            pointer = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pointer < size();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (pointer >= size()) {
+                throw new NoSuchElementException();
+            }
+            last = pointer;
+            pointer += 1;
+            return (T) array[physical(last)];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return pointer > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T previous() {
+            if (pointer <= 0) {
+                throw new NoSuchElementException();
+            }
+            pointer -= 1;
+            last = pointer;
+            return (T) array[physical(last)];
+        }
+
+        @Override
+        public int nextIndex() {
+            return pointer;
+        }
+
+        @Override
+        public int previousIndex() {
+            return pointer - 1;
+        }
+
+        /**
+         * Удаляет элемент, возвращенный последним вызовом next() или previous()
+         *
+         * @throws IllegalStateException если удалять нечего
+         */
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            GapBufferList.this.remove(last);
+            pointer = last;
+            last = -1;
+        }
+
+        /**
+         * Заменяет элемент, возвращенный последним вызовом next() или previous()
+         *
+         * @param t элемент, на который нужно заменить
+         * @throws IllegalStateException если заменять нечего
+         */
+        @Override
+        public void set(T t) {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            GapBufferList.this.set(last, t);
+        }
+
+        /**
+         * Вставляет элемент перед курсором. Промежуток переносится к курсору
+         * только при первой вставке, следующие вставки не сдвигают элементы
+         *
+         * @param t элемент для вставки
+         */
+        @Override
+        public void add(T t) {
+            GapBufferList.this.add(pointer, t);
+            pointer += 1;
+            last = -1;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (pointer < size()) {
+                last = pointer;
+                pointer += 1;
+                action.accept((T) array[physical(last)]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GapBufferList{" +
+                "array=" + Arrays.toString(toArray()) +
+                '}';
+    }
+}
@@ -0,0 +1,93 @@
+package aston.bootcamp;
+
+/**
+ * <p>Стратегия расширения внутреннего массива {@link ArrayList}. Получает текущую вместимость
+ * и минимально необходимую и возвращает новую вместимость. Список сам гарантирует, что
+ * результат не меньше необходимого и не больше максимального размера массива, поэтому
+ * стратегии не обязаны проверять границы.</p>
+ * <p>Готовые стратегии:</p>
+ * <ul>
+ *     <li>{@link #DEFAULT} - рост в 1,5 раза, как раньше;</li>
+ *     <li>{@link #factor(double)} - рост в заданное число раз, например 2 для пакетной
+ *     загрузки или 1,25 для экономии памяти;</li>
+ *     <li>{@link #additive(int)} - рост на фиксированное количество элементов;</li>
+ *     <li>{@link #exactFit()} - ровно под необходимое количество элементов;</li>
+ *     <li>{@link #powerOfTwo()} - до ближайшей степени двойки.</li>
+ * </ul>
+ *
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+    /**
+     * Вместимость, с которой начинают рост стратегии из пустого массива
+     * (кроме {@link #exactFit()})
+     */
+    int START_CAPACITY = 10;
+    /**
+     * Стандартная стратегия: рост в 1,5 раза плюс один элемент
+     */
+    GrowthPolicy DEFAULT = (capacity, minCapacity) ->
+            capacity == 0 ? START_CAPACITY : capacity + (capacity / 2) + 1L;
+
+    /**
+     * Возвращает новую вместимость внутреннего массива
+     *
+     * @param capacity    текущая вместимость
+     * @param minCapacity минимально необходимая вместимость, больше capacity
+     * @return новая вместимость; значения меньше minCapacity список поднимает до minCapacity
+     */
+    long newCapacity(int capacity, int minCapacity);
+
+    /**
+     * Рост в factor раз
+     *
+     * @param factor множитель, больше 1
+     * @return стратегия
+     * @throws IllegalArgumentException если factor <= 1
+     */
+    static GrowthPolicy factor(double factor) {
+        if (!(factor > 1.0) || Double.isInfinite(factor)) {
+            throw new IllegalArgumentException("Illegal growth factor: " + factor);
+        }
+        return (capacity, minCapacity) ->
+                capacity == 0 ? START_CAPACITY : (long) Math.ceil(capacity * factor);
+    }
+
+    /**
+     * Рост на фиксированное количество элементов
+     *
+     * @param step шаг роста, больше 0
+     * @return стратегия
+     * @throws IllegalArgumentException если step <= 0
+     */
+    static GrowthPolicy additive(int step) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("Illegal growth step: " + step);
+        }
+        return (capacity, minCapacity) -> (long) capacity + step;
+    }
+
+    /**
+     * Рост ровно до необходимой вместимости. Экономит память, но при добавлении
+     * по одному элементу каждая вставка копирует весь массив
+     *
+     * @return стратегия
+     */
+    static GrowthPolicy exactFit() {
+        return (capacity, minCapacity) -> minCapacity;
+    }
+
+    /**
+     * Рост до ближайшей степени двойки, не меньшей необходимой вместимости
+     *
+     * @return стратегия
+     */
+    static GrowthPolicy powerOfTwo() {
+        return (capacity, minCapacity) -> {
+            long needed = Math.max(minCapacity, START_CAPACITY);
+            return Long.highestOneBit(needed - 1) << 1;
+        };
+    }
+}
@@ -0,0 +1,223 @@
+package aston.bootcamp;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>Хеш-индекс позиций элементов для {@link ArrayList}. Таблица с открытой адресацией
+ * и линейным пробированием хранит в каждой ячейке позицию элемента во внутреннем массиве
+ * списка и хеш элемента. Сам элемент берется из массива списка, поэтому индекс не держит
+ * лишних ссылок, а одинаковые элементы занимают по ячейке на каждую позицию.</p>
+ * <p>Поиск проходит только цепочку ячеек от домашней позиции хеша до первой пустой
+ * и сравнивает equals лишь при совпадении хеша. Заполнение таблицы не больше половины,
+ * поэтому цепочки короткие, если в списке нет большого количества равных элементов.</p>
+ * <p>Удаление сдвигает следующие ячейки цепочки назад, без надгробий.</p>
+ * <p>Таблица не растет больше {@link #MAX_TABLE} ячеек, поэтому индекс вмещает не больше
+ * {@link #MAX_ENTRIES} позиций; дальше {@link #insert(Object, int)} отказывает,
+ * а не пробирует заполненную таблицу.</p>
+ *
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+final class HashIndex {
+    /**
+     * Минимальный размер таблицы
+     */
+    private static final int MIN_TABLE = 16;
+    /**
+     * Наибольший размер таблицы
+     */
+    private static final int MAX_TABLE = 1 << 30;
+    /**
+     * Наибольшее количество позиций. Таблица наибольшего размера заполняется не больше
+     * чем на 3/4, чтобы в ней всегда оставались пустые ячейки, на которых
+     * останавливается пробирование
+     */
+    static final int MAX_ENTRIES = MAX_TABLE - MAX_TABLE / 4;
+    /**
+     * Множитель фибоначчиева хеширования
+     */
+    private static final int GOLDEN = 0x9E3779B9;
+    /**
+     * Позиция элемента плюс один; 0 - пустая ячейка
+     */
+    private int[] slots;
+    /**
+     * Хеш элемента в ячейке
+     */
+    private int[] hashes;
+    /**
+     * Маска размера таблицы
+     */
+    private int mask;
+    /**
+     * Количество бит размера таблицы
+     */
+    private int bits;
+    /**
+     * Количество занятых ячеек
+     */
+    private int count;
+
+    /**
+     * Создает индекс по первым size элементам массива
+     *
+     * @param array массив списка
+     * @param size  количество элементов, не больше MAX_ENTRIES
+     */
+    HashIndex(Object[] array, int size) {
+        allocate(tableSizeFor(size));
+        for (int i = 0; i < size; ++i) {
+            insert(array[i], i);
+        }
+    }
+
+    private static int tableSizeFor(int elems) {
+        int needed = Math.max(MIN_TABLE, elems * 2);
+        return needed >= MAX_TABLE || needed < 0 ? MAX_TABLE : Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    private void allocate(int tableSize) {
+        slots = new int[tableSize];
+        hashes = new int[tableSize];
+        mask = tableSize - 1;
+        bits = Integer.numberOfTrailingZeros(tableSize);
+    }
+
+    private static int hash(Object value) {
+        return Objects.hashCode(value);
+    }
+
+    private int home(int hash) {
+        return (hash * GOLDEN) >>> (32 - bits);
+    }
+
+    /**
+     * Добавляет позицию pos элемента value
+     *
+     * @param value элемент
+     * @param pos   позиция элемента в массиве
+     * @return false - если индекс уже содержит MAX_ENTRIES позиций и позиция не добавлена
+     */
+    boolean insert(Object value, int pos) {
+        if (count == MAX_ENTRIES) {
+            return false;
+        }
+        if ((count + 1) * 2 > slots.length && slots.length < MAX_TABLE) {
+            rehash(slots.length * 2);
+        }
+        int hash = hash(value);
+        int slot = home(hash);
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = pos + 1;
+        hashes[slot] = hash;
+        count += 1;
+        return true;
+    }
+
+    /**
+     * Удаляет позицию pos элемента value
+     *
+     * @param value элемент, который сейчас лежит на позиции pos
+     * @param pos   позиция элемента в массиве
+     */
+    void delete(Object value, int pos) {
+        int slot = home(hash(value));
+        while (slots[slot] != pos + 1) {
+            if (slots[slot] == 0) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int gap = slot;
+        for (int j = (gap + 1) & mask; slots[j] != 0; j = (j + 1) & mask) {
+            if (((j - home(hashes[j])) & mask) >= ((j - gap) & mask)) {
+                slots[gap] = slots[j];
+                hashes[gap] = hashes[j];
+                gap = j;
+            }
+        }
+        slots[gap] = 0;
+        count -= 1;
+    }
+
+    /**
+     * Сдвигает все позиции, не меньшие from, на delta. Нужен после вставки и удаления
+     * в середине списка; проходит всю таблицу, как arraycopy проходит хвост массива.
+     * Цикл без ветвлений: (from - stored) >>> 31 равно 1 ровно когда stored > from
+     *
+     * @param from  первая сдвигаемая позиция
+     * @param delta величина сдвига
+     */
+    void shift(int from, int delta) {
+        int[] table = slots;
+        for (int i = 0; i < table.length; ++i) {
+            int stored = table[i];
+            table[i] = stored + ((from - stored) >>> 31) * delta;
+        }
+    }
+
+    /**
+     * Возвращает наименьшую позицию элемента, равного value, или -1
+     *
+     * @param value искомый элемент
+     * @param array массив списка
+     * @return позиция первого вхождения или -1
+     */
+    int first(Object value, Object[] array) {
+        int hash = hash(value);
+        int best = Integer.MAX_VALUE;
+        for (int slot = home(hash); slots[slot] != 0; slot = (slot + 1) & mask) {
+            int pos = slots[slot] - 1;
+            if (hashes[slot] == hash && pos < best && Objects.equals(value, array[pos])) {
+                best = pos;
+            }
+        }
+        return best == Integer.MAX_VALUE ? -1 : best;
+    }
+
+    /**
+     * Возвращает наибольшую позицию элемента, равного value, или -1
+     *
+     * @param value искомый элемент
+     * @param array массив списка
+     * @return позиция последнего вхождения или -1
+     */
+    int last(Object value, Object[] array) {
+        int hash = hash(value);
+        int best = -1;
+        for (int slot = home(hash); slots[slot] != 0; slot = (slot + 1) & mask) {
+            int pos = slots[slot] - 1;
+            if (hashes[slot] == hash && pos > best && Objects.equals(value, array[pos])) {
+                best = pos;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Удаляет все позиции, сохраняя размер таблицы
+     */
+    void clear() {
+        Arrays.fill(slots, 0);
+        count = 0;
+    }
+
+    private void rehash(int tableSize) {
+        int[] oldSlots = slots;
+        int[] oldHashes = hashes;
+        allocate(tableSize);
+        for (int i = 0; i < oldSlots.length; ++i) {
+            if (oldSlots[i] != 0) {
+                int slot = home(oldHashes[i]);
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = oldSlots[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package aston.bootcamp;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * <p>Ленивое представление {@link ArrayList} для цепочек преобразований. Методы
+ * {@code filter}, {@code map}, {@code mapToInt}, {@code limit}, {@code skip} и {@code distinct}
+ * ничего не вычисляют и не копируют, а только добавляют шаг в цепочку. Терминальный метод
+ * ({@code toArrayList}, {@code forEach}, {@code count}) собирает шаги в цепочку приемников
+ * и проходит внутренний массив списка один раз: каждый элемент проходит все шаги подряд,
+ * промежуточные списки не создаются. После limit проход останавливается досрочно.</p>
+ * <p>Если в цепочке нет filter и distinct, размер результата известен заранее,
+ * и toArrayList создает массив ровно нужной длины без единого расширения.
+ * Иначе результат растет обычным для ArrayList образом.</p>
+ * <p>Элементы берутся из списка в момент вызова терминального метода. Если список
+ * структурно изменен во время прохода, бросается ConcurrentModificationException.
+ * Объект представления неизменяемый, поэтому одну цепочку можно выполнить несколько раз.</p>
+ *
+ * @param <T> тип элементов на этом шаге цепочки
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public final class LazyList<T> {
+    /**
+     * Признак неизвестного заранее размера
+     */
+    private static final int UNKNOWN = -1;
+    /**
+     * Исходный список
+     */
+    private final ArrayList<?> source;
+    /**
+     * Предыдущий шаг или null для самого списка
+     */
+    private final LazyList<?> upstream;
+    /**
+     * Шаг, оборачивающий приемник следующего шага
+     */
+    private final Stage stage;
+    /**
+     * Размер после шага по размеру до него или UNKNOWN
+     */
+    private final SizeRule sizeRule;
+
+    LazyList(ArrayList<T> source) {
+        this(source, null, null, null);
+    }
+
+    private LazyList(ArrayList<?> source, LazyList<?> upstream, Stage stage, SizeRule sizeRule) {
+        this.source = source;
+        this.upstream = upstream;
+        this.stage = stage;
+        this.sizeRule = sizeRule;
+    }
+
+    /**
+     * Приемник элементов. Возвращает false, если следующие элементы уже не нужны
+     */
+    @FunctionalInterface
+    private interface Sink {
+        boolean accept(Object value);
+    }
+
+    /**
+     * Приемник элементов int без упаковки
+     */
+    @FunctionalInterface
+    private interface IntSink {
+        boolean accept(int value);
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        Sink wrap(Sink downstream);
+    }
+
+    @FunctionalInterface
+    private interface IntStage {
+        IntSink wrap(IntSink downstream);
+    }
+
+    @FunctionalInterface
+    private interface SizeRule {
+        int apply(int size);
+    }
+
+    private static void checkCount(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Illegal count: " + count);
+        }
+    }
+
+    private static int skipSize(int size, long skip) {
+        return (int) Math.max(0, size - skip);
+    }
+
+    private static int limitSize(int size, long limit) {
+        return (int) Math.min(size, limit);
+    }
+
+    private <R> LazyList<R> then(Stage next, SizeRule rule) {
+        return new LazyList<>(source, this, next, rule);
+    }
+
+    /**
+     * Оставляет только элементы, для которых predicate возвращает true
+     *
+     * @param predicate условие
+     * @return следующий шаг цепочки
+     */
+    @SuppressWarnings("unchecked")
+    public LazyList<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate, "predicate");
+        return then(down -> value -> !predicate.test((T) value) || down.accept(value), size -> UNKNOWN);
+    }
+
+    /**
+     * Преобразует каждый элемент функцией mapper
+     *
+     * @param mapper функция преобразования
+     * @param <R>    тип результата
+     * @return следующий шаг цепочки
+     */
+    @SuppressWarnings("unchecked")
+    public <R> LazyList<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return then(down -> value -> down.accept(mapper.apply((T) value)), size -> size);
+    }
+
+    /**
+     * Преобразует каждый элемент в int без упаковки
+     *
+     * @param mapper функция преобразования
+     * @return цепочка значений int
+     */
+    @SuppressWarnings("unchecked")
+    public OfInt mapToInt(ToIntFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return new OfInt(this, (ToIntFunction<Object>) mapper, null, null, null);
+    }
+
+    /**
+     * Оставляет не больше maxSize первых элементов. Проход останавливается,
+     * как только они получены
+     *
+     * @param maxSize наибольшее количество элементов
+     * @return следующий шаг цепочки
+     * @throws IllegalArgumentException если maxSize < 0
+     */
+    public LazyList<T> limit(long maxSize) {
+        checkCount(maxSize);
+        return then(down -> new Sink() {
+            private long taken;
+
+            @Override
+            public boolean accept(Object value) {
+                if (taken >= maxSize) {
+                    return false;
+                }
+                taken += 1;
+                return down.accept(value) && taken < maxSize;
+            }
+        }, size -> limitSize(size, maxSize));
+    }
+
+    /**
+     * Пропускает n первых элементов
+     *
+     * @param n количество пропускаемых элементов
+     * @return следующий шаг цепочки
+     * @throws IllegalArgumentException если n < 0
+     */
+    public LazyList<T> skip(long n) {
+        checkCount(n);
+        return then(down -> new Sink() {
+            private long skipped;
+
+            @Override
+            public boolean accept(Object value) {
+                if (skipped < n) {
+                    skipped += 1;
+                    return true;
+                }
+                return down.accept(value);
+            }
+        }, size -> skipSize(size, n));
+    }
+
+    /**
+     * Оставляет только первые вхождения элементов по equals. Уже встреченные элементы
+     * хранятся в HashSet на время прохода
+     *
+     * @return следующий шаг цепочки
+     */
+    public LazyList<T> distinct() {
+        return then(down -> {
+            HashSet<Object> seen = new HashSet<>();
+            return value -> !seen.add(value) || down.accept(value);
+        }, size -> UNKNOWN);
+    }
+
+    /**
+     * Размер результата, если он известен до прохода
+     *
+     * @return размер или UNKNOWN
+     */
+    private int knownSize() {
+        if (upstream == null) {
+            return source.size();
+        }
+        int size = upstream.knownSize();
+        return size == UNKNOWN ? UNKNOWN : sizeRule.apply(size);
+    }
+
+    /**
+     * Собирает приемники всех шагов перед terminal и проходит внутренний массив списка
+     *
+     * @param terminal приемник терминального метода
+     */
+    private void run(Sink terminal) {
+        Sink sink = terminal;
+        for (LazyList<?> step = this; step.upstream != null; step = step.upstream) {
+            sink = step.stage.wrap(sink);
+        }
+        int expectedModCount = source.modCount();
+        Object[] arr = source.backingArray();
+        int size = source.size();
+        for (int i = 0; i < size; ++i) {
+            if (!sink.accept(arr[i])) {
+                break;
+            }
+        }
+        if (source.modCount() != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Выполняет цепочку и собирает результат в новый ArrayList. Если размер известен
+     * заранее, массив результата создается ровно нужной длины
+     *
+     * @return новый список с результатом
+     */
+    public ArrayList<T> toArrayList() {
+        int known = knownSize();
+        if (known != UNKNOWN) {
+            Object[] result = new Object[known];
+            int[] filled = new int[1];
+            if (known > 0) {
+                run(value -> {
+                    result[filled[0]++] = value;
+                    return filled[0] < known;
+                });
+            }
+            return new ArrayList<>(result, filled[0]);
+        }
+        ArrayList<T> result = new ArrayList<>();
+        run(value -> {
+            result.add(cast(value));
+            return true;
+        });
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    /**
+     * Выполняет цепочку и передает каждый элемент результата в action
+     *
+     * @param action действие над элементом
+     */
+    public void forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action, "action");
+        run(value -> {
+            action.accept(cast(value));
+            return true;
+        });
+    }
+
+    /**
+     * Выполняет цепочку и считает элементы результата. Если размер известен заранее,
+     * проход не выполняется
+     *
+     * @return количество элементов
+     */
+    public long count() {
+        int known = knownSize();
+        if (known != UNKNOWN) {
+            return known;
+        }
+        long[] count = new long[1];
+        run(value -> {
+            count[0] += 1;
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * <p>Ленивая цепочка значений int, полученная через {@link #mapToInt(ToIntFunction)}.
+     * Шаги после mapToInt работают с int без упаковки и выполняются в том же проходе
+     * по исходному списку.</p>
+     */
+    public static final class OfInt {
+        /**
+         * Шаг объектной цепочки, на котором был вызван mapToInt
+         */
+        private final LazyList<?> objects;
+        private final ToIntFunction<Object> mapper;
+        /**
+         * Предыдущий int-шаг или null для самого mapToInt
+         */
+        private final OfInt upstream;
+        private final IntStage stage;
+        private final SizeRule sizeRule;
+
+        private OfInt(LazyList<?> objects, ToIntFunction<Object> mapper, OfInt upstream,
+                      IntStage stage, SizeRule sizeRule) {
+            this.objects = objects;
+            this.mapper = mapper;
+            this.upstream = upstream;
+            this.stage = stage;
+            this.sizeRule = sizeRule;
+        }
+
+        private OfInt then(IntStage next, SizeRule rule) {
+            return new OfInt(objects, mapper, this, next, rule);
+        }
+
+        /**
+         * Оставляет только значения, для которых predicate возвращает true
+         *
+         * @param predicate условие
+         * @return следующий шаг цепочки
+         */
+        public OfInt filter(IntPredicate predicate) {
+            Objects.requireNonNull(predicate, "predicate");
+            return then(down -> value -> !predicate.test(value) || down.accept(value), size -> UNKNOWN);
+        }
+
+        /**
+         * Преобразует каждое значение функцией mapper
+         *
+         * @param mapper функция преобразования
+         * @return следующий шаг цепочки
+         */
+        public OfInt map(IntUnaryOperator mapper) {
+            Objects.requireNonNull(mapper, "mapper");
+            return then(down -> value -> down.accept(mapper.applyAsInt(value)), size -> size);
+        }
+
+        /**
+         * Оставляет не больше maxSize первых значений
+         *
+         * @param maxSize наибольшее количество значений
+         * @return следующий шаг цепочки
+         * @throws IllegalArgumentException если maxSize < 0
+         */
+        public OfInt limit(long maxSize) {
+            checkCount(maxSize);
+            return then(down -> new IntSink() {
+                private long taken;
+
+                @Override
+                public boolean accept(int value) {
+                    if (taken >= maxSize) {
+                        return false;
+                    }
+                    taken += 1;
+                    return down.accept(value) && taken < maxSize;
+                }
+            }, size -> limitSize(size, maxSize));
+        }
+
+        /**
+         * Пропускает n первых значений
+         *
+         * @param n количество пропускаемых значений
+         * @return следующий шаг цепочки
+         * @throws IllegalArgumentException если n < 0
+         */
+        public OfInt skip(long n) {
+            checkCount(n);
+            return then(down -> new IntSink() {
+                private long skipped;
+
+                @Override
+                public boolean accept(int value) {
+                    if (skipped < n) {
+                        skipped += 1;
+                        return true;
+                    }
+                    return down.accept(value);
+                }
+            }, size -> skipSize(size, n));
+        }
+
+        private int knownSize() {
+            if (upstream == null) {
+                return objects.knownSize();
+            }
+            int size = upstream.knownSize();
+            return size == UNKNOWN ? UNKNOWN : sizeRule.apply(size);
+        }
+
+        private void run(IntSink terminal) {
+            IntSink sink = terminal;
+            for (OfInt step = this; step.upstream != null; step = step.upstream) {
+                sink = step.stage.wrap(sink);
+            }
+            IntSink ints = sink;
+            objects.run(value -> ints.accept(mapper.applyAsInt(value)));
+        }
+
+        /**
+         * Выполняет цепочку и собирает результат в новый IntArrayList. Если размер известен
+         * заранее, массив результата создается ровно нужной длины
+         *
+         * @return новый список с результатом
+         */
+        public IntArrayList toIntArrayList() {
+            int known = knownSize();
+            if (known != UNKNOWN) {
+                int[] result = new int[known];
+                int[] filled = new int[1];
+                if (known > 0) {
+                    run(value -> {
+                        result[filled[0]++] = value;
+                        return filled[0] < known;
+                    });
+                }
+                return new IntArrayList(result, filled[0]);
+            }
+            IntArrayList result = new IntArrayList();
+            run(result::add);
+            return result;
+        }
+
+        /**
+         * Выполняет цепочку и возвращает сумму значений в long
+         *
+         * @return сумма значений
+         */
+        public long sum() {
+            long[] sum = new long[1];
+            run(value -> {
+                sum[0] += value;
+                return true;
+            });
+            return sum[0];
+        }
+
+        /**
+         * Выполняет цепочку и считает значения. Если размер известен заранее,
+         * проход не выполняется
+         *
+         * @return количество значений
+         */
+        public long count() {
+            int known = knownSize();
+            if (known != UNKNOWN) {
+                return known;
+            }
+            long[] count = new long[1];
+            run(value -> {
+                count[0] += 1;
+                return true;
+            });
+            return count[0];
+        }
+    }
+}
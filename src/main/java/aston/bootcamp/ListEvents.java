@@ -0,0 +1,88 @@
+package aston.bootcamp;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * <p>События Java Flight Recorder для дорогих операций {@link ArrayList}: расширения
+ * и автоматического сжатия внутреннего массива, сортировки и пакетного удаления.
+ * События пишутся всегда, независимо от {@link ListMetrics}; пока запись JFR не идет,
+ * shouldCommit() возвращает false и JIT-компилятор убирает создание события.</p>
+ * <p>Стек вызова в событии показывает, какой код порождает всплески выделения памяти.
+ * Пример: {@code java -XX:StartFlightRecording=filename=lists.jfr ...}, затем
+ * {@code jfr print --events aston.bootcamp.ArrayListGrow lists.jfr}.</p>
+ *
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+final class ListEvents {
+    private ListEvents() {
+    }
+
+    @Name("aston.bootcamp.ArrayListGrow")
+    @Label("ArrayList Grow")
+    @Category({"aston.bootcamp", "ArrayList"})
+    @Description("Внутренний массив ArrayList расширен и скопирован")
+    static final class Grow extends Event {
+        @Label("Old Capacity")
+        int oldCapacity;
+
+        @Label("New Capacity")
+        int newCapacity;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocatedBytes;
+
+        @Label("Copied")
+        @DataAmount
+        long copiedBytes;
+    }
+
+    @Name("aston.bootcamp.ArrayListShrink")
+    @Label("ArrayList Shrink")
+    @Category({"aston.bootcamp", "ArrayList"})
+    @Description("Внутренний массив ArrayList автоматически сжат после удаления")
+    static final class Shrink extends Event {
+        @Label("Old Capacity")
+        int oldCapacity;
+
+        @Label("New Capacity")
+        int newCapacity;
+
+        @Label("Reclaimed")
+        @DataAmount
+        long reclaimedBytes;
+    }
+
+    @Name("aston.bootcamp.ArrayListSort")
+    @Label("ArrayList Sort")
+    @Category({"aston.bootcamp", "ArrayList"})
+    @Description("Сортировка ArrayList")
+    static final class Sort extends Event {
+        @Label("Size")
+        int size;
+
+        @Label("Stable")
+        boolean stable;
+
+        @Label("Parallel")
+        boolean parallel;
+    }
+
+    @Name("aston.bootcamp.ArrayListBulkRemove")
+    @Label("ArrayList Bulk Remove")
+    @Category({"aston.bootcamp", "ArrayList"})
+    @Description("Пакетное удаление из ArrayList: removeAll, retainAll, removeIf или пакет изменений")
+    static final class BulkRemove extends Event {
+        @Label("Size Before")
+        int sizeBefore;
+
+        @Label("Removed")
+        int removed;
+    }
+}
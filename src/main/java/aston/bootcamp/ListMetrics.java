@@ -0,0 +1,259 @@
+package aston.bootcamp;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * <p>Счетчики операций одного {@link ArrayList}. Собираются только после
+ * {@link ArrayList#enableMetrics()}: в выключенном состоянии список проверяет одно поле на null,
+ * поэтому накладные расходы почти нулевые.</p>
+ * <p>Счетчики - обычные поля long без синхронизации, как и сам список. Байты считаются
+ * по размеру ссылки в массиве объектов этой JVM (4 байта со сжатыми указателями, иначе 8).
+ * Размер определяется лениво при первом включении счетчиков или записи события JFR,
+ * поэтому список без счетчиков не запускает подсистему управления JVM.</p>
+ *
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public final class ListMetrics {
+    /**
+     * Размер одной ссылки во внутреннем массиве в байтах
+     */
+    private final int referenceBytes = referenceBytes();
+    private long adds;
+    private long gets;
+    private long removes;
+    private long indexOfs;
+    private long grows;
+    private long growCopiedBytes;
+    private long shiftedBytes;
+    private long sorts;
+    private long sortNanos;
+    private long bulkRemoved;
+    private long shrinks;
+    private long reclaimedBytes;
+    private int peakSize;
+
+    ListMetrics(int size) {
+        peakSize = size;
+    }
+
+    /**
+     * Размер одной ссылки во внутреннем массиве в байтах. Первый вызов определяет его
+     * через HotSpotDiagnosticMXBean, последующие читают готовое значение
+     *
+     * @return размер ссылки в байтах
+     */
+    static int referenceBytes() {
+        return ReferenceSize.BYTES;
+    }
+
+    /**
+     * Держатель размера ссылки: класс и его поле инициализируются при первом обращении
+     */
+    private static final class ReferenceSize {
+        static final int BYTES = detect();
+
+        /**
+         * Размер ссылки по флагу UseCompressedOops: 4 байта со сжатыми указателями, иначе 8.
+         * Если флаг или модуль jdk.management недоступен, считается, что указатели сжаты,
+         * как по умолчанию для куч меньше 32 ГБ
+         *
+         * @return размер ссылки в байтах
+         */
+        private static int detect() {
+            try {
+                HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+                return bean != null && "false".equals(bean.getVMOption("UseCompressedOops").getValue()) ? 8 : 4;
+            } catch (LinkageError | RuntimeException e) {
+                return 4;
+            }
+        }
+    }
+
+    void recordAdd(int size) {
+        adds += 1;
+        if (size > peakSize) {
+            peakSize = size;
+        }
+    }
+
+    void recordAddAll(int count, int size) {
+        adds += count;
+        if (size > peakSize) {
+            peakSize = size;
+        }
+    }
+
+    void recordGet() {
+        gets += 1;
+    }
+
+    void recordRemove() {
+        removes += 1;
+    }
+
+    void recordIndexOf() {
+        indexOfs += 1;
+    }
+
+    void recordGrow(int copiedElements) {
+        grows += 1;
+        growCopiedBytes += (long) copiedElements * referenceBytes;
+    }
+
+    void recordShift(int movedElements) {
+        shiftedBytes += (long) movedElements * referenceBytes;
+    }
+
+    void recordSort(long nanos) {
+        sorts += 1;
+        sortNanos += nanos;
+    }
+
+    void recordBulkRemove(int removed) {
+        bulkRemoved += removed;
+    }
+
+    void recordShrink(int reclaimedSlots) {
+        shrinks += 1;
+        reclaimedBytes += (long) reclaimedSlots * referenceBytes;
+    }
+
+    /**
+     * Количество добавленных элементов: add, add(int, T) и addAll
+     *
+     * @return количество добавлений
+     */
+    public long adds() {
+        return adds;
+    }
+
+    /**
+     * Количество вызовов get
+     *
+     * @return количество чтений
+     */
+    public long gets() {
+        return gets;
+    }
+
+    /**
+     * Количество удалений по одному элементу: remove(int) и remove(Object)
+     *
+     * @return количество удалений
+     */
+    public long removes() {
+        return removes;
+    }
+
+    /**
+     * Количество поисков: indexOf, lastIndexOf и contains
+     *
+     * @return количество поисков
+     */
+    public long indexOfs() {
+        return indexOfs;
+    }
+
+    /**
+     * Количество расширений внутреннего массива
+     *
+     * @return количество расширений
+     */
+    public long grows() {
+        return grows;
+    }
+
+    /**
+     * Байты, скопированные при расширениях в новый массив
+     *
+     * @return количество байт
+     */
+    public long growCopiedBytes() {
+        return growCopiedBytes;
+    }
+
+    /**
+     * Байты, сдвинутые arraycopy при вставке add(int, T) и удалении по индексу
+     *
+     * @return количество байт
+     */
+    public long shiftedBytes() {
+        return shiftedBytes;
+    }
+
+    /**
+     * Количество сортировок, включая параллельные
+     *
+     * @return количество сортировок
+     */
+    public long sorts() {
+        return sorts;
+    }
+
+    /**
+     * Суммарное время сортировок в наносекундах
+     *
+     * @return время сортировок
+     */
+    public long sortNanos() {
+        return sortNanos;
+    }
+
+    /**
+     * Количество элементов, удаленных removeAll, retainAll, removeIf и пакетом изменений
+     *
+     * @return количество удаленных элементов
+     */
+    public long bulkRemoved() {
+        return bulkRemoved;
+    }
+
+    /**
+     * Количество автоматических сжатий внутреннего массива по {@link ShrinkPolicy}
+     *
+     * @return количество сжатий
+     */
+    public long shrinks() {
+        return shrinks;
+    }
+
+    /**
+     * Байты, освобожденные автоматическими сжатиями
+     *
+     * @return количество байт
+     */
+    public long reclaimedBytes() {
+        return reclaimedBytes;
+    }
+
+    /**
+     * Наибольший размер списка с момента включения счетчиков
+     *
+     * @return наибольший размер
+     */
+    public int peakSize() {
+        return peakSize;
+    }
+
+    @Override
+    public String toString() {
+        return "ListMetrics{" +
+                "adds=" + adds +
+                ", gets=" + gets +
+                ", removes=" + removes +
+                ", indexOfs=" + indexOfs +
+                ", grows=" + grows +
+                ", growCopiedBytes=" + growCopiedBytes +
+                ", shiftedBytes=" + shiftedBytes +
+                ", sorts=" + sorts +
+                ", sortNanos=" + sortNanos +
+                ", bulkRemoved=" + bulkRemoved +
+                ", shrinks=" + shrinks +
+                ", reclaimedBytes=" + reclaimedBytes +
+                ", peakSize=" + peakSize +
+                '}';
+    }
+}
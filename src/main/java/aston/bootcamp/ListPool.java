@@ -0,0 +1,232 @@
+package aston.bootcamp;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Пул временных ArrayList для обработки запросов без выделения памяти. {@link #lease()}
+ * выдает пустой список из пула (или новый, если пул пуст), {@link #release(ArrayList)}
+ * возвращает его обратно. Вместимость возвращенного списка сохраняется, поэтому повторное
+ * заполнение не расширяет массив; при возврате зануляется только занятый участок массива
+ * одним Arrays.fill.</p>
+ * <p>Список, вместимость которого выросла больше maxCapacity, при возврате получает новый
+ * массив на maxCapacity элементов, чтобы один большой запрос не держал память навсегда.
+ * В пуле хранится не больше maxIdle списков, лишние отбрасываются сборщику мусора.</p>
+ * <p>Два вида пула:</p>
+ * <ul>
+ *     <li>{@link #perThread(int, int, int)} - у каждого потока свой стек списков, выдача
+ *     и возврат без синхронизации. Список нужно возвращать в том же потоке;</li>
+ *     <li>{@link #shared(int, int, int)} - один стек на все потоки под блокировкой,
+ *     список можно вернуть из любого потока.</li>
+ * </ul>
+ * <p>Статистика попаданий доступна через {@link ListPoolMXBean}. Счетчики - LongAdder,
+ * поэтому потоки не конкурируют за них.</p>
+ * <p>После release список нельзя использовать: он может быть выдан другому вызывающему.
+ * Повторный release того же списка до его новой выдачи бросает IllegalStateException,
+ * иначе один список достался бы двум владельцам.</p>
+ *
+ * @param <T> тип элементов списков
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public final class ListPool<T> implements ListPoolMXBean {
+    /**
+     * Вместимость новых списков
+     */
+    private final int initialCapacity;
+    /**
+     * Наибольшая вместимость, которую список сохраняет при возврате
+     */
+    private final int maxCapacity;
+    /**
+     * Стеки списков по потокам или null для общего пула
+     */
+    private final ThreadLocal<Stack> local;
+    /**
+     * Общий стек списков или null для пула по потокам
+     */
+    private final Stack shared;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder trimmed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private ListPool(int maxIdle, int initialCapacity, int maxCapacity, boolean perThread) {
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException("Illegal pool size: " + maxIdle);
+        }
+        if (initialCapacity < 0 || maxCapacity < initialCapacity) {
+            throw new IllegalArgumentException("Illegal capacity bounds: " + initialCapacity + ", " + maxCapacity);
+        }
+        this.initialCapacity = initialCapacity;
+        this.maxCapacity = maxCapacity;
+        if (perThread) {
+            this.local = ThreadLocal.withInitial(() -> new Stack(maxIdle));
+            this.shared = null;
+        } else {
+            this.local = null;
+            this.shared = new Stack(maxIdle);
+        }
+    }
+
+    /**
+     * Создает пул, в котором у каждого потока свои списки
+     *
+     * @param maxIdle         наибольшее количество списков в пуле одного потока
+     * @param initialCapacity вместимость новых списков
+     * @param maxCapacity     наибольшая вместимость, которую список сохраняет при возврате
+     * @param <T>             тип элементов списков
+     * @return новый пул
+     * @throws IllegalArgumentException если maxIdle < 0 или границы вместимости некорректны
+     */
+    public static <T> ListPool<T> perThread(int maxIdle, int initialCapacity, int maxCapacity) {
+        return new ListPool<>(maxIdle, initialCapacity, maxCapacity, true);
+    }
+
+    /**
+     * Создает общий для всех потоков пул
+     *
+     * @param maxIdle         наибольшее количество списков в пуле
+     * @param initialCapacity вместимость новых списков
+     * @param maxCapacity     наибольшая вместимость, которую список сохраняет при возврате
+     * @param <T>             тип элементов списков
+     * @return новый пул
+     * @throws IllegalArgumentException если maxIdle < 0 или границы вместимости некорректны
+     */
+    public static <T> ListPool<T> shared(int maxIdle, int initialCapacity, int maxCapacity) {
+        return new ListPool<>(maxIdle, initialCapacity, maxCapacity, false);
+    }
+
+    /**
+     * Стек свободных списков фиксированной длины
+     */
+    private static final class Stack {
+        private final ArrayList<?>[] lists;
+        private int count;
+
+        Stack(int maxIdle) {
+            lists = new ArrayList<?>[maxIdle];
+        }
+
+        ArrayList<?> pop() {
+            if (count == 0) {
+                return null;
+            }
+            ArrayList<?> list = lists[--count];
+            lists[count] = null;
+            return list;
+        }
+
+        boolean push(ArrayList<?> list) {
+            if (count == lists.length) {
+                return false;
+            }
+            lists[count++] = list;
+            return true;
+        }
+    }
+
+    /**
+     * Выдает пустой список: из пула, если он не пуст, иначе новый
+     *
+     * @return пустой список
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayList<T> lease() {
+        ArrayList<?> list;
+        if (local != null) {
+            list = take(local.get());
+        } else {
+            synchronized (shared) {
+                list = take(shared);
+            }
+        }
+        if (list == null) {
+            misses.increment();
+            return new ArrayList<>(initialCapacity);
+        }
+        hits.increment();
+        return (ArrayList<T>) list;
+    }
+
+    /**
+     * Возвращает список в пул. Список очищается, а его массив при необходимости урезается
+     * до maxCapacity. Если пул заполнен, список отбрасывается. В общем пуле очистка идет
+     * под блокировкой пула, чтобы повторный возврат из другого потока тоже был замечен
+     *
+     * @param list список, выданный этим пулом
+     * @throws IllegalStateException если список уже возвращен и с тех пор не выдавался
+     */
+    public void release(ArrayList<T> list) {
+        boolean pooled;
+        if (local != null) {
+            reset(list);
+            pooled = local.get().push(list);
+        } else {
+            synchronized (shared) {
+                reset(list);
+                pooled = shared.push(list);
+            }
+        }
+        if (!pooled) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Снимает список со стека и отмечает его выданным. В общем пуле вызывается под той же
+     * блокировкой, что и release, поэтому сброс флага виден потоку, который вернет список
+     *
+     * @param stack стек свободных списков
+     * @return список или null, если стек пуст
+     */
+    private static ArrayList<?> take(Stack stack) {
+        ArrayList<?> list = stack.pop();
+        if (list != null) {
+            list.leasedFromPool();
+        }
+        return list;
+    }
+
+    private void reset(ArrayList<T> list) {
+        if (list.resetForReuse(maxCapacity)) {
+            trimmed.increment();
+        }
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public long getTrimmed() {
+        return trimmed.sum();
+    }
+
+    @Override
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ListPool{" +
+                "hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", trimmed=" + getTrimmed() +
+                ", dropped=" + getDropped() +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package aston.bootcamp;
+
+/**
+ * Статистика {@link ListPool} для JMX. Пул реализует этот интерфейс, поэтому его можно
+ * зарегистрировать в платформенном MBeanServer и смотреть долю попаданий в jconsole
+ * или в системе мониторинга
+ *
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public interface ListPoolMXBean {
+    /**
+     * Количество выдач, обслуженных списком из пула
+     *
+     * @return количество попаданий
+     */
+    long getHits();
+
+    /**
+     * Количество выдач, для которых пришлось создать новый список
+     *
+     * @return количество промахов
+     */
+    long getMisses();
+
+    /**
+     * Доля попаданий среди всех выдач
+     *
+     * @return число от 0 до 1; 0, если выдач еще не было
+     */
+    double getHitRate();
+
+    /**
+     * Количество возвращенных списков, массив которых был урезан до наибольшей вместимости
+     *
+     * @return количество урезаний
+     */
+    long getTrimmed();
+
+    /**
+     * Количество возвращенных списков, которые не поместились в заполненный пул
+     *
+     * @return количество отброшенных списков
+     */
+    long getDropped();
+}
@@ -0,0 +1,404 @@
+package aston.bootcamp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * <p>Список записей фиксированной ширины, хранящийся в файле и отображенный в память
+ * (memory-mapped). Записи кодируются {@link FixedWidthCodec} прямо в отображенные страницы
+ * файла, поэтому повторное открытие мгновенно: файл только отображается, без чтения
+ * и десериализации. Изменения попадают в файл через страничный кэш ОС; {@link #force()}
+ * принудительно сбрасывает их на диск.</p>
+ * <p>Формат файла: заголовок из {@link #HEADER_BYTES} байт (сигнатура, версия, ширина записи,
+ * количество записей), затем записи подряд в порядке little-endian. Количество записей
+ * обновляется в заголовке при каждом изменении.</p>
+ * <p>Файл отображается сегментами до 1 ГБ, так как один MappedByteBuffer ограничен 2 ГБ,
+ * поэтому размер списка ограничен только количеством записей (int). Расширение, как grow()
+ * у ArrayList, увеличивает вместимость в 1,5 раза, но переотображает только последний
+ * сегмент; данные при этом не копируются. {@link #close()} обрезает файл до фактического
+ * размера.</p>
+ * <p>Обратите внимание на то, что класс не потокобезопасен и не подходит
+ * для работы в конкурентной среде.</p>
+ *
+ * @param <T> тип элементов в коллекции
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public class MappedArrayList<T> implements AutoCloseable {
+    /**
+     * Размер заголовка файла в байтах
+     */
+    public static final int HEADER_BYTES = 32;
+    /**
+     * Сигнатура файла
+     */
+    private static final long MAGIC = 0x4d41505041525259L;
+    /**
+     * Версия формата
+     */
+    private static final int VERSION = 1;
+    /**
+     * Смещение количества записей в заголовке
+     */
+    private static final int SIZE_OFFSET = 16;
+    /**
+     * Стандартный размер сегмента отображения в байтах
+     */
+    private static final int DEFAULT_SEGMENT_BYTES = 1 << 30;
+    /**
+     * Минимальная вместимость при первом расширении
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+    /**
+     * Максимальное количество записей
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    /**
+     * Путь к файлу
+     */
+    private final Path path;
+    /**
+     * Канал открытого файла
+     */
+    private final FileChannel channel;
+    /**
+     * Кодек записей
+     */
+    private final FixedWidthCodec<T> codec;
+    /**
+     * Ширина записи в байтах
+     */
+    private final int width;
+    /**
+     * Количество записей в одном полном сегменте
+     */
+    private final int perSegment;
+    /**
+     * Отображение заголовка
+     */
+    private MappedByteBuffer header;
+    /**
+     * Отображенные сегменты записей; полные, кроме последнего
+     */
+    private MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    /**
+     * Количество отображенных записей
+     */
+    private int capacity;
+    /**
+     * Количество записей
+     */
+    private int size;
+
+    private MappedArrayList(Path path, FileChannel channel, FixedWidthCodec<T> codec, int segmentBytes) {
+        this.path = path;
+        this.channel = channel;
+        this.codec = codec;
+        this.width = codec.width();
+        if (width <= 0 || width > segmentBytes) {
+            throw new IllegalArgumentException("Illegal element width: " + width);
+        }
+        this.perSegment = segmentBytes / width;
+    }
+
+    /**
+     * Открывает список в файле или создает новый, если файла нет или он пуст
+     *
+     * @param path  путь к файлу
+     * @param codec кодек записей
+     * @param <T>   тип элементов
+     * @return открытый список
+     * @throws IOException              при ошибке ввода-вывода
+     * @throws IllegalArgumentException если файл не является списком или ширина записи другая
+     */
+    public static <T> MappedArrayList<T> open(Path path, FixedWidthCodec<T> codec) throws IOException {
+        return open(path, codec, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Открытие с заданным размером сегмента. Нужен тестам, чтобы проверить
+     * несколько сегментов на маленьких файлах
+     *
+     * @param path         путь к файлу
+     * @param codec        кодек записей
+     * @param segmentBytes размер сегмента отображения в байтах
+     * @param <T>          тип элементов
+     * @return открытый список
+     * @throws IOException при ошибке ввода-вывода
+     */
+    static <T> MappedArrayList<T> open(Path path, FixedWidthCodec<T> codec, int segmentBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedArrayList<T> list = null;
+        try {
+            list = new MappedArrayList<>(path, channel, codec, segmentBytes);
+            list.init();
+            return list;
+        } finally {
+            if (list == null || list.header == null) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Читает или записывает заголовок и отображает существующие записи
+     *
+     * @throws IOException при ошибке ввода-вывода
+     */
+    private void init() throws IOException {
+        long fileSize = channel.size();
+        boolean created = fileSize == 0;
+        if (!created && fileSize < HEADER_BYTES) {
+            throw new IllegalArgumentException("Not a list file: " + path);
+        }
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        map.order(ByteOrder.LITTLE_ENDIAN);
+        int storedSize = 0;
+        if (created) {
+            map.putLong(0, MAGIC);
+            map.putInt(8, VERSION);
+            map.putInt(12, width);
+            map.putLong(SIZE_OFFSET, 0);
+        } else {
+            long records = map.getLong(SIZE_OFFSET);
+            int storedWidth = map.getInt(12);
+            if (map.getLong(0) != MAGIC || map.getInt(8) != VERSION) {
+                DirectMemory.free(map);
+                throw new IllegalArgumentException("Not a list file: " + path);
+            }
+            if (storedWidth != width) {
+                DirectMemory.free(map);
+                throw new IllegalArgumentException("Record width " + storedWidth
+                        + " does not match codec width " + width);
+            }
+            if (records < 0 || records > MAX_CAPACITY || HEADER_BYTES + records * width > fileSize) {
+                DirectMemory.free(map);
+                throw new IllegalArgumentException("Corrupted list file: " + path);
+            }
+            storedSize = (int) records;
+        }
+        header = map;
+        if (storedSize > 0) {
+            remap(storedSize);
+        }
+        size = storedSize;
+    }
+
+    /**
+     * Отображает файл так, чтобы в нем помещалось newCapacity записей. Полные сегменты
+     * остаются как есть, последний неполный переотображается, недостающие добавляются.
+     * Файл удлиняется самой операцией отображения
+     *
+     * @param newCapacity новая вместимость в записях
+     */
+    private void remap(int newCapacity) {
+        int segCount = (int) (((long) newCapacity + perSegment - 1) / perSegment);
+        MappedByteBuffer[] newSegments = Arrays.copyOf(segments, segCount);
+        try {
+            for (int s = Math.max(0, segments.length - 1); s < segCount; ++s) {
+                int records = (int) Math.min(perSegment, (long) newCapacity - (long) s * perSegment);
+                MappedByteBuffer old = s < segments.length ? segments[s] : null;
+                if (old != null && old.capacity() == records * width) {
+                    continue;
+                }
+                long position = HEADER_BYTES + (long) s * perSegment * width;
+                MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_WRITE, position, (long) records * width);
+                map.order(ByteOrder.LITTLE_ENDIAN);
+                newSegments[s] = map;
+                DirectMemory.free(old);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments = newSegments;
+        capacity = newCapacity;
+    }
+
+    /**
+     * Расширение в 1,5 раза
+     */
+    private void grow() {
+        if (capacity == MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required array length is too long");
+        }
+        int newCapacity = capacity + (capacity / 2) + 1;
+        if (newCapacity < 0 || newCapacity > MAX_CAPACITY) {
+            newCapacity = MAX_CAPACITY;
+        }
+        remap(Math.max(newCapacity, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Проверяет, что файл еще открыт
+     *
+     * @throws IllegalStateException если список закрыт
+     */
+    private void ensureOpen() {
+        if (header == null) {
+            throw new IllegalStateException("List is closed");
+        }
+    }
+
+    /**
+     * Проверка индекса по границам списка (для удаления и изменения элементов)
+     *
+     * @param index проверяемый индекс
+     * @throws IndexOutOfBoundsException если проверка не пройдена
+     */
+    private void checkRmBounds(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+        }
+    }
+
+    /**
+     * Записывает количество записей в заголовок
+     *
+     * @param newSize новое количество записей
+     */
+    private void setSize(int newSize) {
+        size = newSize;
+        header.putLong(SIZE_OFFSET, newSize);
+    }
+
+    /**
+     * Добавляет запись в конец списка. В лучшем случае выполняется за O(1),
+     * при расширении - за время переотображения последнего сегмента
+     *
+     * @param value элемент, который будет добавлен
+     * @return boolean-значение, отображающее успешность произведенной операции
+     */
+    public boolean add(T value) {
+        ensureOpen();
+        if (size == capacity) {
+            grow();
+        }
+        codec.encode(value, segments[size / perSegment], (size % perSegment) * width);
+        setSize(size + 1);
+        return true;
+    }
+
+    /**
+     * Возвращает элемент по индексу за константное время O(1). Запись читается
+     * из отображенного файла и декодируется
+     *
+     * @param index индекс, по которому мы хотим получить элемент
+     * @return элемент по индексу
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    public T get(int index) {
+        ensureOpen();
+        checkRmBounds(index);
+        return codec.decode(segments[index / perSegment], (index % perSegment) * width);
+    }
+
+    /**
+     * Замена элемента по индексу
+     *
+     * @param index индекс, по которому необходимо заменить элемент
+     * @param value новый элемент
+     * @return замененный элемент
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    public T set(int index, T value) {
+        ensureOpen();
+        checkRmBounds(index);
+        MappedByteBuffer segment = segments[index / perSegment];
+        int offset = (index % perSegment) * width;
+        T prevElem = codec.decode(segment, offset);
+        codec.encode(value, segment, offset);
+        return prevElem;
+    }
+
+    /**
+     * Оставляет в списке первые newSize записей. Место в файле освобождается при close()
+     *
+     * @param newSize новое количество записей
+     * @throws IndexOutOfBoundsException если (newSize < 0 || newSize > size)
+     */
+    public void truncate(int newSize) {
+        ensureOpen();
+        if (newSize < 0 || newSize > size) {
+            throw new IndexOutOfBoundsException("Index" + newSize + " is out of bound");
+        }
+        setSize(newSize);
+    }
+
+    /**
+     * Очистка списка, аналог truncate(0)
+     */
+    public void clear() {
+        truncate(0);
+    }
+
+    /**
+     * Возвращает количество записей в списке
+     *
+     * @return количество элементов в списке
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет пуст ли список
+     *
+     * @return true - если пуст, false - если есть элементы
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Сбрасывает все изменения записей и заголовка на диск. После возврата
+     * записанное переживает сбой процесса и ОС
+     */
+    public void force() {
+        ensureOpen();
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        header.force();
+    }
+
+    /**
+     * Освобождает отображения, обрезает файл до фактического размера и закрывает его.
+     * Повторный вызов ничего не делает
+     *
+     * @throws IOException при ошибке ввода-вывода
+     */
+    @Override
+    public void close() throws IOException {
+        if (header == null) {
+            return;
+        }
+        try {
+            for (MappedByteBuffer segment : segments) {
+                DirectMemory.free(segment);
+            }
+            DirectMemory.free(header);
+            channel.truncate(HEADER_BYTES + (long) size * width);
+        } finally {
+            header = null;
+            segments = new MappedByteBuffer[0];
+            capacity = 0;
+            channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MappedArrayList{" +
+                "path=" + path +
+                ", size=" + size +
+                ", width=" + width +
+                '}';
+    }
+}
@@ -0,0 +1,442 @@
+package aston.bootcamp;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * <p>Список элементов фиксированной ширины, который хранит данные вне кучи в прямом
+ * (direct) ByteBuffer. Элементы кодируются {@link FixedWidthCodec}, поэтому в куче нет
+ * ни объектов-элементов, ни огромного массива ссылок, и размер списка не влияет на время
+ * пауз сборщика мусора. Объект создается только при чтении элемента.</p>
+ * <p>Методы повторяют {@link ArrayList}: get, set, add, add(int, T), remove, indexOf, contains.
+ * Расширение работает как grow() у ArrayList (в 1,5 раза), но выделяет новую нативную память,
+ * копирует в нее данные и сразу освобождает старую.</p>
+ * <p>Нативная память освобождается явно методом {@link #close()}; после этого любая операция
+ * выбрасывает IllegalStateException. Вместимость ограничена 2 ГБ на список - пределом
+ * одного ByteBuffer.</p>
+ * <p>Обратите внимание на то, что класс не потокобезопасен и не подходит
+ * для работы в конкурентной среде.</p>
+ *
+ * @param <T> тип элементов в коллекции
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public class OffHeapArrayList<T> implements AutoCloseable {
+    /**
+     * Стандартный размер создаваемого буфера в элементах
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+    /**
+     * Максимальный размер буфера в байтах
+     */
+    private static final int MAX_BYTES = Integer.MAX_VALUE - 8;
+    /**
+     * Размер промежуточного массива при сдвиге элементов внутри буфера
+     */
+    private static final int SHIFT_CHUNK = 1 << 16;
+    /**
+     * Кодек элементов
+     */
+    private final FixedWidthCodec<T> codec;
+    /**
+     * Размер одного элемента в байтах
+     */
+    private final int width;
+    /**
+     * Максимальное количество элементов для этой ширины
+     */
+    private final int maxCapacity;
+    /**
+     * Буфер с элементами или null после close()
+     */
+    private ByteBuffer buffer;
+    /**
+     * Буфер на один элемент для поиска по закодированному виду
+     */
+    private final ByteBuffer probe;
+    /**
+     * Вместимость буфера в элементах
+     */
+    private int capacity;
+    /**
+     * Количество элементов
+     */
+    private int size;
+
+    /**
+     * Конструктор, создающий буфер на 10 элементов
+     *
+     * @param codec кодек элементов
+     */
+    public OffHeapArrayList(FixedWidthCodec<T> codec) {
+        this(codec, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Конструктор, задающий начальную вместимость
+     *
+     * @param codec           кодек элементов
+     * @param initialCapacity вместимость в элементах
+     */
+    public OffHeapArrayList(FixedWidthCodec<T> codec, int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        this.codec = codec;
+        this.width = codec.width();
+        if (width <= 0) {
+            throw new IllegalArgumentException("Illegal element width: " + width);
+        }
+        this.maxCapacity = MAX_BYTES / width;
+        if (initialCapacity > maxCapacity) {
+            throw new OutOfMemoryError("Required array length is too long");
+        }
+        this.capacity = initialCapacity;
+        this.buffer = allocate(initialCapacity);
+        this.probe = ByteBuffer.allocate(width).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Выделяет прямой буфер на указанное количество элементов
+     *
+     * @param elems количество элементов
+     * @return новый буфер с нативным порядком байт
+     */
+    private ByteBuffer allocate(int elems) {
+        return ByteBuffer.allocateDirect(elems * width).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Расширение буфера в 1,5 раза, но не больше максимальной вместимости
+     */
+    private void grow() {
+        grow((int) Math.min(capacity + (capacity / 2) + 1L, maxCapacity));
+    }
+
+    /**
+     * Расширение буфера до указанной вместимости, но не больше максимальной.
+     * Данные копируются в новую нативную память, старая освобождается сразу
+     *
+     * @param minCapacity требуемая вместимость
+     */
+    private void grow(int minCapacity) {
+        if (capacity == maxCapacity || minCapacity < 0) {
+            throw new OutOfMemoryError("Required array length is too long");
+        }
+        int newCapacity = Math.min(Math.max(minCapacity, DEFAULT_CAPACITY), maxCapacity);
+        ByteBuffer newBuffer = allocate(newCapacity);
+        ByteBuffer src = buffer.duplicate();
+        src.clear().limit(size * width);
+        newBuffer.put(src).clear();
+        DirectMemory.free(buffer);
+        buffer = newBuffer;
+        capacity = newCapacity;
+    }
+
+    /**
+     * Проверяет, что память еще не освобождена
+     *
+     * @throws IllegalStateException если список закрыт
+     */
+    private void ensureOpen() {
+        if (buffer == null) {
+            throw new IllegalStateException("List is closed");
+        }
+    }
+
+    /**
+     * Проверка индекса по границам списка (для добавления элементов)
+     *
+     * @param index проверяемый индекс
+     * @throws IndexOutOfBoundsException если проверка не пройдена
+     */
+    private void checkAddBounds(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+        }
+    }
+
+    /**
+     * Проверка индекса по границам списка (для удаления и изменения элементов)
+     *
+     * @param index проверяемый индекс
+     * @throws IndexOutOfBoundsException если проверка не пройдена
+     */
+    private void checkRmBounds(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+        }
+    }
+
+    /**
+     * Добавляет элемент в конец списка. В лучшем случае выполняется за O(1), в худшем за O(n)
+     *
+     * @param value элемент, который будет добавлен
+     * @return boolean-значение, отображающее успешность произведенной операции
+     */
+    public boolean add(T value) {
+        ensureOpen();
+        if (size == capacity) {
+            grow();
+        }
+        codec.encode(value, buffer, size * width);
+        size += 1;
+        return true;
+    }
+
+    /**
+     * Вставляет элемент по индексу. Выполняется за О(n)
+     *
+     * @param index индекс, куда нужно вставить элемент
+     * @param value элемент, который будет добавлен
+     * @throws IndexOutOfBoundsException index < 0 || index > size
+     */
+    public void add(int index, T value) {
+        ensureOpen();
+        checkAddBounds(index);
+        if (size == capacity) {
+            grow();
+        }
+        moveBytes(index * width, (index + 1) * width, (size - index) * width);
+        codec.encode(value, buffer, index * width);
+        size += 1;
+    }
+
+    /**
+     * Возвращает элемент по индексу за константное время O(1)
+     *
+     * @param index индекс, по которому мы хотим получить элемент
+     * @return элемент по индексу
+     */
+    public T get(int index) {
+        ensureOpen();
+        checkRmBounds(index);
+        return codec.decode(buffer, index * width);
+    }
+
+    /**
+     * Замена элемента по индексу
+     *
+     * @param index индекс, по которому необходимо заменить элемент
+     * @param value новый элемент
+     * @return замененный элемент
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    public T set(int index, T value) {
+        ensureOpen();
+        checkRmBounds(index);
+        T prevElem = codec.decode(buffer, index * width);
+        codec.encode(value, buffer, index * width);
+        return prevElem;
+    }
+
+    /**
+     * Удаляет элемент по индексу. Выполняется за O(n)
+     *
+     * @param index индекс по которому нужно удалить элемент
+     * @return удаленный элемент
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    public T remove(int index) {
+        ensureOpen();
+        checkRmBounds(index);
+        T remElement = codec.decode(buffer, index * width);
+        removeLogic(index);
+        return remElement;
+    }
+
+    /**
+     * Удаление элемента по передаваемому объекту. Выполняется за O(n)
+     *
+     * @param remObj объект, который необходимо удалить
+     * @return успешность проведенного удаления
+     */
+    public boolean remove(T remObj) {
+        int index = indexOf(remObj);
+        if (index == -1) {
+            return false;
+        }
+        removeLogic(index);
+        return true;
+    }
+
+    /**
+     * Логика удаления: сдвиг хвоста на один элемент влево
+     *
+     * @param index индекс, по которому нужно удалить элемент
+     */
+    private void removeLogic(int index) {
+        moveBytes((index + 1) * width, index * width, (size - index - 1) * width);
+        size -= 1;
+    }
+
+    /**
+     * Перемещает участок буфера длиной len байт из позиции from в позицию to.
+     * Участки могут перекрываться: копирование идет блоками через промежуточный
+     * массив в направлении, при котором исходные данные не затираются
+     *
+     * @param from исходное смещение в байтах
+     * @param to   целевое смещение в байтах
+     * @param len  количество байт
+     */
+    private void moveBytes(int from, int to, int len) {
+        if (len == 0 || from == to) {
+            return;
+        }
+        byte[] chunk = new byte[Math.min(len, SHIFT_CHUNK)];
+        if (to > from) {
+            for (int done = len; done > 0; ) {
+                int n = Math.min(chunk.length, done);
+                done -= n;
+                buffer.get(from + done, chunk, 0, n);
+                buffer.put(to + done, chunk, 0, n);
+            }
+        } else {
+            for (int done = 0; done < len; ) {
+                int n = Math.min(chunk.length, len - done);
+                buffer.get(from + done, chunk, 0, n);
+                buffer.put(to + done, chunk, 0, n);
+                done += n;
+            }
+        }
+    }
+
+    /**
+     * Возвращает индекс первого вхождения элемента или -1. Элементы сравниваются
+     * по закодированному виду, без создания объектов
+     *
+     * @param value искомый элемент
+     * @return индекс первого вхождения элемента или -1
+     */
+    public int indexOf(T value) {
+        ensureOpen();
+        codec.encode(value, probe, 0);
+        for (int i = 0; i < size; ++i) {
+            if (matches(i * width)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Возвращает индекс последнего вхождения элемента или -1
+     *
+     * @param value искомый элемент
+     * @return индекс последнего вхождения или -1
+     */
+    public int lastIndexOf(T value) {
+        ensureOpen();
+        codec.encode(value, probe, 0);
+        for (int i = size - 1; i >= 0; --i) {
+            if (matches(i * width)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Сравнивает элемент по смещению offset с закодированным искомым элементом
+     *
+     * @param offset смещение элемента в байтах
+     * @return true - если байты совпадают
+     */
+    private boolean matches(int offset) {
+        int i = 0;
+        for (; i + Long.BYTES <= width; i += Long.BYTES) {
+            if (buffer.getLong(offset + i) != probe.getLong(i)) {
+                return false;
+            }
+        }
+        for (; i < width; ++i) {
+            if (buffer.get(offset + i) != probe.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Проверяет содержится ли элемент в списке
+     *
+     * @param value искомый элемент
+     * @return true - если элемент есть в списке, false - если нет
+     */
+    public boolean contains(T value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Очистка списка. Нативная память не освобождается
+     */
+    public void clear() {
+        ensureOpen();
+        size = 0;
+    }
+
+    /**
+     * Возвращает количество элементов в списке
+     *
+     * @return количество элементов в списке
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет пуст ли список
+     *
+     * @return true - если пуст, false - если есть элементы
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает количество байт нативной памяти, занятых буфером
+     *
+     * @return размер буфера в байтах или 0 после close()
+     */
+    public long allocatedBytes() {
+        return buffer == null ? 0 : (long) capacity * width;
+    }
+
+    /**
+     * Обрезает нативную память до размеров списка
+     */
+    public void trimToSize() {
+        ensureOpen();
+        if (size < capacity) {
+            ByteBuffer newBuffer = allocate(size);
+            ByteBuffer src = buffer.duplicate();
+            src.clear().limit(size * width);
+            newBuffer.put(src).clear();
+            DirectMemory.free(buffer);
+            buffer = newBuffer;
+            capacity = size;
+        }
+    }
+
+    /**
+     * Освобождает нативную память. Повторный вызов ничего не делает
+     */
+    @Override
+    public void close() {
+        if (buffer != null) {
+            DirectMemory.free(buffer);
+            buffer = null;
+            capacity = 0;
+            size = 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapArrayList{" +
+                "size=" + size +
+                ", width=" + width +
+                ", capacity=" + capacity +
+                '}';
+    }
+}
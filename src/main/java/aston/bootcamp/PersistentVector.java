@@ -0,0 +1,589 @@
+package aston.bootcamp;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Неизменяемый (персистентный) вектор на 32-ичном префиксном дереве. Элементы лежат
+ * в листьях по 32 штуки, внутренние узлы хранят по 32 ссылки на детей, а последние
+ * до 32 элементов - в отдельном массиве-хвосте. Индекс разбирается по 5 бит на уровень,
+ * поэтому get, set, append и pop выполняются за O(log₃₂ n): для миллиона элементов
+ * это 4 уровня.</p>
+ * <p>Каждое изменение возвращает новую версию вектора и копирует только путь от корня
+ * до измененного листа, а остальные узлы делит со старой версией. Поэтому снимок списка -
+ * это просто ссылка на текущую версию, без копирования всего массива, как в конструкторе
+ * ArrayList(ArrayList).</p>
+ * <p>Для массовой загрузки используется {@link Builder}: он изменяет принадлежащие ему узлы
+ * на месте и заполняет хвост целыми блоками, а {@link Builder#persistent()} замораживает
+ * результат за O(1). Преобразование из {@link ArrayList} ({@link #from(ArrayList)})
+ * копирует внутренний массив списка блоками по 32 элемента.</p>
+ * <p>Версии вектора можно безопасно читать из разных потоков. Builder не потокобезопасен.</p>
+ *
+ * @param <T> тип элементов в коллекции
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public final class PersistentVector<T> implements Iterable<T> {
+    /**
+     * Количество бит индекса на один уровень дерева
+     */
+    private static final int BITS = 5;
+    /**
+     * Количество детей узла и элементов листа
+     */
+    private static final int WIDTH = 1 << BITS;
+    /**
+     * Маска индекса внутри узла
+     */
+    private static final int MASK = WIDTH - 1;
+    /**
+     * Пустой корень
+     */
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+    /**
+     * Пустой вектор
+     */
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+    /**
+     * Количество элементов
+     */
+    private final int size;
+    /**
+     * Сдвиг индекса для корня: BITS * (высота дерева)
+     */
+    private final int shift;
+    /**
+     * Корень дерева с элементами до хвоста
+     */
+    private final Node root;
+    /**
+     * Последние элементы вектора, от 1 до 32 (пустой только у пустого вектора)
+     */
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Узел дерева: 32 ссылки на детей или 32 элемента в листе. Поле edit указывает
+     * на Builder-владельца, которому разрешено изменять узел на месте
+     */
+    private static final class Node {
+        private final Object edit;
+        private final Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+
+        Node(Object edit) {
+            this(edit, new Object[WIDTH]);
+        }
+    }
+
+    /**
+     * Возвращает пустой вектор
+     *
+     * @param <T> тип элементов
+     * @return пустой вектор
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    /**
+     * Создает вектор из элементов ArrayList. Внутренний массив списка копируется
+     * блоками по 32 элемента без поэлементных вставок
+     *
+     * @param list список, откуда будут взяты элементы
+     * @param <T>  тип элементов
+     * @return вектор с теми же элементами в том же порядке
+     */
+    public static <T> PersistentVector<T> from(ArrayList<? extends T> list) {
+        Builder<T> builder = new Builder<>(empty());
+        builder.addAll(list.backingArray(), 0, list.size());
+        return builder.persistent();
+    }
+
+    /**
+     * Создает вектор из элементов коллекции
+     *
+     * @param target коллекция, откуда будут взяты элементы
+     * @param <T>    тип элементов
+     * @return вектор с теми же элементами в том же порядке
+     */
+    public static <T> PersistentVector<T> from(Collection<? extends T> target) {
+        Object[] values = target.toArray();
+        Builder<T> builder = new Builder<>(empty());
+        builder.addAll(values, 0, values.length);
+        return builder.persistent();
+    }
+
+    /**
+     * Начинает массовое изменение этой версии. Сама версия не меняется
+     *
+     * @return Builder, начальное содержимое которого совпадает с вектором
+     */
+    public Builder<T> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    /**
+     * Проверка индекса по границам вектора
+     *
+     * @param index проверяемый индекс
+     * @param size  размер вектора
+     * @throws IndexOutOfBoundsException если проверка не пройдена
+     */
+    private static void checkRmBounds(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+        }
+    }
+
+    private int tailOffset() {
+        return size - tail.length;
+    }
+
+    /**
+     * Возвращает лист или хвост, в котором лежит элемент с индексом index
+     *
+     * @param index индекс элемента, 0 <= index < size
+     * @return массив из 32 элементов (или хвост)
+     */
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        return leafIn(root, shift, index);
+    }
+
+    private static Object[] leafIn(Node root, int shift, int index) {
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    /**
+     * Возвращает элемент по индексу за O(log₃₂ n)
+     *
+     * @param index индекс, по которому мы хотим получить элемент
+     * @return элемент по индексу
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkRmBounds(index, size);
+        return (T) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Возвращает новую версию, в которой элемент по индексу заменен. Копируется только путь
+     * от корня до листа: не больше 32 ссылок на уровень
+     *
+     * @param index индекс, по которому необходимо заменить элемент
+     * @param value новый элемент
+     * @return новая версия вектора
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    public PersistentVector<T> set(int index, T value) {
+        checkRmBounds(index, size);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = value;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, setIn(shift, root, index, value), tail);
+    }
+
+    private static Node setIn(int level, Node node, int index, Object value) {
+        Node copy = new Node(null, node.array.clone());
+        if (level == 0) {
+            copy.array[index & MASK] = value;
+        } else {
+            int sub = (index >>> level) & MASK;
+            copy.array[sub] = setIn(level - BITS, (Node) node.array[sub], index, value);
+        }
+        return copy;
+    }
+
+    /**
+     * Возвращает новую версию с элементом в конце. Пока хвост не заполнен, копируется
+     * только хвост; заполненный хвост переносится в дерево как новый лист
+     *
+     * @param value элемент, который будет добавлен
+     * @return новая версия вектора
+     */
+    public PersistentVector<T> append(T value) {
+        if (tail.length < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        Node tailNode = new Node(null, tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Node(null);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(null, size, shift, root, tailNode);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{value});
+    }
+
+    /**
+     * Вставляет заполненный хвост в дерево как последний лист. Узлы, принадлежащие edit,
+     * изменяются на месте, остальные копируются
+     *
+     * @param edit     владелец изменяемых узлов или null
+     * @param size     размер вектора вместе с заполненным хвостом
+     * @param level    сдвиг уровня узла
+     * @param parent   узел
+     * @param tailNode лист из хвоста
+     * @return узел с добавленным листом
+     */
+    private static Node pushTail(Object edit, int size, int level, Node parent, Node tailNode) {
+        Node node = editable(edit, parent);
+        int sub = ((size - 1) >>> level) & MASK;
+        Node child;
+        if (level == BITS) {
+            child = tailNode;
+        } else {
+            Node existing = (Node) node.array[sub];
+            child = existing != null
+                    ? pushTail(edit, size, level - BITS, existing, tailNode)
+                    : newPath(edit, level - BITS, tailNode);
+        }
+        node.array[sub] = child;
+        return node;
+    }
+
+    private static Node newPath(Object edit, int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        Node path = new Node(edit);
+        path.array[0] = newPath(edit, level - BITS, node);
+        return path;
+    }
+
+    private static Node editable(Object edit, Node node) {
+        if (edit != null && node.edit == edit) {
+            return node;
+        }
+        return new Node(edit, node.array.clone());
+    }
+
+    /**
+     * Возвращает новую версию без последнего элемента. Если хвост опустел,
+     * хвостом становится последний лист дерева, а лишние уровни дерева убираются
+     *
+     * @return новая версия вектора
+     * @throws NoSuchElementException если вектор пуст
+     */
+    public PersistentVector<T> pop() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (tail.length > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        Object[] newTail = leafIn(root, shift, size - 2);
+        Node newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    private Node popTail(int level, Node node) {
+        int sub = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node child = popTail(level - BITS, (Node) node.array[sub]);
+            if (child == null && sub == 0) {
+                return null;
+            }
+            Node copy = new Node(null, node.array.clone());
+            copy.array[sub] = child;
+            return copy;
+        }
+        if (sub == 0) {
+            return null;
+        }
+        Node copy = new Node(null, node.array.clone());
+        copy.array[sub] = null;
+        return copy;
+    }
+
+    /**
+     * Возвращает количество элементов
+     *
+     * @return количество элементов
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет пуст ли вектор
+     *
+     * @return true - если пуст, false - если есть элементы
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает массив элементов по порядку. Листья копируются целиком
+     *
+     * @return массив, основанный на элементах вектора
+     */
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        int tailOffset = tailOffset();
+        for (int i = 0; i < tailOffset; i += WIDTH) {
+            System.arraycopy(leafIn(root, shift, i), 0, result, i, WIDTH);
+        }
+        System.arraycopy(tail, 0, result, tailOffset, tail.length);
+        return result;
+    }
+
+    /**
+     * Создает изменяемый ArrayList с элементами вектора
+     *
+     * @return новый ArrayList
+     */
+    public ArrayList<T> toArrayList() {
+        Object[] values = toArray();
+        return new ArrayList<>(values, values.length);
+    }
+
+    /**
+     * Возвращает итератор, который проходит вектор по листьям
+     *
+     * @return итератор
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iter();
+    }
+
+    @Override
+    public String toString() {
+        return "PersistentVector{" +
+                "array=" + Arrays.toString(toArray()) +
+                '}';
+    }
+
+    /**
+     * Итератор по элементам вектора. Лист ищется один раз на 32 элемента
+     */
+    private class Iter implements Iterator<T> {
+        private int pointer;
+        private Object[] leaf;
+
+        @Override
+        public boolean hasNext() {
+            return pointer < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (pointer >= size) {
+                throw new NoSuchElementException();
+            }
+            if ((pointer & MASK) == 0) {
+                leaf = leafFor(pointer);
+            }
+            return (T) leaf[pointer++ & MASK];
+        }
+    }
+
+    /**
+     * <p>Изменяемый (transient) режим вектора для массовой загрузки. Узлы, созданные этим
+     * Builder, изменяются на месте, а узлы исходной версии копируются при первом изменении,
+     * поэтому исходная версия не меняется. Хвост всегда занимает массив из 32 элементов.</p>
+     * <p>{@link #persistent()} возвращает неизменяемую версию за O(1) и закрывает Builder:
+     * после этого любые его методы бросают IllegalStateException.</p>
+     *
+     * @param <T> тип элементов
+     */
+    public static final class Builder<T> {
+        /**
+         * Метка владельца узлов; null после persistent()
+         */
+        private Object edit = new Object();
+        private int size;
+        private int shift;
+        private Node root;
+        private Object[] tail;
+        /**
+         * Количество занятых элементов хвоста
+         */
+        private int tailLen;
+
+        private Builder(PersistentVector<T> source) {
+            size = source.size;
+            shift = source.shift;
+            root = new Node(edit, source.root.array.clone());
+            tail = Arrays.copyOf(source.tail, WIDTH);
+            tailLen = source.tail.length;
+        }
+
+        private void checkOpen() {
+            if (edit == null) {
+                throw new IllegalStateException("Builder is already persistent");
+            }
+        }
+
+        /**
+         * Переносит заполненный хвост в дерево и начинает новый хвост
+         */
+        private void pushFullTail() {
+            Node tailNode = new Node(edit, tail);
+            if ((size >>> BITS) > (1 << shift)) {
+                Node newRoot = new Node(edit);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(edit, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(edit, size, shift, root, tailNode);
+            }
+            tail = new Object[WIDTH];
+            tailLen = 0;
+        }
+
+        /**
+         * Добавляет элемент в конец за амортизированное O(1)
+         *
+         * @param value элемент, который будет добавлен
+         * @return этот Builder
+         */
+        public Builder<T> add(T value) {
+            checkOpen();
+            if (tailLen == WIDTH) {
+                pushFullTail();
+            }
+            tail[tailLen++] = value;
+            size += 1;
+            return this;
+        }
+
+        /**
+         * Добавляет все элементы коллекции, копируя их в хвост блоками
+         *
+         * @param values коллекция элементов
+         * @return этот Builder
+         */
+        public Builder<T> addAll(Collection<? extends T> values) {
+            Object[] arr = values.toArray();
+            addAll(arr, 0, arr.length);
+            return this;
+        }
+
+        void addAll(Object[] values, int from, int to) {
+            checkOpen();
+            while (from < to) {
+                if (tailLen == WIDTH) {
+                    pushFullTail();
+                }
+                int chunk = Math.min(WIDTH - tailLen, to - from);
+                System.arraycopy(values, from, tail, tailLen, chunk);
+                tailLen += chunk;
+                size += chunk;
+                from += chunk;
+            }
+        }
+
+        /**
+         * Возвращает элемент по индексу
+         *
+         * @param index индекс, по которому мы хотим получить элемент
+         * @return элемент по индексу
+         * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+         */
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            checkOpen();
+            checkRmBounds(index, size);
+            if (index >= size - tailLen) {
+                return (T) tail[index & MASK];
+            }
+            return (T) leafIn(root, shift, index)[index & MASK];
+        }
+
+        /**
+         * Заменяет элемент по индексу на месте. Чужие узлы на пути копируются один раз
+         *
+         * @param index индекс, по которому необходимо заменить элемент
+         * @param value новый элемент
+         * @return этот Builder
+         * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+         */
+        public Builder<T> set(int index, T value) {
+            checkOpen();
+            checkRmBounds(index, size);
+            if (index >= size - tailLen) {
+                tail[index & MASK] = value;
+                return this;
+            }
+            root = editable(edit, root);
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                int sub = (index >>> level) & MASK;
+                Node child = editable(edit, (Node) node.array[sub]);
+                node.array[sub] = child;
+                node = child;
+            }
+            node.array[index & MASK] = value;
+            return this;
+        }
+
+        /**
+         * Возвращает количество элементов
+         *
+         * @return количество элементов
+         */
+        public int size() {
+            checkOpen();
+            return size;
+        }
+
+        /**
+         * Замораживает содержимое в неизменяемый вектор за O(1) и закрывает Builder
+         *
+         * @return неизменяемый вектор
+         */
+        public PersistentVector<T> persistent() {
+            checkOpen();
+            edit = null;
+            if (size == 0) {
+                return empty();
+            }
+            return new PersistentVector<>(size, shift, root, Arrays.copyOf(tail, tailLen));
+        }
+    }
+}
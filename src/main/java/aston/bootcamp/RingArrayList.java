@@ -0,0 +1,426 @@
+package aston.bootcamp;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * <p>Список на основе кольцевого буфера: элементы занимают участок массива от head
+ * длиной size, который может переходить через конец массива в начало. Поэтому
+ * добавление и удаление с обоих концов ({@code addFirst}, {@code removeFirst},
+ * {@code addLast}, {@code removeLast}) выполняются за O(1) - в отличие от
+ * {@code ArrayList.remove(0)}, который сдвигает весь массив.</p>
+ * <p>{@code get} и {@code set} выполняются за O(1): логический индекс переводится в позицию
+ * массива прибавлением head с переносом через границу. Вставка и удаление в середине
+ * сдвигают меньшую из двух частей, то есть не больше n/2 элементов.</p>
+ * <p>При расширении кольцо разворачивается: новый массив начинается с head-элемента.</p>
+ * <p>Обратите внимание на то, что класс не потокобезопасен и не подходит
+ * для работы в конкурентной среде.</p>
+ *
+ * @param <T> тип элементов в коллекции
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public class RingArrayList<T> {
+    /**
+     * Стандартный размер создаваемого массива
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+    /**
+     * Максимальный размер выделенной памяти для внутреннего массива.
+     * Не Integer.MAX_VALUE из-за ограничений виртуальной машины
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    /**
+     * Внутренний массив, хранящий все элементы
+     */
+    private Object[] array;
+    /**
+     * Позиция первого элемента в массиве
+     */
+    private int head;
+    /**
+     * Количество элементов
+     */
+    private int size;
+
+    /**
+     * Стандартный конструктор, создающий внутренний массив на 10 элементов
+     */
+    public RingArrayList() {
+        array = new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Конструктор, задающий размер, указанный пользователем
+     *
+     * @param initialCapacity размер массива, который нужно создать
+     */
+    public RingArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        array = new Object[initialCapacity];
+    }
+
+    /**
+     * Конструктор, создающий список на основе коллекции
+     *
+     * @param target коллекция, откуда будут взяты элементы
+     */
+    public RingArrayList(Collection<? extends T> target) {
+        Object[] targetArr = target.toArray();
+        size = targetArr.length;
+        array = Arrays.copyOf(targetArr, Math.max(size, DEFAULT_CAPACITY), Object[].class);
+    }
+
+    /**
+     * Переводит логический индекс в позицию массива с переносом через границу
+     *
+     * @param index логический индекс, 0 <= index <= array.length
+     * @return позиция в массиве
+     */
+    private int physical(int index) {
+        int pos = head + index;
+        return pos >= array.length ? pos - array.length : pos;
+    }
+
+    /**
+     * Позиция, предшествующая pos, с переносом через начало массива
+     *
+     * @param pos позиция в массиве
+     * @return предыдущая позиция
+     */
+    private int dec(int pos) {
+        return pos == 0 ? array.length - 1 : pos - 1;
+    }
+
+    /**
+     * Позиция, следующая за pos, с переносом через конец массива
+     *
+     * @param pos позиция в массиве
+     * @return следующая позиция
+     */
+    private int inc(int pos) {
+        return pos == array.length - 1 ? 0 : pos + 1;
+    }
+
+    /**
+     * Расширение массива в 1,5 раза. Кольцо разворачивается: элементы копируются
+     * двумя блоками так, чтобы первый элемент оказался в начале нового массива
+     */
+    private void grow() {
+        int capacity = array.length;
+        if (capacity == MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required array length is too long");
+        }
+        int arrLen = capacity + (capacity / 2) + 1;
+        if (arrLen < 0 || arrLen > MAX_CAPACITY) {
+            arrLen = MAX_CAPACITY;
+        }
+        Object[] newArray = new Object[Math.max(arrLen, DEFAULT_CAPACITY)];
+        int first = Math.min(size, capacity - head);
+        System.arraycopy(array, head, newArray, 0, first);
+        System.arraycopy(array, 0, newArray, first, size - first);
+        array = newArray;
+        head = 0;
+    }
+
+    /**
+     * Проверка индекса по границам списка (для добавления элементов)
+     *
+     * @param index проверяемый индекс
+     * @throws IndexOutOfBoundsException если проверка не пройдена
+     */
+    private void checkAddBounds(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+        }
+    }
+
+    /**
+     * Проверка индекса по границам списка (для удаления и изменения элементов)
+     *
+     * @param index проверяемый индекс
+     * @throws IndexOutOfBoundsException если проверка не пройдена
+     */
+    private void checkRmBounds(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+        }
+    }
+
+    /**
+     * Добавляет элемент в начало списка за амортизированное O(1)
+     *
+     * @param value элемент, который будет добавлен
+     */
+    public void addFirst(T value) {
+        if (size == array.length) {
+            grow();
+        }
+        head = dec(head);
+        array[head] = value;
+        size += 1;
+    }
+
+    /**
+     * Добавляет элемент в конец списка за амортизированное O(1)
+     *
+     * @param value элемент, который будет добавлен
+     */
+    public void addLast(T value) {
+        if (size == array.length) {
+            grow();
+        }
+        array[physical(size)] = value;
+        size += 1;
+    }
+
+    /**
+     * Добавляет элемент в конец списка, аналог {@link #addLast(Object)}
+     *
+     * @param value элемент, который будет добавлен
+     * @return boolean-значение, отображающее успешность произведенной операции
+     */
+    public boolean add(T value) {
+        addLast(value);
+        return true;
+    }
+
+    /**
+     * Вставляет элемент по индексу. Сдвигается меньшая из частей до и после индекса
+     *
+     * @param index индекс, куда нужно вставить элемент
+     * @param value элемент, который будет добавлен
+     * @throws IndexOutOfBoundsException index < 0 || index > size
+     */
+    public void add(int index, T value) {
+        checkAddBounds(index);
+        if (size == array.length) {
+            grow();
+        }
+        if (index < size - index) {
+            head = dec(head);
+            for (int i = 0; i < index; ++i) {
+                array[physical(i)] = array[physical(i + 1)];
+            }
+        } else {
+            for (int i = size; i > index; --i) {
+                array[physical(i)] = array[physical(i - 1)];
+            }
+        }
+        array[physical(index)] = value;
+        size += 1;
+    }
+
+    /**
+     * Возвращает элемент по индексу за константное время O(1)
+     *
+     * @param index индекс, по которому мы хотим получить элемент
+     * @return элемент по индексу
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkRmBounds(index);
+        return (T) array[physical(index)];
+    }
+
+    /**
+     * Возвращает первый элемент
+     *
+     * @return первый элемент
+     * @throws NoSuchElementException если список пуст
+     */
+    @SuppressWarnings("unchecked")
+    public T getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return (T) array[head];
+    }
+
+    /**
+     * Возвращает последний элемент
+     *
+     * @return последний элемент
+     * @throws NoSuchElementException если список пуст
+     */
+    @SuppressWarnings("unchecked")
+    public T getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return (T) array[physical(size - 1)];
+    }
+
+    /**
+     * Замена элемента по индексу за O(1)
+     *
+     * @param index индекс, по которому необходимо заменить элемент
+     * @param value новый элемент
+     * @return замененный элемент
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    @SuppressWarnings("unchecked")
+    public T set(int index, T value) {
+        checkRmBounds(index);
+        int pos = physical(index);
+        T prevElem = (T) array[pos];
+        array[pos] = value;
+        return prevElem;
+    }
+
+    /**
+     * Удаляет и возвращает первый элемент за O(1)
+     *
+     * @return удаленный элемент
+     * @throws NoSuchElementException если список пуст
+     */
+    @SuppressWarnings("unchecked")
+    public T removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        T remElement = (T) array[head];
+        array[head] = null;
+        head = inc(head);
+        size -= 1;
+        return remElement;
+    }
+
+    /**
+     * Удаляет и возвращает последний элемент за O(1)
+     *
+     * @return удаленный элемент
+     * @throws NoSuchElementException если список пуст
+     */
+    @SuppressWarnings("unchecked")
+    public T removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int pos = physical(size - 1);
+        T remElement = (T) array[pos];
+        array[pos] = null;
+        size -= 1;
+        return remElement;
+    }
+
+    /**
+     * Удаляет элемент по индексу. Сдвигается меньшая из частей до и после индекса,
+     * поэтому удаление с любого конца - O(1)
+     *
+     * @param index индекс по которому нужно удалить элемент
+     * @return удаленный элемент
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        checkRmBounds(index);
+        T remElement = (T) array[physical(index)];
+        if (index < size - 1 - index) {
+            for (int i = index; i > 0; --i) {
+                array[physical(i)] = array[physical(i - 1)];
+            }
+            array[head] = null;
+            head = inc(head);
+        } else {
+            for (int i = index; i < size - 1; ++i) {
+                array[physical(i)] = array[physical(i + 1)];
+            }
+            array[physical(size - 1)] = null;
+        }
+        size -= 1;
+        return remElement;
+    }
+
+    /**
+     * Удаление элемента по передаваемому объекту. Выполняется за O(n)
+     *
+     * @param remObj объект, который необходимо удалить
+     * @return успешность проведенного удаления
+     */
+    public boolean remove(Object remObj) {
+        int index = indexOf(remObj);
+        if (index == -1) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Возвращает индекс первого вхождения элемента или -1
+     *
+     * @param value искомый элемент
+     * @return индекс первого вхождения элемента или -1
+     */
+    public int indexOf(Object value) {
+        for (int i = 0; i < size; ++i) {
+            if (Objects.equals(value, array[physical(i)])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Проверяет содержится ли элемент в списке
+     *
+     * @param value искомый элемент
+     * @return true - если элемент есть в списке, false - если нет
+     */
+    public boolean contains(Object value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Очистка списка
+     */
+    public void clear() {
+        Arrays.fill(array, null);
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Возвращает количество элементов в списке
+     *
+     * @return количество элементов в списке
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет пуст ли список
+     *
+     * @return true - если пуст, false - если есть элементы
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает массив элементов списка по порядку
+     *
+     * @return массив, основанный на элементах списка
+     */
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        int first = Math.min(size, array.length - head);
+        System.arraycopy(array, head, result, 0, first);
+        System.arraycopy(array, 0, result, first, size - first);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "RingArrayList{" +
+                "array=" + Arrays.toString(toArray()) +
+                '}';
+    }
+}
@@ -0,0 +1,118 @@
+package aston.bootcamp;
+
+/**
+ * <p>Стратегия автоматического сжатия внутреннего массива {@link ArrayList} после удалений.
+ * Массив сжимается, когда заполнение падает ниже доли shrinkBelow от вместимости,
+ * до вместимости size * headroom, но не меньше minCapacity.</p>
+ * <p>Гистерезис: после сжатия заполнение равно 1 / headroom, то есть строго между порогом
+ * сжатия и полным массивом. Поэтому чередование add и remove около порога не вызывает
+ * ни расширения, ни повторного сжатия: чтобы массив снова изменился, размер должен
+ * вырасти до вместимости или упасть еще в headroom * shrinkBelow раз.</p>
+ * <p>Стандартная стратегия {@link #DEFAULT} сжимает массив, заполненный меньше чем на четверть,
+ * до двойного запаса.</p>
+ *
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public final class ShrinkPolicy {
+    /**
+     * Сжатие при заполнении меньше 1/4 до вместимости в два раза больше размера
+     */
+    public static final ShrinkPolicy DEFAULT = new ShrinkPolicy(0.25, 2.0, GrowthPolicy.START_CAPACITY);
+    /**
+     * Доля вместимости, ниже которой массив сжимается
+     */
+    private final double shrinkBelow;
+    /**
+     * Во сколько раз новая вместимость больше размера
+     */
+    private final double headroom;
+    /**
+     * Вместимость, меньше которой массив не сжимается
+     */
+    private final int minCapacity;
+
+    private ShrinkPolicy(double shrinkBelow, double headroom, int minCapacity) {
+        this.shrinkBelow = shrinkBelow;
+        this.headroom = headroom;
+        this.minCapacity = minCapacity;
+    }
+
+    /**
+     * Создает стратегию сжатия
+     *
+     * @param shrinkBelow доля вместимости от 0 до 1, ниже которой массив сжимается
+     * @param headroom    во сколько раз новая вместимость больше размера, больше 1
+     * @param minCapacity вместимость, меньше которой массив не сжимается
+     * @return стратегия
+     * @throws IllegalArgumentException если параметры вне границ или shrinkBelow * headroom >= 1,
+     *                                  то есть сжатый массив сразу попадал бы под порог снова
+     */
+    public static ShrinkPolicy of(double shrinkBelow, double headroom, int minCapacity) {
+        if (!(shrinkBelow > 0.0 && shrinkBelow < 1.0)) {
+            throw new IllegalArgumentException("Illegal shrink threshold: " + shrinkBelow);
+        }
+        if (!(headroom > 1.0) || Double.isInfinite(headroom)) {
+            throw new IllegalArgumentException("Illegal shrink headroom: " + headroom);
+        }
+        if (shrinkBelow * headroom >= 1.0) {
+            throw new IllegalArgumentException("Shrink threshold " + shrinkBelow
+                    + " and headroom " + headroom + " leave no hysteresis");
+        }
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("Illegal min capacity: " + minCapacity);
+        }
+        return new ShrinkPolicy(shrinkBelow, headroom, minCapacity);
+    }
+
+    /**
+     * Возвращает новую вместимость, если массив нужно сжать
+     *
+     * @param size     текущий размер
+     * @param capacity текущая вместимость
+     * @return новая вместимость, меньше capacity, или -1, если сжимать не нужно
+     */
+    int shrinkTo(int size, int capacity) {
+        if (capacity <= minCapacity || size >= capacity * shrinkBelow) {
+            return -1;
+        }
+        long target = Math.max(minCapacity, (long) Math.ceil(size * headroom));
+        return target < capacity ? (int) target : -1;
+    }
+
+    /**
+     * Доля вместимости, ниже которой массив сжимается
+     *
+     * @return порог сжатия
+     */
+    public double shrinkBelow() {
+        return shrinkBelow;
+    }
+
+    /**
+     * Во сколько раз вместимость после сжатия больше размера
+     *
+     * @return запас после сжатия
+     */
+    public double headroom() {
+        return headroom;
+    }
+
+    /**
+     * Вместимость, меньше которой массив не сжимается
+     *
+     * @return наименьшая вместимость
+     */
+    public int minCapacity() {
+        return minCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return "ShrinkPolicy{" +
+                "shrinkBelow=" + shrinkBelow +
+                ", headroom=" + headroom +
+                ", minCapacity=" + minCapacity +
+                '}';
+    }
+}
@@ -0,0 +1,426 @@
+package aston.bootcamp;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * <p>Список, который всегда упорядочен по компаратору. Поиск элементов идет бинарным
+ * поиском: {@code binarySearch}, {@code indexOf}, {@code contains}, {@code floor},
+ * {@code ceiling} и запросы диапазона выполняются за O(log n).</p>
+ * <p>Вставка ищет позицию бинарным поиском и сдвигает хвост одним arraycopy, поэтому стоит
+ * O(log n) сравнений и O(n) копирования. Равные элементы хранятся в порядке вставки.
+ * {@link #addAll(Collection)} сортирует пакет и сливает его с массивом за один проход
+ * с конца, без вставки по одному элементу.</p>
+ * <p>Замена элементов по индексу не поддерживается, так как может нарушить порядок.</p>
+ * <p>Обратите внимание на то, что класс не потокобезопасен и не подходит
+ * для работы в конкурентной среде.</p>
+ *
+ * @param <T> тип элементов в коллекции
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public class SortedArrayList<T> {
+    /**
+     * Стандартный размер создаваемого массива
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+    /**
+     * Максимальный размер выделенной памяти для внутреннего массива.
+     * Не Integer.MAX_VALUE из-за ограничений виртуальной машины
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    /**
+     * Компаратор, задающий порядок
+     */
+    private final Comparator<? super T> comparator;
+    /**
+     * Внутренний массив, хранящий все элементы по возрастанию
+     */
+    private Object[] array;
+    /**
+     * Количество элементов в массиве
+     */
+    private int size;
+
+    /**
+     * Конструктор, создающий список с порядком по компаратору
+     *
+     * @param comparator компаратор, задающий порядок
+     */
+    public SortedArrayList(Comparator<? super T> comparator) {
+        this.comparator = Objects.requireNonNull(comparator, "comparator");
+        this.array = new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Конструктор, создающий упорядоченный список из коллекции. Элементы сортируются
+     * стабильно один раз
+     *
+     * @param comparator компаратор, задающий порядок
+     * @param target     коллекция, откуда будут взяты элементы
+     */
+    public SortedArrayList(Comparator<? super T> comparator, Collection<? extends T> target) {
+        this.comparator = Objects.requireNonNull(comparator, "comparator");
+        Object[] targetArr = target.toArray();
+        this.array = Arrays.copyOf(targetArr, Math.max(targetArr.length, DEFAULT_CAPACITY), Object[].class);
+        this.size = targetArr.length;
+        ArraySorter.sort(array, 0, size, comparator, true);
+    }
+
+    /**
+     * Создает список с естественным порядком элементов
+     *
+     * @param <T> тип элементов, реализующих Comparable
+     * @return пустой список
+     */
+    public static <T extends Comparable<? super T>> SortedArrayList<T> naturalOrder() {
+        return new SortedArrayList<>(Comparator.naturalOrder());
+    }
+
+    /**
+     * Расширяет внутренний массив в 1,5 раза, но не меньше чем до minCapacity
+     *
+     * @param minCapacity минимально необходимая вместимость
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required array length is too long");
+        }
+        int capacity = array.length;
+        long arrLen = Math.max(minCapacity, capacity + (capacity / 2) + 1L);
+        array = Arrays.copyOf(array, (int) Math.min(Math.max(arrLen, DEFAULT_CAPACITY), MAX_CAPACITY));
+    }
+
+    /**
+     * Проверка индекса по границам списка
+     *
+     * @param index проверяемый индекс
+     * @throws IndexOutOfBoundsException если проверка не пройдена
+     */
+    private void checkRmBounds(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object x, T key) {
+        return comparator.compare((T) x, key);
+    }
+
+    /**
+     * Первая позиция, элемент на которой не меньше key
+     *
+     * @param key ключ
+     * @return позиция от 0 до size
+     */
+    private int lowerBound(T key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(array[mid], key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Первая позиция, элемент на которой больше key
+     *
+     * @param key ключ
+     * @return позиция от 0 до size
+     */
+    private int upperBound(T key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(array[mid], key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Бинарный поиск ключа. Среди равных элементов возвращается первый
+     *
+     * @param key искомый ключ
+     * @return индекс ключа или (-(точка вставки) - 1), если ключа нет
+     */
+    public int binarySearch(T key) {
+        int pos = lowerBound(key);
+        if (pos < size && compare(array[pos], key) == 0) {
+            return pos;
+        }
+        return -(pos + 1);
+    }
+
+    /**
+     * Вставляет элемент на его место по порядку: бинарный поиск позиции после всех равных
+     * элементов и один сдвиг хвоста arraycopy
+     *
+     * @param value элемент, который будет добавлен
+     * @return индекс, на который встал элемент
+     */
+    public int insertSorted(T value) {
+        int pos = upperBound(value);
+        if (size == array.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(array, pos, array, pos + 1, size - pos);
+        array[pos] = value;
+        size += 1;
+        return pos;
+    }
+
+    /**
+     * Добавляет элемент на его место по порядку, аналог {@link #insertSorted(Object)}
+     *
+     * @param value элемент, который будет добавлен
+     * @return boolean-значение, отображающее успешность произведенной операции
+     */
+    public boolean add(T value) {
+        insertSorted(value);
+        return true;
+    }
+
+    /**
+     * Добавляет все элементы коллекции. Пакет сортируется стабильно, затем сливается
+     * с внутренним массивом за один проход с конца: каждый элемент сдвигается не больше
+     * одного раза. Стоит O(k log k + n + k) вместо O(k·n) при вставке по одному
+     *
+     * @param values коллекция элементов
+     * @return true - если произошло изменение коллекции, false - если нет
+     */
+    public boolean addAll(Collection<? extends T> values) {
+        Object[] batch = values.toArray();
+        int batchLen = batch.length;
+        if (batchLen == 0) {
+            return false;
+        }
+        ArraySorter.sort(batch, 0, batchLen, comparator, true);
+        int newSize = size + batchLen;
+        if (newSize < 0 || newSize > array.length) {
+            grow(newSize);
+        }
+        int i = size - 1;
+        int j = batchLen - 1;
+        int k = newSize - 1;
+        while (j >= 0) {
+            if (i >= 0 && compare(array[i], batchElem(batch, j)) > 0) {
+                array[k--] = array[i--];
+            } else {
+                array[k--] = batch[j--];
+            }
+        }
+        size = newSize;
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T batchElem(Object[] batch, int j) {
+        return (T) batch[j];
+    }
+
+    /**
+     * Возвращает элемент по индексу за константное время O(1)
+     *
+     * @param index индекс, по которому мы хотим получить элемент
+     * @return элемент по индексу
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkRmBounds(index);
+        return (T) array[index];
+    }
+
+    /**
+     * Удаляет элемент по индексу. Выполняется за O(n)
+     *
+     * @param index индекс по которому нужно удалить элемент
+     * @return удаленный элемент
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        checkRmBounds(index);
+        T remElement = (T) array[index];
+        int newSize = size - 1;
+        System.arraycopy(array, index + 1, array, index, newSize - index);
+        array[newSize] = null;
+        size = newSize;
+        return remElement;
+    }
+
+    /**
+     * Удаляет первый элемент, равный ключу по компаратору. Поиск - O(log n)
+     *
+     * @param key ключ
+     * @return успешность проведенного удаления
+     */
+    public boolean remove(T key) {
+        int index = binarySearch(key);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Индекс первого элемента, равного ключу по компаратору, за O(log n)
+     *
+     * @param key искомый ключ
+     * @return индекс первого вхождения или -1
+     */
+    public int indexOf(T key) {
+        int index = binarySearch(key);
+        return index < 0 ? -1 : index;
+    }
+
+    /**
+     * Индекс последнего элемента, равного ключу по компаратору, за O(log n)
+     *
+     * @param key искомый ключ
+     * @return индекс последнего вхождения или -1
+     */
+    public int lastIndexOf(T key) {
+        int pos = upperBound(key) - 1;
+        return pos >= 0 && compare(array[pos], key) == 0 ? pos : -1;
+    }
+
+    /**
+     * Проверяет, есть ли элемент, равный ключу по компаратору, за O(log n)
+     *
+     * @param key искомый ключ
+     * @return true - если элемент есть в списке, false - если нет
+     */
+    public boolean contains(T key) {
+        return binarySearch(key) >= 0;
+    }
+
+    /**
+     * Наибольший элемент, не больший ключа
+     *
+     * @param key ключ
+     * @return элемент или null, если такого нет
+     */
+    @SuppressWarnings("unchecked")
+    public T floor(T key) {
+        int pos = upperBound(key) - 1;
+        return pos >= 0 ? (T) array[pos] : null;
+    }
+
+    /**
+     * Наименьший элемент, не меньший ключа
+     *
+     * @param key ключ
+     * @return элемент или null, если такого нет
+     */
+    @SuppressWarnings("unchecked")
+    public T ceiling(T key) {
+        int pos = lowerBound(key);
+        return pos < size ? (T) array[pos] : null;
+    }
+
+    /**
+     * Наибольший элемент, строго меньший ключа
+     *
+     * @param key ключ
+     * @return элемент или null, если такого нет
+     */
+    @SuppressWarnings("unchecked")
+    public T lower(T key) {
+        int pos = lowerBound(key) - 1;
+        return pos >= 0 ? (T) array[pos] : null;
+    }
+
+    /**
+     * Наименьший элемент, строго больший ключа
+     *
+     * @param key ключ
+     * @return элемент или null, если такого нет
+     */
+    @SuppressWarnings("unchecked")
+    public T higher(T key) {
+        int pos = upperBound(key);
+        return pos < size ? (T) array[pos] : null;
+    }
+
+    /**
+     * Количество элементов в диапазоне [from, to) за O(log n)
+     *
+     * @param from нижняя граница, включительно
+     * @param to   верхняя граница, не включительно
+     * @return количество элементов
+     */
+    public int countRange(T from, T to) {
+        return Math.max(0, lowerBound(to) - lowerBound(from));
+    }
+
+    /**
+     * Возвращает элементы диапазона [from, to) по порядку. Границы находятся
+     * бинарным поиском, элементы копируются одним вызовом
+     *
+     * @param from нижняя граница, включительно
+     * @param to   верхняя граница, не включительно
+     * @return новый ArrayList с элементами диапазона
+     */
+    public ArrayList<T> range(T from, T to) {
+        int low = lowerBound(from);
+        int high = Math.max(low, lowerBound(to));
+        return new ArrayList<>(Arrays.copyOfRange(array, low, high), high - low);
+    }
+
+    /**
+     * Очистка списка
+     */
+    public void clear() {
+        Arrays.fill(array, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Возвращает количество элементов в списке
+     *
+     * @return количество элементов в списке
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет пуст ли список
+     *
+     * @return true - если пуст, false - если есть элементы
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает массив элементов по порядку
+     *
+     * @return массив, основанный на элементах списка
+     */
+    public Object[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    @Override
+    public String toString() {
+        return "SortedArrayList{" +
+                "array=" + Arrays.toString(toArray()) +
+                '}';
+    }
+}
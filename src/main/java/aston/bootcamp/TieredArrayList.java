@@ -0,0 +1,413 @@
+package aston.bootcamp;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * <p>Список в виде tiered vector: элементы лежат в блоках фиксированного размера
+ * (степень двойки), а блоки перечислены в массиве-каталоге. Каждый блок - кольцевой
+ * буфер со своим началом, поэтому элемент можно снять с конца блока и положить в начало
+ * следующего за O(1).</p>
+ * <p>Вставка и удаление в середине сдвигают элементы только внутри одного блока,
+ * а в остальных блоках переносят по одному элементу через границу: O(B + n/B),
+ * при B порядка √n это O(√n). Список не требует одного непрерывного массива, а при росте
+ * копируется только каталог ссылок на блоки, а не сами элементы.</p>
+ * <p>Доступ по индексу - O(1): номер блока и позиция в нем вычисляются сдвигом и маской.</p>
+ * <p>Обратите внимание на то, что класс не потокобезопасен и не подходит
+ * для работы в конкурентной среде.</p>
+ *
+ * @param <T> тип элементов в коллекции
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+public class TieredArrayList<T> {
+    /**
+     * Стандартный размер блока
+     */
+    private static final int DEFAULT_BLOCK_SIZE = 1 << 10;
+    /**
+     * Стандартный размер каталога блоков
+     */
+    private static final int DEFAULT_DIRECTORY = 4;
+    /**
+     * Максимальное количество элементов, как у ArrayList
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    /**
+     * Каталог блоков. Все блоки, кроме последнего, заполнены полностью
+     */
+    private Object[][] blocks;
+    /**
+     * Позиция первого элемента в каждом блоке
+     */
+    private int[] heads;
+    /**
+     * Количество выделенных блоков
+     */
+    private int blockCount;
+    /**
+     * Количество элементов
+     */
+    private int size;
+    /**
+     * log2 размера блока
+     */
+    private final int shift;
+    /**
+     * Маска позиции внутри блока
+     */
+    private final int mask;
+
+    /**
+     * Стандартный конструктор с блоками по 1024 элемента
+     */
+    public TieredArrayList() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Конструктор, задающий размер блока. Вставка в середину дешевле всего,
+     * когда размер блока близок к √n
+     *
+     * @param blockSize размер блока, степень двойки не меньше 2
+     * @throws IllegalArgumentException если размер блока не степень двойки
+     */
+    public TieredArrayList(int blockSize) {
+        if (blockSize < 2 || Integer.bitCount(blockSize) != 1) {
+            throw new IllegalArgumentException("Block size must be a power of two: " + blockSize);
+        }
+        shift = Integer.numberOfTrailingZeros(blockSize);
+        mask = blockSize - 1;
+        blocks = new Object[DEFAULT_DIRECTORY][];
+        heads = new int[DEFAULT_DIRECTORY];
+    }
+
+    /**
+     * Конструктор, создающий список на основе коллекции
+     *
+     * @param target коллекция, откуда будут взяты элементы
+     */
+    public TieredArrayList(Collection<? extends T> target) {
+        this(DEFAULT_BLOCK_SIZE);
+        for (T value : target) {
+            add(value);
+        }
+    }
+
+    /**
+     * Добавляет пустой блок в конец. Каталог растет в 1,5 раза; копируются только ссылки на блоки
+     */
+    private void addBlock() {
+        if (size == MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required array length is too long");
+        }
+        if (blockCount == blocks.length) {
+            int dirLen = blockCount + (blockCount / 2) + 1;
+            blocks = Arrays.copyOf(blocks, dirLen);
+            heads = Arrays.copyOf(heads, dirLen);
+        }
+        blocks[blockCount] = new Object[mask + 1];
+        heads[blockCount] = 0;
+        blockCount += 1;
+    }
+
+    /**
+     * Освобождает последний блок, если он опустел
+     */
+    private void dropEmptyBlock() {
+        if (size == (blockCount - 1) << shift) {
+            blockCount -= 1;
+            blocks[blockCount] = null;
+        }
+    }
+
+    /**
+     * Количество элементов в блоке b
+     *
+     * @param b номер блока
+     * @return количество элементов
+     */
+    private int blockSize(int b) {
+        return Math.min(mask + 1, size - (b << shift));
+    }
+
+    /**
+     * Проверка индекса по границам списка (для добавления элементов)
+     *
+     * @param index проверяемый индекс
+     * @throws IndexOutOfBoundsException если проверка не пройдена
+     */
+    private void checkAddBounds(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+        }
+    }
+
+    /**
+     * Проверка индекса по границам списка (для удаления и изменения элементов)
+     *
+     * @param index проверяемый индекс
+     * @throws IndexOutOfBoundsException если проверка не пройдена
+     */
+    private void checkRmBounds(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index" + index + " is out of bound");
+        }
+    }
+
+    /**
+     * Добавляет элемент в конец списка за O(1)
+     *
+     * @param value элемент, который будет добавлен
+     * @return boolean-значение, отображающее успешность произведенной операции
+     */
+    public boolean add(T value) {
+        if (size == blockCount << shift) {
+            addBlock();
+        }
+        int b = size >>> shift;
+        blocks[b][(heads[b] + size) & mask] = value;
+        size += 1;
+        return true;
+    }
+
+    /**
+     * Вставляет элемент по индексу за O(B + n/B). Каждый следующий блок отдает свой
+     * последний элемент в начало следующего блока, затем элементы сдвигаются внутри
+     * блока, куда идет вставка
+     *
+     * @param index индекс, куда нужно вставить элемент
+     * @param value элемент, который будет добавлен
+     * @throws IndexOutOfBoundsException index < 0 || index > size
+     */
+    public void add(int index, T value) {
+        checkAddBounds(index);
+        if (index == size) {
+            add(value);
+            return;
+        }
+        if (size == blockCount << shift) {
+            addBlock();
+        }
+        int last = size >>> shift;
+        int b = index >>> shift;
+        int count = size - (last << shift);
+        for (int k = last; k > b; --k) {
+            Object[] prev = blocks[k - 1];
+            int prevTail = (heads[k - 1] + mask) & mask;
+            heads[k] = (heads[k] - 1) & mask;
+            blocks[k][heads[k]] = prev[prevTail];
+            prev[prevTail] = null;
+            count = mask;
+        }
+        insertInBlock(b, count, index & mask, value);
+        size += 1;
+    }
+
+    /**
+     * Вставка в неполный блок: сдвигается меньшая из двух частей блока
+     *
+     * @param b     номер блока
+     * @param count количество элементов в блоке, меньше размера блока
+     * @param pos   позиция вставки внутри блока
+     * @param value элемент
+     */
+    private void insertInBlock(int b, int count, int pos, Object value) {
+        Object[] block = blocks[b];
+        int head = heads[b];
+        if (pos < count - pos) {
+            head = (head - 1) & mask;
+            for (int j = 0; j < pos; ++j) {
+                block[(head + j) & mask] = block[(head + j + 1) & mask];
+            }
+            heads[b] = head;
+        } else {
+            for (int j = count; j > pos; --j) {
+                block[(head + j) & mask] = block[(head + j - 1) & mask];
+            }
+        }
+        block[(head + pos) & mask] = value;
+    }
+
+    /**
+     * Возвращает элемент по индексу за константное время O(1)
+     *
+     * @param index индекс, по которому мы хотим получить элемент
+     * @return элемент по индексу
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkRmBounds(index);
+        int b = index >>> shift;
+        return (T) blocks[b][(heads[b] + index) & mask];
+    }
+
+    /**
+     * Замена элемента по индексу за O(1)
+     *
+     * @param index индекс, по которому необходимо заменить элемент
+     * @param value новый элемент
+     * @return замененный элемент
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    @SuppressWarnings("unchecked")
+    public T set(int index, T value) {
+        checkRmBounds(index);
+        int b = index >>> shift;
+        int pos = (heads[b] + index) & mask;
+        T prevElem = (T) blocks[b][pos];
+        blocks[b][pos] = value;
+        return prevElem;
+    }
+
+    /**
+     * Удаляет элемент по индексу за O(B + n/B). Элементы сдвигаются внутри блока,
+     * затем каждый следующий блок отдает свой первый элемент в конец предыдущего
+     *
+     * @param index индекс по которому нужно удалить элемент
+     * @return удаленный элемент
+     * @throws IndexOutOfBoundsException если (index < 0 || index >= size)
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        checkRmBounds(index);
+        int b = index >>> shift;
+        T remElement = (T) removeInBlock(b, blockSize(b), index & mask);
+        int last = (size - 1) >>> shift;
+        for (int k = b + 1; k <= last; ++k) {
+            Object[] next = blocks[k];
+            int nextHead = heads[k];
+            blocks[k - 1][(heads[k - 1] + mask) & mask] = next[nextHead];
+            next[nextHead] = null;
+            heads[k] = (nextHead + 1) & mask;
+        }
+        size -= 1;
+        dropEmptyBlock();
+        return remElement;
+    }
+
+    /**
+     * Удаление из блока: сдвигается меньшая из двух частей блока
+     *
+     * @param b     номер блока
+     * @param count количество элементов в блоке
+     * @param pos   позиция удаляемого элемента внутри блока
+     * @return удаленный элемент
+     */
+    private Object removeInBlock(int b, int count, int pos) {
+        Object[] block = blocks[b];
+        int head = heads[b];
+        Object remElement = block[(head + pos) & mask];
+        if (pos < count - 1 - pos) {
+            for (int j = pos; j > 0; --j) {
+                block[(head + j) & mask] = block[(head + j - 1) & mask];
+            }
+            block[head] = null;
+            heads[b] = (head + 1) & mask;
+        } else {
+            for (int j = pos; j < count - 1; ++j) {
+                block[(head + j) & mask] = block[(head + j + 1) & mask];
+            }
+            block[(head + count - 1) & mask] = null;
+        }
+        return remElement;
+    }
+
+    /**
+     * Удаление элемента по передаваемому объекту. Выполняется за O(n)
+     *
+     * @param remObj объект, который необходимо удалить
+     * @return успешность проведенного удаления
+     */
+    public boolean remove(Object remObj) {
+        int index = indexOf(remObj);
+        if (index == -1) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Возвращает индекс первого вхождения элемента или -1
+     *
+     * @param value искомый элемент
+     * @return индекс первого вхождения элемента или -1
+     */
+    public int indexOf(Object value) {
+        for (int b = 0; b < blockCount; ++b) {
+            Object[] block = blocks[b];
+            int head = heads[b];
+            int count = blockSize(b);
+            for (int j = 0; j < count; ++j) {
+                if (Objects.equals(value, block[(head + j) & mask])) {
+                    return (b << shift) + j;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Проверяет содержится ли элемент в списке
+     *
+     * @param value искомый элемент
+     * @return true - если элемент есть в списке, false - если нет
+     */
+    public boolean contains(Object value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Очистка списка. Блоки освобождаются, каталог сохраняет размер
+     */
+    public void clear() {
+        Arrays.fill(blocks, 0, blockCount, null);
+        blockCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Возвращает количество элементов в списке
+     *
+     * @return количество элементов в списке
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Проверяет пуст ли список
+     *
+     * @return true - если пуст, false - если есть элементы
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает массив элементов списка по порядку
+     *
+     * @return массив, основанный на элементах списка
+     */
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        for (int b = 0; b < blockCount; ++b) {
+            int count = blockSize(b);
+            int head = heads[b];
+            int first = Math.min(count, mask + 1 - head);
+            System.arraycopy(blocks[b], head, result, b << shift, first);
+            System.arraycopy(blocks[b], 0, result, (b << shift) + first, count - first);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "TieredArrayList{" +
+                "array=" + Arrays.toString(toArray()) +
+                '}';
+    }
+}
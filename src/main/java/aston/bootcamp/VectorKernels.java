@@ -0,0 +1,324 @@
+package aston.bootcamp;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * <p>Векторные реализации поиска и агрегатов для примитивных списков на jdk.incubator.vector.
+ * Каждый метод обрабатывает первые size элементов массива блоками по длине вектора
+ * предпочтительной для процессора формы, а остаток - скалярным циклом.</p>
+ * <p>Класс ссылается на инкубаторный модуль, поэтому загружается только когда
+ * {@link VectorSupport#ENABLED} истинно; иначе списки используют свои скалярные циклы.</p>
+ * <p>Сравнение double такое же, как у {@code Double.compare}: все NaN равны между собой,
+ * а 0.0 и -0.0 различаются. Поэтому не-NaN значения сравниваются по битам, а NaN ищется
+ * проверкой IS_NAN. Сумма double складывается по дорожкам вектора, поэтому может отличаться
+ * от последовательной суммы в последних разрядах.</p>
+ *
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+final class VectorKernels {
+    private static final VectorSpecies<Integer> INT = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLE = DoubleVector.SPECIES_PREFERRED;
+    /**
+     * Вектор int вдвое меньшей ширины: после расширения до long занимает один вектор LONG
+     */
+    private static final VectorSpecies<Integer> INT_HALF =
+            IntVector.SPECIES_PREFERRED.withShape(VectorShape.forBitSize(LONG.vectorBitSize() / 2));
+
+    private VectorKernels() {
+    }
+
+    /**
+     * Количество дорожек int-вектора
+     *
+     * @return длина вектора в элементах int
+     */
+    static int lanes() {
+        return INT.length();
+    }
+
+    static int indexOf(int[] array, int size, int value) {
+        IntVector key = IntVector.broadcast(INT, value);
+        int i = 0;
+        for (int bound = INT.loopBound(size); i < bound; i += INT.length()) {
+            VectorMask<Integer> match = IntVector.fromArray(INT, array, i).eq(key);
+            if (match.anyTrue()) {
+                return i + match.firstTrue();
+            }
+        }
+        for (; i < size; ++i) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int lastIndexOf(int[] array, int size, int value) {
+        IntVector key = IntVector.broadcast(INT, value);
+        int i = size;
+        for (int tail = size - INT.loopBound(size); tail > 0; --tail) {
+            if (array[--i] == value) {
+                return i;
+            }
+        }
+        while (i > 0) {
+            i -= INT.length();
+            VectorMask<Integer> match = IntVector.fromArray(INT, array, i).eq(key);
+            if (match.anyTrue()) {
+                return i + match.lastTrue();
+            }
+        }
+        return -1;
+    }
+
+    static int count(int[] array, int size, int value) {
+        IntVector key = IntVector.broadcast(INT, value);
+        int count = 0;
+        int i = 0;
+        for (int bound = INT.loopBound(size); i < bound; i += INT.length()) {
+            count += IntVector.fromArray(INT, array, i).eq(key).trueCount();
+        }
+        for (; i < size; ++i) {
+            if (array[i] == value) {
+                count += 1;
+            }
+        }
+        return count;
+    }
+
+    static int min(int[] array, int size) {
+        IntVector acc = IntVector.broadcast(INT, Integer.MAX_VALUE);
+        int i = 0;
+        for (int bound = INT.loopBound(size); i < bound; i += INT.length()) {
+            acc = acc.min(IntVector.fromArray(INT, array, i));
+        }
+        int min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < size; ++i) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    static int max(int[] array, int size) {
+        IntVector acc = IntVector.broadcast(INT, Integer.MIN_VALUE);
+        int i = 0;
+        for (int bound = INT.loopBound(size); i < bound; i += INT.length()) {
+            acc = acc.max(IntVector.fromArray(INT, array, i));
+        }
+        int max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < size; ++i) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Сумма int в long без переполнения: каждый блок расширяется до long-вектора
+     */
+    static long sum(int[] array, int size) {
+        LongVector acc = LongVector.zero(LONG);
+        int i = 0;
+        for (int bound = INT_HALF.loopBound(size); i < bound; i += INT_HALF.length()) {
+            acc = acc.add((LongVector) IntVector.fromArray(INT_HALF, array, i)
+                    .convertShape(VectorOperators.I2L, LONG, 0));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < size; ++i) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    static int indexOf(long[] array, int size, long value) {
+        LongVector key = LongVector.broadcast(LONG, value);
+        int i = 0;
+        for (int bound = LONG.loopBound(size); i < bound; i += LONG.length()) {
+            VectorMask<Long> match = LongVector.fromArray(LONG, array, i).eq(key);
+            if (match.anyTrue()) {
+                return i + match.firstTrue();
+            }
+        }
+        for (; i < size; ++i) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int lastIndexOf(long[] array, int size, long value) {
+        LongVector key = LongVector.broadcast(LONG, value);
+        int i = size;
+        for (int tail = size - LONG.loopBound(size); tail > 0; --tail) {
+            if (array[--i] == value) {
+                return i;
+            }
+        }
+        while (i > 0) {
+            i -= LONG.length();
+            VectorMask<Long> match = LongVector.fromArray(LONG, array, i).eq(key);
+            if (match.anyTrue()) {
+                return i + match.lastTrue();
+            }
+        }
+        return -1;
+    }
+
+    static int count(long[] array, int size, long value) {
+        LongVector key = LongVector.broadcast(LONG, value);
+        int count = 0;
+        int i = 0;
+        for (int bound = LONG.loopBound(size); i < bound; i += LONG.length()) {
+            count += LongVector.fromArray(LONG, array, i).eq(key).trueCount();
+        }
+        for (; i < size; ++i) {
+            if (array[i] == value) {
+                count += 1;
+            }
+        }
+        return count;
+    }
+
+    static long min(long[] array, int size) {
+        LongVector acc = LongVector.broadcast(LONG, Long.MAX_VALUE);
+        int i = 0;
+        for (int bound = LONG.loopBound(size); i < bound; i += LONG.length()) {
+            acc = acc.min(LongVector.fromArray(LONG, array, i));
+        }
+        long min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < size; ++i) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    static long max(long[] array, int size) {
+        LongVector acc = LongVector.broadcast(LONG, Long.MIN_VALUE);
+        int i = 0;
+        for (int bound = LONG.loopBound(size); i < bound; i += LONG.length()) {
+            acc = acc.max(LongVector.fromArray(LONG, array, i));
+        }
+        long max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < size; ++i) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    static long sum(long[] array, int size) {
+        LongVector acc = LongVector.zero(LONG);
+        int i = 0;
+        for (int bound = LONG.loopBound(size); i < bound; i += LONG.length()) {
+            acc = acc.add(LongVector.fromArray(LONG, array, i));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < size; ++i) {
+            sum += array[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Маска дорожек, равных value в смысле Double.compare
+     */
+    private static VectorMask<Double> matches(DoubleVector block, double value) {
+        if (Double.isNaN(value)) {
+            return block.test(VectorOperators.IS_NAN);
+        }
+        return block.reinterpretAsLongs().eq(Double.doubleToRawLongBits(value)).cast(DOUBLE);
+    }
+
+    static int indexOf(double[] array, int size, double value) {
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(size); i < bound; i += DOUBLE.length()) {
+            VectorMask<Double> match = matches(DoubleVector.fromArray(DOUBLE, array, i), value);
+            if (match.anyTrue()) {
+                return i + match.firstTrue();
+            }
+        }
+        for (; i < size; ++i) {
+            if (Double.compare(array[i], value) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int lastIndexOf(double[] array, int size, double value) {
+        int i = size;
+        for (int tail = size - DOUBLE.loopBound(size); tail > 0; --tail) {
+            if (Double.compare(array[--i], value) == 0) {
+                return i;
+            }
+        }
+        while (i > 0) {
+            i -= DOUBLE.length();
+            VectorMask<Double> match = matches(DoubleVector.fromArray(DOUBLE, array, i), value);
+            if (match.anyTrue()) {
+                return i + match.lastTrue();
+            }
+        }
+        return -1;
+    }
+
+    static int count(double[] array, int size, double value) {
+        int count = 0;
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(size); i < bound; i += DOUBLE.length()) {
+            count += matches(DoubleVector.fromArray(DOUBLE, array, i), value).trueCount();
+        }
+        for (; i < size; ++i) {
+            if (Double.compare(array[i], value) == 0) {
+                count += 1;
+            }
+        }
+        return count;
+    }
+
+    static double min(double[] array, int size) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLE, Double.POSITIVE_INFINITY);
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(size); i < bound; i += DOUBLE.length()) {
+            acc = acc.min(DoubleVector.fromArray(DOUBLE, array, i));
+        }
+        double min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < size; ++i) {
+            min = Math.min(min, array[i]);
+        }
+        return min;
+    }
+
+    static double max(double[] array, int size) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLE, Double.NEGATIVE_INFINITY);
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(size); i < bound; i += DOUBLE.length()) {
+            acc = acc.max(DoubleVector.fromArray(DOUBLE, array, i));
+        }
+        double max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < size; ++i) {
+            max = Math.max(max, array[i]);
+        }
+        return max;
+    }
+
+    static double sum(double[] array, int size) {
+        DoubleVector acc = DoubleVector.zero(DOUBLE);
+        int i = 0;
+        for (int bound = DOUBLE.loopBound(size); i < bound; i += DOUBLE.length()) {
+            acc = acc.add(DoubleVector.fromArray(DOUBLE, array, i));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < size; ++i) {
+            sum += array[i];
+        }
+        return sum;
+    }
+}
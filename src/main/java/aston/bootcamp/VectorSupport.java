@@ -0,0 +1,42 @@
+package aston.bootcamp;
+
+/**
+ * <p>Определяет, можно ли использовать векторные ядра {@link VectorKernels}. Векторный API
+ * пока находится в инкубаторном модуле jdk.incubator.vector, который подключается только
+ * флагом {@code --add-modules jdk.incubator.vector}. Без модуля примитивные списки работают
+ * обычными скалярными циклами.</p>
+ * <p>Проверка выполняется один раз при загрузке класса. Флаг - static final, поэтому
+ * JIT-компилятор убирает ветку, которая не используется. Векторные ядра можно отключить
+ * свойством {@code -Daston.bootcamp.vector.disabled=true}.</p>
+ *
+ * @author Никита Трофимов
+ * @since 1.0
+ */
+final class VectorSupport {
+    /**
+     * Имя инкубаторного модуля векторного API
+     */
+    private static final String MODULE = "jdk.incubator.vector";
+    /**
+     * Свойство, отключающее векторные ядра
+     */
+    private static final String DISABLED_PROPERTY = "aston.bootcamp.vector.disabled";
+    /**
+     * true - если векторные ядра доступны и не отключены
+     */
+    static final boolean ENABLED = detect();
+
+    private VectorSupport() {
+    }
+
+    private static boolean detect() {
+        if (Boolean.getBoolean(DISABLED_PROPERTY) || ModuleLayer.boot().findModule(MODULE).isEmpty()) {
+            return false;
+        }
+        try {
+            return VectorKernels.lanes() > 1;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
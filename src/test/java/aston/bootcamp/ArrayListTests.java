@@ -5,8 +5,18 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 
 public class ArrayListTests {
@@ -168,6 +178,19 @@ public class ArrayListTests {
         Assert.assertEquals(lastElem, testLastElem);
     }
 
+    @Test
+    public void Remove_MiddleIndexInFullArray_CorrectShift() {
+        ArrayList<Integer> testArr = new ArrayList<>(10);
+        for (int i = 0; i < 10; ++i) {
+            testArr.add(i);
+        }
+        Assert.assertEquals(Integer.valueOf(5), testArr.remove(5));
+        Assert.assertEquals(9, testArr.size());
+        Assert.assertEquals(Integer.valueOf(4), testArr.get(4));
+        Assert.assertEquals(Integer.valueOf(6), testArr.get(5));
+        Assert.assertEquals(Integer.valueOf(9), testArr.get(8));
+    }
+
     @Test
     public void RemoveIncorrectIndex_IndexOutOfBoundException() {
         thrown.expect(IndexOutOfBoundsException.class);
@@ -387,6 +410,89 @@ public class ArrayListTests {
         Assert.assertEquals("3", testArr.get(0));
     }
 
+    @Test
+    public void RemoveAll_HalfOf1000000Elems_CorrectRemaining() {
+        ArrayList<Integer> testArr = new ArrayList<>();
+        java.util.ArrayList<Integer> toRemove = new java.util.ArrayList<>();
+        for (int i = 0; i < 1000000; ++i) {
+            testArr.add(i);
+            if (i % 2 == 1) {
+                toRemove.add(i);
+            }
+        }
+        Assert.assertTrue(testArr.removeAll(toRemove));
+        Assert.assertEquals(500000, testArr.size());
+        for (int i = 0; i < testArr.size(); ++i) {
+            Assert.assertEquals(Integer.valueOf(2 * i), testArr.get(i));
+        }
+    }
+
+    @Test
+    public void RemoveAll_NullElems_CorrectRemove() {
+        ArrayList<String> testArr = new ArrayList<>();
+        testArr.add(null);
+        testArr.add("1");
+        testArr.add(null);
+        java.util.ArrayList<String> toRemove = new java.util.ArrayList<>();
+        toRemove.add(null);
+        Assert.assertTrue(testArr.removeAll(toRemove));
+        Assert.assertEquals(1, testArr.size());
+        Assert.assertEquals("1", testArr.get(0));
+    }
+
+    @Test
+    public void RetainAll_NonEmptyCollection_OnlyCommonElemsLeft() {
+        ArrayList<String> testArr = new ArrayList<>();
+        testArr.add("1");
+        testArr.add("2");
+        testArr.add("3");
+        testArr.add("2");
+        ArrayList<String> keepArr = new ArrayList<>();
+        keepArr.add("2");
+        keepArr.add("4");
+        Assert.assertTrue(testArr.retainAll(keepArr));
+        Assert.assertEquals(2, testArr.size());
+        Assert.assertEquals("2", testArr.get(0));
+        Assert.assertEquals("2", testArr.get(1));
+        Assert.assertFalse(testArr.retainAll(Set.of("2")));
+    }
+
+    @Test
+    public void RemoveIf_EvenNumbers_OnlyOddLeft() {
+        ArrayList<Integer> testArr = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            testArr.add(i);
+        }
+        Assert.assertTrue(testArr.removeIf(x -> x % 2 == 0));
+        Assert.assertFalse(testArr.removeIf(x -> x > 100));
+        Assert.assertEquals(5, testArr.size());
+        Assert.assertEquals(Integer.valueOf(1), testArr.get(0));
+        Assert.assertEquals(Integer.valueOf(9), testArr.get(4));
+    }
+
+    @Test
+    public void RemoveIf_FilterThrows_ListStaysConsistent() {
+        ArrayList<Integer> testArr = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            testArr.add(i);
+        }
+        try {
+            testArr.removeIf(x -> {
+                if (x == 5) {
+                    throw new IllegalStateException();
+                }
+                return x % 2 == 0;
+            });
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(7, testArr.size());
+            Assert.assertEquals(Integer.valueOf(1), testArr.get(0));
+            Assert.assertEquals(Integer.valueOf(3), testArr.get(1));
+            Assert.assertEquals(Integer.valueOf(5), testArr.get(2));
+            Assert.assertEquals(Integer.valueOf(9), testArr.get(6));
+        }
+    }
+
     @Test
     public void comparatorSort_7Persons_CorrectSort() {
         PersonTest p1 = new PersonTest(19, "Nik");
@@ -441,6 +547,170 @@ public class ArrayListTests {
         Assert.assertEquals(p6, testArr.get(0));
     }
 
+    @Test
+    public void ComparatorSort_1000000SortedElems_NoStackOverflow() {
+        ArrayList<Integer> testArr = new ArrayList<>();
+        for (int i = 0; i < 1000000; ++i) {
+            testArr.add(i);
+        }
+        testArr.sort(Comparator.reverseOrder());
+        Assert.assertEquals(Integer.valueOf(999999), testArr.get(0));
+        Assert.assertEquals(Integer.valueOf(0), testArr.get(999999));
+        testArr.sort(Comparator.naturalOrder());
+        for (int i = 0; i < testArr.size(); ++i) {
+            Assert.assertEquals(Integer.valueOf(i), testArr.get(i));
+        }
+    }
+
+    @Test
+    public void ComparatorSort_RandomElems_SameAsJavaUtil() {
+        ArrayList<Integer> testArr = new ArrayList<>();
+        java.util.ArrayList<Integer> origArr = new java.util.ArrayList<>();
+        for (int i = 0; i < 100000; ++i) {
+            int value = ThreadLocalRandom.current().nextInt(1000);
+            testArr.add(value);
+            origArr.add(value);
+        }
+        testArr.sort(Comparator.naturalOrder());
+        origArr.sort(Comparator.naturalOrder());
+        for (int i = 0; i < origArr.size(); ++i) {
+            Assert.assertEquals(origArr.get(i), testArr.get(i));
+        }
+    }
+
+    @Test
+    public void ComparatorSort_StableMode_EqualElemsKeepOrder() {
+        ArrayList<PersonTest> testArr = new ArrayList<>();
+        java.util.ArrayList<PersonTest> origArr = new java.util.ArrayList<>();
+        for (int i = 0; i < 10000; ++i) {
+            PersonTest person = new PersonTest(ThreadLocalRandom.current().nextInt(50), "Person" + i);
+            testArr.add(person);
+            origArr.add(person);
+        }
+        testArr.sort(Comparator.comparingInt(PersonTest::getAge), true);
+        origArr.sort(Comparator.comparingInt(PersonTest::getAge));
+        for (int i = 0; i < origArr.size(); ++i) {
+            Assert.assertSame(origArr.get(i), testArr.get(i));
+        }
+    }
+
+    @Test
+    public void ComparableSort_StableMode_EqualElemsKeepOrder() {
+        PersonTest p1 = new PersonTest(20, "Nik");
+        PersonTest p2 = new PersonTest(10, "Alice");
+        PersonTest p3 = new PersonTest(20, "Alex");
+        PersonTest p4 = new PersonTest(10, "Pasha");
+        ArrayList<PersonTest> testArr = new ArrayList<>();
+        testArr.add(p1);
+        testArr.add(p2);
+        testArr.add(p3);
+        testArr.add(p4);
+        ArrayList.sort(testArr, true);
+        Assert.assertSame(p2, testArr.get(0));
+        Assert.assertSame(p4, testArr.get(1));
+        Assert.assertSame(p1, testArr.get(2));
+        Assert.assertSame(p3, testArr.get(3));
+    }
+
+    @Test
+    public void ParallelSort_1000000RandomElems_SameAsJavaUtil() {
+        ArrayList<Integer> testArr = new ArrayList<>();
+        java.util.ArrayList<Integer> origArr = new java.util.ArrayList<>();
+        for (int i = 0; i < 1000000; ++i) {
+            int value = ThreadLocalRandom.current().nextInt();
+            testArr.add(value);
+            origArr.add(value);
+        }
+        testArr.parallelSort(Comparator.naturalOrder());
+        origArr.sort(Comparator.naturalOrder());
+        for (int i = 0; i < origArr.size(); ++i) {
+            Assert.assertEquals(origArr.get(i), testArr.get(i));
+        }
+    }
+
+    @Test
+    public void ParallelSort_StableModeCustomPool_EqualElemsKeepOrder() {
+        ArrayList<PersonTest> testArr = new ArrayList<>();
+        java.util.ArrayList<PersonTest> origArr = new java.util.ArrayList<>();
+        for (int i = 0; i < 200000; ++i) {
+            PersonTest person = new PersonTest(ThreadLocalRandom.current().nextInt(100), "Person" + i);
+            testArr.add(person);
+            origArr.add(person);
+        }
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        try {
+            ArrayList.parallelSort(testArr, true, pool);
+        } finally {
+            pool.shutdown();
+        }
+        origArr.sort(Comparator.naturalOrder());
+        for (int i = 0; i < origArr.size(); ++i) {
+            Assert.assertSame(origArr.get(i), testArr.get(i));
+        }
+    }
+
+    @Test
+    public void ParallelSort_SmallList_CorrectSort() {
+        ArrayList<Integer> testArr = new ArrayList<>();
+        testArr.add(3);
+        testArr.add(1);
+        testArr.add(2);
+        ArrayList.parallelSort(testArr);
+        Assert.assertEquals(Integer.valueOf(1), testArr.get(0));
+        Assert.assertEquals(Integer.valueOf(2), testArr.get(1));
+        Assert.assertEquals(Integer.valueOf(3), testArr.get(2));
+    }
+
+    @Test
+    public void Stream_MapAndFilter_SameAsJavaUtil() {
+        ArrayList<Integer> testArr = new ArrayList<>();
+        java.util.ArrayList<Integer> origArr = new java.util.ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            testArr.add(i);
+            origArr.add(i);
+        }
+        Assert.assertEquals(origArr.stream().filter(x -> x % 3 == 0).map(x -> x * 2).collect(Collectors.toList()),
+                testArr.stream().filter(x -> x % 3 == 0).map(x -> x * 2).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void ParallelStream_1000000Elems_CorrectSumAndOrder() {
+        ArrayList<Integer> testArr = new ArrayList<>();
+        for (int i = 0; i < 1000000; ++i) {
+            testArr.add(i);
+        }
+        Assert.assertEquals(499999500000L, testArr.parallelStream().mapToLong(Integer::longValue).sum());
+        List<Integer> collected = testArr.parallelStream().collect(Collectors.toList());
+        for (int i = 0; i < collected.size(); ++i) {
+            Assert.assertEquals(Integer.valueOf(i), collected.get(i));
+        }
+    }
+
+    @Test
+    public void Spliterator_LateBinding_SeesElemsAddedAfterCreation() {
+        ArrayList<Integer> testArr = new ArrayList<>();
+        testArr.add(1);
+        Spliterator<Integer> testSpliterator = testArr.spliterator();
+        testArr.add(2);
+        testArr.add(3);
+        Assert.assertEquals(3, testSpliterator.estimateSize());
+        Assert.assertTrue(testSpliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+    }
+
+    @Test
+    public void Spliterator_TrySplit_EvenHalves() {
+        ArrayList<Integer> testArr = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            testArr.add(i);
+        }
+        Spliterator<Integer> right = testArr.spliterator();
+        Spliterator<Integer> left = right.trySplit();
+        Assert.assertEquals(5, left.estimateSize());
+        Assert.assertEquals(5, right.estimateSize());
+        left.tryAdvance(x -> Assert.assertEquals(Integer.valueOf(0), x));
+        right.tryAdvance(x -> Assert.assertEquals(Integer.valueOf(5), x));
+    }
+
     @Test
     public void ListIterator_IterateCollectionFromStartForward_NoError() {
         ArrayList<Integer> testArr = new ArrayList<>();
@@ -670,4 +940,526 @@ public class ArrayListTests {
             Assert.assertEquals(0, testArr.get(i).getAge());
         }
     }
+
+    @Test
+    public void Grow_DefaultPolicy_RecordsTelemetry() {
+        ArrayList<Integer> testArr = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            testArr.add(i);
+        }
+        // 10 -> 16 -> 25 -> 38 -> 58 -> 88 -> 133
+        Assert.assertEquals(6, testArr.resizeCount());
+        Assert.assertEquals(10 + 16 + 25 + 38 + 58 + 88, testArr.copiedElements());
+        Assert.assertEquals(133, testArr.peakCapacity());
+    }
+
+    @Test
+    public void Grow_PowerOfTwoPolicy_CapacitiesArePowersOfTwo() {
+        ArrayList<Integer> testArr = new ArrayList<>(0, GrowthPolicy.powerOfTwo());
+        for (int i = 0; i < 1000; ++i) {
+            testArr.add(i);
+        }
+        Assert.assertEquals(1024, testArr.peakCapacity());
+        Assert.assertEquals(7, testArr.resizeCount());
+        Assert.assertEquals(Integer.valueOf(999), testArr.get(999));
+    }
+
+    @Test
+    public void Grow_ExactFitAndAdditivePolicies_CorrectCapacity() {
+        ArrayList<Integer> exact = new ArrayList<>(0, GrowthPolicy.exactFit());
+        ArrayList<Integer> additive = new ArrayList<>(0, GrowthPolicy.additive(100));
+        for (int i = 0; i < 250; ++i) {
+            exact.add(i);
+            additive.add(i);
+        }
+        Assert.assertEquals(250, exact.peakCapacity());
+        Assert.assertEquals(250, exact.resizeCount());
+        Assert.assertEquals(300, additive.peakCapacity());
+        Assert.assertEquals(3, additive.resizeCount());
+        exact.addAll(List.of(1, 2, 3));
+        Assert.assertEquals(253, exact.peakCapacity());
+    }
+
+    @Test
+    public void Grow_FactorPolicyChangedAtRuntime_UsesNewPolicy() {
+        ArrayList<Integer> testArr = new ArrayList<>(100, GrowthPolicy.factor(2.0));
+        for (int i = 0; i < 101; ++i) {
+            testArr.add(i);
+        }
+        Assert.assertEquals(200, testArr.peakCapacity());
+        testArr.setGrowthPolicy(GrowthPolicy.factor(1.25));
+        for (int i = 101; i < 201; ++i) {
+            testArr.add(i);
+        }
+        Assert.assertEquals(250, testArr.peakCapacity());
+        Assert.assertEquals(300, testArr.copiedElements());
+    }
+
+    @Test
+    public void GrowthPolicy_IllegalFactor_IllegalArgumentException() {
+        thrown.expect(IllegalArgumentException.class);
+        GrowthPolicy.factor(1.0);
+    }
+
+    @Test
+    public void WriteToReadFrom_CodecRoundTrip_SameElems() throws IOException {
+        ArrayList<Double> testArr = new ArrayList<>();
+        for (int i = 0; i < 200_000; ++i) {
+            testArr.add(i / 3.0);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        testArr.writeTo(Channels.newChannel(out), FixedWidthCodec.DOUBLE);
+        ArrayList<Double> result = ArrayList.readFrom(
+                Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), FixedWidthCodec.DOUBLE);
+        Assert.assertArrayEquals(testArr.toArray(), result.toArray());
+    }
+
+    @Test
+    public void ReadFrom_TruncatedStream_IOException() throws IOException {
+        ArrayList<Long> testArr = new ArrayList<>(List.of(1L, 2L, 3L));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        testArr.writeTo(Channels.newChannel(out), FixedWidthCodec.LONG);
+        byte[] bytes = Arrays.copyOf(out.toByteArray(), out.size() - 1);
+        thrown.expect(IOException.class);
+        ArrayList.readFrom(Channels.newChannel(new ByteArrayInputStream(bytes)), FixedWidthCodec.LONG);
+    }
+
+    @Test
+    public void Index_RandomOperations_SameAsLinearSearch() {
+        Random random = new Random(16);
+        ArrayList<Integer> testArr = new ArrayList<>();
+        java.util.ArrayList<Integer> origArr = new java.util.ArrayList<>();
+        testArr.enableIndex();
+        for (int step = 0; step < 20_000; ++step) {
+            int op = random.nextInt(12);
+            Integer value = random.nextInt(500);
+            if (op < 4 || origArr.isEmpty()) {
+                testArr.add(value);
+                origArr.add(value);
+            } else if (op < 6) {
+                int index = random.nextInt(origArr.size() + 1);
+                testArr.add(index, value);
+                origArr.add(index, value);
+            } else if (op < 7) {
+                int index = random.nextInt(origArr.size());
+                Assert.assertEquals(origArr.set(index, value), testArr.set(index, value));
+            } else if (op < 8) {
+                int index = random.nextInt(origArr.size());
+                Assert.assertEquals(origArr.remove(index), testArr.remove(index));
+            } else if (op < 9) {
+                Assert.assertEquals(origArr.remove(value), testArr.remove(value));
+            } else if (op < 10) {
+                Assert.assertEquals(origArr.lastIndexOf(value), testArr.lastIndexOf(value));
+            } else {
+                Assert.assertEquals(origArr.indexOf(value), testArr.indexOf(value));
+                Assert.assertEquals(origArr.contains(value), testArr.contains(value));
+            }
+        }
+        Assert.assertArrayEquals(origArr.toArray(), testArr.toArray());
+    }
+
+    @Test
+    public void Index_SortAndBulkRemove_RebuiltOnLookup() {
+        ArrayList<String> testArr = new ArrayList<>(List.of("d", "b", "a", "c", "b"));
+        testArr.enableIndex();
+        Assert.assertEquals(1, testArr.indexOf("b"));
+        testArr.sort(Comparator.naturalOrder());
+        Assert.assertEquals(1, testArr.indexOf("b"));
+        Assert.assertEquals(2, testArr.lastIndexOf("b"));
+        testArr.removeIf("a"::equals);
+        Assert.assertEquals(0, testArr.indexOf("b"));
+        Assert.assertEquals(-1, testArr.indexOf("a"));
+        testArr.addAll(List.of("a", "e"));
+        Assert.assertEquals(4, testArr.indexOf("a"));
+        testArr.add(null);
+        Assert.assertEquals(6, testArr.indexOf(null));
+        testArr.clear();
+        Assert.assertFalse(testArr.contains("e"));
+        Assert.assertTrue(testArr.isIndexed());
+        testArr.disableIndex();
+        Assert.assertFalse(testArr.isIndexed());
+    }
+
+    @Test
+    public void Edit_RandomScript_SameAsSequentialOps() {
+        Random random = new Random(18);
+        for (int round = 0; round < 300; ++round) {
+            int initial = random.nextInt(40);
+            ArrayList<Integer> testArr = new ArrayList<>(initial + random.nextInt(20));
+            java.util.ArrayList<Integer> origArr = new java.util.ArrayList<>();
+            for (int i = 0; i < initial; ++i) {
+                testArr.add(i);
+                origArr.add(i);
+            }
+            ArrayList<Integer>.Edit edit = testArr.edit();
+            int ops = random.nextInt(30);
+            for (int i = 0; i < ops; ++i) {
+                int op = random.nextInt(4);
+                int value = 1000 + i;
+                if (op == 0 || origArr.isEmpty()) {
+                    int index = random.nextInt(origArr.size() + 1);
+                    edit.insert(index, value);
+                    origArr.add(index, value);
+                } else if (op == 1) {
+                    int index = random.nextInt(origArr.size());
+                    edit.remove(index);
+                    origArr.remove(index);
+                } else if (op == 2) {
+                    int index = random.nextInt(origArr.size());
+                    edit.replace(index, value);
+                    origArr.set(index, value);
+                } else {
+                    int from = random.nextInt(origArr.size() + 1);
+                    int to = from + random.nextInt(origArr.size() - from + 1);
+                    edit.removeRange(from, to);
+                    origArr.subList(from, to).clear();
+                }
+            }
+            edit.apply();
+            Assert.assertEquals(origArr.size(), testArr.size());
+            Assert.assertArrayEquals(origArr.toArray(), testArr.toArray());
+        }
+    }
+
+    @Test
+    public void Edit_InsertsBeyondCapacity_GrowsOnce() {
+        ArrayList<Integer> testArr = new ArrayList<>(4);
+        for (int i = 0; i < 4; ++i) {
+            testArr.add(i);
+        }
+        int resizes = testArr.resizeCount();
+        ArrayList<Integer>.Edit edit = testArr.edit();
+        for (int i = 0; i < 20; ++i) {
+            edit.insert(i, -i);
+        }
+        edit.apply();
+        Assert.assertEquals(resizes + 1, testArr.resizeCount());
+        Assert.assertEquals(24, testArr.size());
+        Assert.assertEquals(Integer.valueOf(-1), testArr.get(1));
+        Assert.assertEquals(Integer.valueOf(0), testArr.get(20));
+        Assert.assertEquals(Integer.valueOf(3), testArr.get(23));
+    }
+
+    @Test
+    public void Edit_RemovesFromTail_ClearsFreedSlots() {
+        ArrayList<String> testArr = new ArrayList<>(List.of("a", "b", "c", "d", "e"));
+        testArr.enableIndex();
+        Assert.assertEquals(4, testArr.indexOf("e"));
+        testArr.edit().insert(0, "z").removeRange(3, 6).apply();
+        Assert.assertArrayEquals(new Object[]{"z", "a", "b"}, testArr.toArray());
+        Assert.assertEquals(-1, testArr.indexOf("e"));
+        Assert.assertEquals(0, testArr.indexOf("z"));
+        testArr.add("f");
+        Assert.assertEquals("f", testArr.get(3));
+    }
+
+    @Test
+    public void Edit_IndexOutOfScriptSize_ThrowsException() {
+        ArrayList<Integer> testArr = new ArrayList<>(List.of(1, 2));
+        ArrayList<Integer>.Edit edit = testArr.edit().remove(0);
+        thrown.expect(IndexOutOfBoundsException.class);
+        edit.remove(1);
+    }
+
+    @Test
+    public void Edit_AppliedTwice_ThrowsException() {
+        ArrayList<Integer> testArr = new ArrayList<>(List.of(1, 2));
+        ArrayList<Integer>.Edit edit = testArr.edit().insert(0, 0);
+        edit.apply();
+        thrown.expect(IllegalStateException.class);
+        edit.apply();
+    }
+
+    @Test
+    public void Edit_ListChangedBeforeApply_ThrowsException() {
+        ArrayList<Integer> testArr = new ArrayList<>(List.of(1, 2));
+        ArrayList<Integer>.Edit edit = testArr.edit().remove(0);
+        testArr.add(3);
+        thrown.expect(IllegalStateException.class);
+        edit.apply();
+    }
+
+    @Test
+    public void Metrics_Disabled_NullAndNotCollected() {
+        ArrayList<Integer> testArr = new ArrayList<>();
+        testArr.add(1);
+        Assert.assertNull(testArr.metrics());
+        ListMetrics metrics = testArr.enableMetrics();
+        Assert.assertSame(metrics, testArr.enableMetrics());
+        testArr.disableMetrics();
+        testArr.add(2);
+        Assert.assertNull(testArr.metrics());
+        Assert.assertEquals(0, metrics.adds());
+    }
+
+    @Test
+    public void Metrics_MixedOperations_CorrectCounters() {
+        ArrayList<Integer> testArr = new ArrayList<>(4);
+        ListMetrics metrics = testArr.enableMetrics();
+        for (int i = 0; i < 10; ++i) {
+            testArr.add(i);
+        }
+        testArr.add(0, -1);
+        testArr.get(3);
+        testArr.get(4);
+        testArr.indexOf(5);
+        testArr.contains(42);
+        testArr.remove(0);
+        testArr.remove(Integer.valueOf(9));
+        testArr.addAll(List.of(20, 21));
+        testArr.removeIf(v -> v % 2 == 0);
+        testArr.sort(Comparator.reverseOrder());
+        ArrayList.sort(testArr);
+        Assert.assertEquals(13, metrics.adds());
+        Assert.assertEquals(2, metrics.gets());
+        Assert.assertEquals(2, metrics.removes());
+        Assert.assertEquals(2, metrics.indexOfs());
+        Assert.assertEquals(testArr.resizeCount(), metrics.grows());
+        Assert.assertEquals(testArr.copiedElements() * ListMetrics.referenceBytes(), metrics.growCopiedBytes());
+        Assert.assertEquals((10L + 10 + 0) * ListMetrics.referenceBytes(), metrics.shiftedBytes());
+        Assert.assertEquals(6, metrics.bulkRemoved());
+        Assert.assertEquals(2, metrics.sorts());
+        Assert.assertTrue(metrics.sortNanos() > 0);
+        Assert.assertEquals(11, metrics.peakSize());
+    }
+
+    @Test
+    public void Events_JfrRecording_GrowSortAndBulkRemoveRecorded() throws IOException {
+        Path dump = Files.createTempFile("list-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("aston.bootcamp.ArrayListGrow").withStackTrace();
+            recording.enable("aston.bootcamp.ArrayListSort");
+            recording.enable("aston.bootcamp.ArrayListBulkRemove");
+            recording.start();
+            ArrayList<Integer> testArr = new ArrayList<>(2);
+            for (int i = 0; i < 5; ++i) {
+                testArr.add(i);
+            }
+            testArr.sort(Comparator.reverseOrder(), true);
+            testArr.removeIf(v -> v > 2);
+            recording.stop();
+            recording.dump(dump);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            List<RecordedEvent> grows = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("aston.bootcamp.ArrayListGrow"))
+                    .collect(Collectors.toList());
+            Assert.assertEquals(testArr.resizeCount(), grows.size());
+            Assert.assertEquals(2, grows.get(0).getInt("oldCapacity"));
+            Assert.assertNotNull(grows.get(0).getStackTrace());
+            RecordedEvent sort = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("aston.bootcamp.ArrayListSort"))
+                    .findFirst().orElseThrow();
+            Assert.assertEquals(5, sort.getInt("size"));
+            Assert.assertTrue(sort.getBoolean("stable"));
+            RecordedEvent bulk = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("aston.bootcamp.ArrayListBulkRemove"))
+                    .findFirst().orElseThrow();
+            Assert.assertEquals(5, bulk.getInt("sizeBefore"));
+            Assert.assertEquals(2, bulk.getInt("removed"));
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    @Test
+    public void SubList_RandomOperations_SameAsJavaUtil() {
+        Random random = new Random(22);
+        ArrayList<Integer> testArr = new ArrayList<>();
+        java.util.ArrayList<Integer> origArr = new java.util.ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            testArr.add(i % 37);
+            origArr.add(i % 37);
+        }
+        for (int round = 0; round < 300; ++round) {
+            int from = random.nextInt(origArr.size() + 1);
+            int to = from + random.nextInt(origArr.size() - from + 1);
+            ArrayList<Integer>.SubList testView = testArr.subList(from, to);
+            List<Integer> origView = origArr.subList(from, to);
+            int inner = random.nextInt(origView.size() + 1);
+            ArrayList<Integer>.SubList testInner = testView.subList(inner, origView.size());
+            List<Integer> origInner = origView.subList(inner, origView.size());
+            int op = random.nextInt(7);
+            int value = random.nextInt(40);
+            if (op == 0) {
+                int index = random.nextInt(origInner.size() + 1);
+                testInner.add(index, value);
+                origInner.add(index, value);
+            } else if (op == 1 && !origInner.isEmpty()) {
+                int index = random.nextInt(origInner.size());
+                Assert.assertEquals(origInner.remove(index), testInner.remove(index));
+            } else if (op == 2 && origView.size() < 20) {
+                testView.clear();
+                origView.clear();
+            } else if (op == 3) {
+                testView.sort(Comparator.naturalOrder());
+                origView.sort(Comparator.naturalOrder());
+            } else if (op == 4) {
+                Assert.assertEquals(origView.indexOf(value), testView.indexOf(value));
+                Assert.assertEquals(origView.lastIndexOf(value), testView.lastIndexOf(value));
+            } else if (op == 5) {
+                testInner.replaceAll(v -> v + 1);
+                origInner.replaceAll(v -> v + 1);
+            } else {
+                testInner.add(value);
+                origInner.add(value);
+            }
+            Assert.assertEquals(origView.size(), testView.size());
+            Assert.assertArrayEquals(origView.toArray(), testView.toArray());
+            Assert.assertArrayEquals(origArr.toArray(), testArr.toArray());
+        }
+    }
+
+    @Test
+    public void SubList_FillAndSet_WriteThroughToList() {
+        ArrayList<String> testArr = new ArrayList<>(List.of("a", "b", "c", "d", "e"));
+        testArr.enableIndex();
+        ArrayList<String>.SubList view = testArr.subList(1, 4);
+        view.fill("x");
+        Assert.assertArrayEquals(new Object[]{"a", "x", "x", "x", "e"}, testArr.toArray());
+        Assert.assertEquals(3, testArr.lastIndexOf("x"));
+        Assert.assertEquals("x", view.set(2, "y"));
+        Assert.assertEquals("y", testArr.get(3));
+        Assert.assertEquals(3, testArr.indexOf("y"));
+        Assert.assertEquals(2, view.indexOf("y"));
+    }
+
+    @Test
+    public void SubList_ListChangedDirectly_ConcurrentModificationException() {
+        ArrayList<Integer> testArr = new ArrayList<>(List.of(1, 2, 3));
+        ArrayList<Integer>.SubList view = testArr.subList(0, 2);
+        testArr.add(4);
+        thrown.expect(ConcurrentModificationException.class);
+        view.get(0);
+    }
+
+    @Test
+    public void SubList_SiblingViewModified_ConcurrentModificationException() {
+        ArrayList<Integer> testArr = new ArrayList<>(List.of(1, 2, 3, 4));
+        ArrayList<Integer>.SubList first = testArr.subList(0, 2);
+        ArrayList<Integer>.SubList second = testArr.subList(2, 4);
+        first.remove(0);
+        Assert.assertEquals(1, first.size());
+        thrown.expect(ConcurrentModificationException.class);
+        second.size();
+    }
+
+    @Test
+    public void SubList_InvalidRange_IndexOutOfBoundsException() {
+        ArrayList<Integer> testArr = new ArrayList<>(List.of(1, 2, 3));
+        thrown.expect(IndexOutOfBoundsException.class);
+        testArr.subList(2, 4);
+    }
+
+    @Test
+    public void RemoveRange_Middle_SingleShiftAndNulledTail() {
+        ArrayList<Integer> testArr = new ArrayList<>(List.of(0, 1, 2, 3, 4, 5, 6));
+        ListMetrics metrics = testArr.enableMetrics();
+        testArr.removeRange(2, 5);
+        Assert.assertArrayEquals(new Object[]{0, 1, 5, 6}, testArr.toArray());
+        Assert.assertNull(testArr.backingArray()[4]);
+        Assert.assertEquals(3, metrics.bulkRemoved());
+        Assert.assertEquals(2L * ListMetrics.referenceBytes(), metrics.shiftedBytes());
+    }
+
+    @Test
+    public void ShrinkPolicy_RemoveBelowThreshold_ShrinksAndReportsReclaimed() {
+        ArrayList<Integer> testArr = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; ++i) {
+            testArr.add(i);
+        }
+        ListMetrics metrics = testArr.enableMetrics();
+        testArr.setShrinkPolicy(ShrinkPolicy.DEFAULT);
+        testArr.removeRange(250, 1000);
+        Assert.assertEquals(1000, testArr.backingArray().length);
+        testArr.remove(0);
+        Assert.assertEquals(249, testArr.size());
+        Assert.assertEquals(498, testArr.backingArray().length);
+        Assert.assertEquals(1, testArr.shrinkCount());
+        Assert.assertEquals(502L * ListMetrics.referenceBytes(), testArr.reclaimedBytes());
+        Assert.assertEquals(1, metrics.shrinks());
+        Assert.assertEquals(testArr.reclaimedBytes(), metrics.reclaimedBytes());
+        for (int i = 0; i < 249; ++i) {
+            Assert.assertEquals(Integer.valueOf(i + 1), testArr.get(i));
+        }
+    }
+
+    @Test
+    public void ShrinkPolicy_AddRemoveNearThreshold_NoResizeCycle() {
+        ArrayList<Integer> testArr = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; ++i) {
+            testArr.add(i);
+        }
+        testArr.setShrinkPolicy(ShrinkPolicy.DEFAULT);
+        testArr.removeRange(240, 1000);
+        int capacity = testArr.backingArray().length;
+        int resizes = testArr.resizeCount();
+        for (int i = 0; i < 10_000; ++i) {
+            testArr.add(i);
+            testArr.remove(testArr.size() - 1);
+        }
+        Assert.assertEquals(capacity, testArr.backingArray().length);
+        Assert.assertEquals(1, testArr.shrinkCount());
+        Assert.assertEquals(resizes, testArr.resizeCount());
+    }
+
+    @Test
+    public void ShrinkPolicy_ClearAndSetOnSparseList_ShrinksToMinCapacity() {
+        ArrayList<Integer> testArr = new ArrayList<>(100_000);
+        testArr.add(1);
+        testArr.setShrinkPolicy(ShrinkPolicy.of(0.5, 1.5, 16));
+        Assert.assertEquals(16, testArr.backingArray().length);
+        for (int i = 0; i < 100; ++i) {
+            testArr.add(i);
+        }
+        testArr.clear();
+        Assert.assertEquals(16, testArr.backingArray().length);
+        Assert.assertEquals(2, testArr.shrinkCount());
+    }
+
+    @Test
+    public void ShrinkPolicy_Disabled_CapacityRetained() {
+        ArrayList<Integer> testArr = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; ++i) {
+            testArr.add(i);
+        }
+        testArr.removeIf(x -> x > 0);
+        Assert.assertNull(testArr.getShrinkPolicy());
+        Assert.assertEquals(1000, testArr.backingArray().length);
+        Assert.assertEquals(0, testArr.shrinkCount());
+    }
+
+    @Test
+    public void ShrinkPolicy_RandomOperations_MatchesJavaUtil() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ArrayList<Integer> testArr = new ArrayList<>();
+        testArr.setShrinkPolicy(ShrinkPolicy.of(0.3, 2.0, 0));
+        testArr.enableIndex();
+        java.util.ArrayList<Integer> expected = new java.util.ArrayList<>();
+        for (int step = 0; step < 20_000; ++step) {
+            int op = random.nextInt(10);
+            if (op < 5 || expected.isEmpty()) {
+                int value = random.nextInt(100);
+                testArr.add(value);
+                expected.add(value);
+            } else if (op < 8) {
+                int pos = random.nextInt(expected.size());
+                Assert.assertEquals(expected.remove(pos), testArr.remove(pos));
+            } else if (op < 9) {
+                int value = random.nextInt(100);
+                testArr.removeIf(x -> x == value);
+                expected.removeIf(x -> x == value);
+            } else {
+                Integer value = random.nextInt(100);
+                Assert.assertEquals(expected.indexOf(value), testArr.indexOf(value));
+            }
+        }
+        Assert.assertArrayEquals(expected.toArray(), testArr.toArray());
+        Assert.assertTrue(testArr.shrinkCount() > 0);
+    }
+
+    @Test
+    public void ShrinkPolicy_NoHysteresis_IllegalArgumentException() {
+        thrown.expect(IllegalArgumentException.class);
+        ShrinkPolicy.of(0.5, 2.0, 0);
+    }
 }
@@ -0,0 +1,75 @@
+package aston.bootcamp;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ArraySorterTests {
+    private static final Comparator<Integer> NATURAL = Comparator.naturalOrder();
+
+    private static Object[] randomArray(int size, int bound) {
+        Object[] arr = new Object[size];
+        for (int i = 0; i < size; ++i) {
+            arr[i] = ThreadLocalRandom.current().nextInt(bound);
+        }
+        return arr;
+    }
+
+    private static void assertSorted(Object[] expected, Object[] actual) {
+        Object[] sorted = expected.clone();
+        Arrays.sort(sorted);
+        Assert.assertArrayEquals(sorted, actual);
+    }
+
+    @Test
+    public void HeapSort_RandomElems_CorrectSort() {
+        Object[] arr = randomArray(1000, 100);
+        Object[] orig = arr.clone();
+        ArraySorter.heapSort(arr, 0, arr.length, NATURAL);
+        assertSorted(orig, arr);
+    }
+
+    @Test
+    public void IntroSort_ManyDuplicates_CorrectSort() {
+        Object[] arr = randomArray(100000, 3);
+        Object[] orig = arr.clone();
+        ArraySorter.introSort(arr, 0, arr.length, NATURAL);
+        assertSorted(orig, arr);
+    }
+
+    @Test
+    public void IntroSort_Range_OnlyRangeSorted() {
+        Object[] arr = {9, 8, 7, 6, 5, 4, 3, 2, 1, 0};
+        ArraySorter.introSort(arr, 2, 8, NATURAL);
+        Assert.assertArrayEquals(new Object[]{9, 8, 2, 3, 4, 5, 6, 7, 1, 0}, arr);
+    }
+
+    @Test
+    public void MergeSort_RandomElems_CorrectSort() {
+        Object[] arr = randomArray(100003, 1000000);
+        Object[] orig = arr.clone();
+        ArraySorter.mergeSort(arr, 0, arr.length, NATURAL);
+        assertSorted(orig, arr);
+    }
+
+    @Test
+    public void MergeSort_SortedWithTail_CorrectSort() {
+        Object[] arr = new Object[10000];
+        for (int i = 0; i < arr.length; ++i) {
+            arr[i] = i < 9000 ? i : ThreadLocalRandom.current().nextInt(10000);
+        }
+        Object[] orig = arr.clone();
+        ArraySorter.mergeSort(arr, 0, arr.length, NATURAL);
+        assertSorted(orig, arr);
+    }
+
+    @Test
+    public void CountRun_StrictlyDescending_ReversedInPlace() {
+        Object[] arr = {5, 4, 3, 2, 1};
+        Assert.assertEquals(5, ArraySorter.countRunAndMakeAscending(arr, 0, arr.length, NATURAL));
+        Assert.assertArrayEquals(new Object[]{1, 2, 3, 4, 5}, arr);
+    }
+}
@@ -0,0 +1,120 @@
+package aston.bootcamp;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConcurrentArrayListTests {
+    @Rule
+    @SuppressWarnings("deprecation")
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void Add_SingleThread_CorrectOrder() {
+        ConcurrentArrayList<Integer> testArr = new ConcurrentArrayList<>(1);
+        for (int i = 0; i < 100000; ++i) {
+            testArr.add(i);
+        }
+        Assert.assertEquals(100000, testArr.size());
+        for (int i = 0; i < testArr.size(); ++i) {
+            Assert.assertEquals(Integer.valueOf(i), testArr.get(i));
+        }
+    }
+
+    @Test
+    public void Get_IndexEqualsSize_IndexOutOfBoundException() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        ConcurrentArrayList<Integer> testArr = new ConcurrentArrayList<>();
+        testArr.add(1);
+        testArr.get(1);
+    }
+
+    @Test
+    public void InitConstructor_NegativeInitialCapacity_IllegalArgumentException() {
+        thrown.expect(IllegalArgumentException.class);
+        new ConcurrentArrayList<Integer>(-1);
+    }
+
+    @Test
+    public void Add_8Threads_AllElemsPresentOnce() throws InterruptedException {
+        int threads = 8;
+        int perThread = 50000;
+        ConcurrentArrayList<Integer> testArr = new ConcurrentArrayList<>(2);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; ++t) {
+            int base = t * perThread;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; ++i) {
+                    testArr.add(base + i);
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Assert.assertEquals(threads * perThread, testArr.size());
+        boolean[] seen = new boolean[threads * perThread];
+        for (int i = 0; i < testArr.size(); ++i) {
+            int value = testArr.get(i);
+            Assert.assertFalse(seen[value]);
+            seen[value] = true;
+        }
+    }
+
+    @Test
+    public void Get_ConcurrentReader_NeverSeesUnpublishedElem() throws InterruptedException {
+        ConcurrentArrayList<Integer> testArr = new ConcurrentArrayList<>(1);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicBoolean failed = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                int currentSize = testArr.size();
+                if (currentSize > 0 && testArr.get(currentSize - 1) == null) {
+                    failed.set(true);
+                }
+            }
+        });
+        reader.start();
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; ++t) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 50000; ++i) {
+                    testArr.add(i);
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        done.set(true);
+        reader.join();
+        Assert.assertFalse(failed.get());
+        Assert.assertEquals(200000, testArr.size());
+    }
+
+    @Test
+    public void Add_NullElem_StoredAndReturned() {
+        ConcurrentArrayList<Integer> testArr = new ConcurrentArrayList<>(1);
+        testArr.add(null);
+        testArr.add(2);
+        testArr.add(null);
+        Assert.assertEquals(3, testArr.size());
+        Assert.assertNull(testArr.get(0));
+        Assert.assertEquals(Integer.valueOf(2), testArr.get(1));
+        Assert.assertArrayEquals(new Object[]{null, 2, null}, testArr.toArray());
+    }
+}
@@ -0,0 +1,119 @@
+package aston.bootcamp;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+public class CopyOnWriteArrayListTests {
+    @Rule
+    @SuppressWarnings("deprecation")
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void Add_SeveralElems_CorrectOrder() {
+        CopyOnWriteArrayList<Integer> testArr = new CopyOnWriteArrayList<>();
+        testArr.add(1);
+        testArr.add(3);
+        testArr.add(1, 2);
+        Assert.assertEquals(3, testArr.size());
+        Assert.assertEquals(Integer.valueOf(1), testArr.get(0));
+        Assert.assertEquals(Integer.valueOf(2), testArr.get(1));
+        Assert.assertEquals(Integer.valueOf(3), testArr.get(2));
+    }
+
+    @Test
+    public void Get_IncorrectIndex_IndexOutOfBoundException() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        CopyOnWriteArrayList<Integer> testArr = new CopyOnWriteArrayList<>();
+        testArr.add(1);
+        testArr.get(1);
+    }
+
+    @Test
+    public void Snapshot_ListChangedAfterwards_SnapshotUnchanged() {
+        CopyOnWriteArrayList<String> testArr = new CopyOnWriteArrayList<>(List.of("a", "b", "c"));
+        CopyOnWriteArrayList.Snapshot<String> snapshot = testArr.snapshot();
+        testArr.remove("b");
+        testArr.set(0, "z");
+        testArr.add("d");
+        Assert.assertEquals(List.of("a", "b", "c"), snapshot.stream().collect(Collectors.toList()));
+        Assert.assertEquals(List.of("z", "c", "d"), testArr.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void RemoveAllAndRetainAll_Collections_CorrectRemaining() {
+        CopyOnWriteArrayList<Integer> testArr = new CopyOnWriteArrayList<>(List.of(1, 2, 3, 4, 5, 6));
+        Assert.assertTrue(testArr.removeAll(Set.of(1, 2)));
+        Assert.assertTrue(testArr.retainAll(List.of(3, 5, 6, 7)));
+        Assert.assertFalse(testArr.removeIf(x -> x > 100));
+        Assert.assertEquals(List.of(3, 5, 6), testArr.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void Sort_ReversedElems_SortedOncePublished() {
+        CopyOnWriteArrayList<Integer> testArr = new CopyOnWriteArrayList<>(List.of(5, 4, 3, 2, 1));
+        CopyOnWriteArrayList.Snapshot<Integer> before = testArr.snapshot();
+        testArr.sort(Comparator.naturalOrder());
+        Assert.assertEquals(List.of(1, 2, 3, 4, 5), testArr.stream().collect(Collectors.toList()));
+        Assert.assertEquals(Integer.valueOf(5), before.get(0));
+    }
+
+    @Test
+    public void Update_SeveralOperations_PublishedTogether() {
+        CopyOnWriteArrayList<Integer> testArr = new CopyOnWriteArrayList<>(List.of(1, 2, 3));
+        CopyOnWriteArrayList.Snapshot<Integer> before = testArr.snapshot();
+        testArr.update(list -> {
+            list.add(4);
+            list.remove(0);
+            list.add(0, 10);
+        });
+        Assert.assertEquals(List.of(10, 2, 3, 4), testArr.stream().collect(Collectors.toList()));
+        Assert.assertEquals(3, before.size());
+    }
+
+    @Test
+    public void Update_BatchThrows_SnapshotUnchanged() {
+        CopyOnWriteArrayList<Integer> testArr = new CopyOnWriteArrayList<>(List.of(1, 2, 3));
+        try {
+            testArr.update(list -> {
+                list.add(4);
+                throw new IllegalStateException();
+            });
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(3, testArr.size());
+        }
+    }
+
+    @Test
+    public void Snapshot_ConcurrentWriters_ReaderSeesConsistentSnapshots() throws InterruptedException {
+        CopyOnWriteArrayList<Integer> testArr = new CopyOnWriteArrayList<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 2000; ++i) {
+                int value = i;
+                testArr.update(list -> {
+                    list.add(value);
+                    list.add(value);
+                });
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            CopyOnWriteArrayList.Snapshot<Integer> snapshot = testArr.snapshot();
+            if (snapshot.size() % 2 != 0) {
+                failed.set(true);
+            }
+        }
+        writer.join();
+        Assert.assertFalse(failed.get());
+        Assert.assertEquals(4000, testArr.size());
+    }
+}
@@ -0,0 +1,88 @@
+package aston.bootcamp;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+public class GapBufferListTests {
+    @Rule
+    @SuppressWarnings("deprecation")
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void ListIterator_ClusteredAdds_InsertedAtCursor() {
+        GapBufferList<Integer> testArr = new GapBufferList<>(List.of(0, 1, 2, 3));
+        ListIterator<Integer> iter = testArr.listIterator(2);
+        for (int i = 10; i < 15; ++i) {
+            iter.add(i);
+        }
+        Assert.assertEquals(7, iter.nextIndex());
+        Assert.assertEquals(Integer.valueOf(2), iter.next());
+        Assert.assertArrayEquals(new Object[]{0, 1, 10, 11, 12, 13, 14, 2, 3}, testArr.toArray());
+    }
+
+    @Test
+    public void ListIterator_RemoveAfterNextAndPrevious_CorrectElemRemoved() {
+        GapBufferList<Integer> testArr = new GapBufferList<>(List.of(0, 1, 2, 3, 4));
+        ListIterator<Integer> iter = testArr.listIterator();
+        iter.next();
+        iter.next();
+        iter.remove();
+        Assert.assertEquals(1, iter.nextIndex());
+        Assert.assertEquals(Integer.valueOf(0), iter.previous());
+        iter.remove();
+        Assert.assertEquals(Integer.valueOf(2), iter.next());
+        iter.set(20);
+        Assert.assertArrayEquals(new Object[]{20, 3, 4}, testArr.toArray());
+    }
+
+    @Test
+    public void ListIterator_RemoveTwice_IllegalStateException() {
+        thrown.expect(IllegalStateException.class);
+        GapBufferList<Integer> testArr = new GapBufferList<>(List.of(0, 1));
+        ListIterator<Integer> iter = testArr.listIterator();
+        iter.next();
+        iter.remove();
+        iter.remove();
+    }
+
+    @Test
+    public void RandomOperations_SameAsJdkList() {
+        Random random = new Random(7);
+        GapBufferList<Integer> testArr = new GapBufferList<>(0);
+        java.util.ArrayList<Integer> origArr = new java.util.ArrayList<>();
+        for (int step = 0; step < 20_000; ++step) {
+            int op = random.nextInt(10);
+            if (op < 5 || origArr.isEmpty()) {
+                int index = random.nextInt(origArr.size() + 1);
+                testArr.add(index, step);
+                origArr.add(index, step);
+            } else if (op < 8) {
+                int index = random.nextInt(origArr.size());
+                Assert.assertEquals(origArr.remove(index), testArr.remove(index));
+            } else {
+                int index = random.nextInt(origArr.size());
+                Assert.assertEquals(origArr.set(index, -step), testArr.set(index, -step));
+            }
+        }
+        Assert.assertEquals(origArr.size(), testArr.size());
+        Assert.assertArrayEquals(origArr.toArray(), testArr.toArray());
+        for (int i = 0; i < origArr.size(); ++i) {
+            Assert.assertEquals(origArr.get(i), testArr.get(i));
+        }
+        Assert.assertEquals(origArr.indexOf(-19_999), testArr.indexOf(-19_999));
+    }
+
+    @Test
+    public void Get_IncorrectIndex_IndexOutOfBoundException() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        GapBufferList<Integer> testArr = new GapBufferList<>();
+        testArr.add(1);
+        testArr.get(1);
+    }
+}
@@ -0,0 +1,143 @@
+package aston.bootcamp;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class LazyListTests {
+    @Rule
+    @SuppressWarnings("deprecation")
+    public final ExpectedException thrown = ExpectedException.none();
+
+    private static ArrayList<Integer> range(int count) {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    public void Pipeline_RandomChains_SameAsStream() {
+        Random random = new Random(23);
+        for (int round = 0; round < 200; ++round) {
+            int count = random.nextInt(100);
+            ArrayList<Integer> list = new ArrayList<>();
+            java.util.ArrayList<Integer> origArr = new java.util.ArrayList<>();
+            for (int i = 0; i < count; ++i) {
+                int value = random.nextInt(30);
+                list.add(value);
+                origArr.add(value);
+            }
+            LazyList<Integer> lazy = list.lazy();
+            java.util.stream.Stream<Integer> stream = origArr.stream();
+            for (int step = random.nextInt(5); step > 0; --step) {
+                int op = random.nextInt(5);
+                int arg = random.nextInt(20);
+                if (op == 0) {
+                    lazy = lazy.filter(v -> v % 3 != arg % 3);
+                    stream = stream.filter(v -> v % 3 != arg % 3);
+                } else if (op == 1) {
+                    lazy = lazy.map(v -> v + arg);
+                    stream = stream.map(v -> v + arg);
+                } else if (op == 2) {
+                    lazy = lazy.limit(arg);
+                    stream = stream.limit(arg);
+                } else if (op == 3) {
+                    lazy = lazy.skip(arg);
+                    stream = stream.skip(arg);
+                } else {
+                    lazy = lazy.distinct();
+                    stream = stream.distinct();
+                }
+            }
+            List<Integer> expected = stream.collect(Collectors.toList());
+            Assert.assertArrayEquals(expected.toArray(), lazy.toArrayList().toArray());
+            Assert.assertEquals(expected.size(), lazy.count());
+        }
+    }
+
+    @Test
+    public void ToArrayList_KnownSize_ExactlyPreSizedWithoutGrow() {
+        ArrayList<String> result = range(1000).lazy()
+                .skip(10)
+                .map(String::valueOf)
+                .limit(500)
+                .toArrayList();
+        Assert.assertEquals(500, result.size());
+        Assert.assertEquals(500, result.peakCapacity());
+        Assert.assertEquals(0, result.resizeCount());
+        Assert.assertEquals("10", result.get(0));
+        Assert.assertEquals("509", result.get(499));
+    }
+
+    @Test
+    public void Limit_AfterFilter_StopsSourcePassEarly() {
+        AtomicInteger calls = new AtomicInteger();
+        ArrayList<Integer> result = range(1_000_000).lazy()
+                .filter(v -> {
+                    calls.incrementAndGet();
+                    return v % 2 == 0;
+                })
+                .limit(3)
+                .toArrayList();
+        Assert.assertArrayEquals(new Object[]{0, 2, 4}, result.toArray());
+        Assert.assertEquals(5, calls.get());
+    }
+
+    @Test
+    public void MapToInt_FilterMapSkipLimit_SameAsIntStream() {
+        ArrayList<String> list = new ArrayList<>();
+        for (int i = 0; i < 300; ++i) {
+            list.add("v" + i);
+        }
+        IntArrayList result = list.lazy()
+                .mapToInt(s -> Integer.parseInt(s.substring(1)))
+                .filter(v -> v % 7 != 0)
+                .map(v -> v * 2)
+                .skip(5)
+                .limit(100)
+                .toIntArrayList();
+        int[] expected = IntStream.range(0, 300).filter(v -> v % 7 != 0).map(v -> v * 2)
+                .skip(5).limit(100).toArray();
+        Assert.assertArrayEquals(expected, result.toArray());
+        Assert.assertEquals(IntStream.of(expected).asLongStream().sum(),
+                list.lazy().mapToInt(s -> Integer.parseInt(s.substring(1)))
+                        .filter(v -> v % 7 != 0).map(v -> v * 2).skip(5).limit(100).sum());
+        Assert.assertEquals(295, list.lazy().mapToInt(String::length).skip(5).count());
+    }
+
+    @Test
+    public void Pipeline_ReusedAfterListChange_SeesNewElems() {
+        ArrayList<Integer> list = range(5);
+        LazyList<Integer> evens = list.lazy().filter(v -> v % 2 == 0);
+        Assert.assertEquals(3, evens.count());
+        list.add(6);
+        Assert.assertArrayEquals(new Object[]{0, 2, 4, 6}, evens.toArrayList().toArray());
+    }
+
+    @Test
+    public void ForEach_ListModifiedDuringPass_ConcurrentModificationException() {
+        ArrayList<Integer> list = range(5);
+        thrown.expect(ConcurrentModificationException.class);
+        list.lazy().forEach(v -> {
+            if (v == 2) {
+                list.add(100);
+            }
+        });
+    }
+
+    @Test
+    public void Limit_NegativeSize_IllegalArgumentException() {
+        thrown.expect(IllegalArgumentException.class);
+        range(3).lazy().limit(-1);
+    }
+}
@@ -0,0 +1,183 @@
+package aston.bootcamp;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class ListPoolTests {
+    @Rule
+    @SuppressWarnings("deprecation")
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void LeaseRelease_SameThread_ReusesListWithCapacity() {
+        ListPool<Integer> pool = ListPool.perThread(4, 16, 1024);
+        ArrayList<Integer> list = pool.lease();
+        for (int i = 0; i < 100; ++i) {
+            list.add(i);
+        }
+        int capacity = list.backingArray().length;
+        list.enableIndex();
+        list.enableMetrics();
+        pool.release(list);
+        ArrayList<Integer> again = pool.lease();
+        Assert.assertSame(list, again);
+        Assert.assertTrue(again.isEmpty());
+        Assert.assertEquals(capacity, again.backingArray().length);
+        Assert.assertNull(again.backingArray()[0]);
+        Assert.assertNull(again.backingArray()[99]);
+        Assert.assertFalse(again.isIndexed());
+        Assert.assertNull(again.metrics());
+        Assert.assertEquals(1, pool.getHits());
+        Assert.assertEquals(1, pool.getMisses());
+        Assert.assertEquals(0.5, pool.getHitRate(), 0.0);
+    }
+
+    @Test
+    public void Release_GrownList_StatisticsReset() {
+        ListPool<Integer> pool = ListPool.perThread(4, 8, 64);
+        ArrayList<Integer> list = pool.lease();
+        list.setShrinkPolicy(ShrinkPolicy.DEFAULT);
+        for (int i = 0; i < 1000; ++i) {
+            list.add(i);
+        }
+        list.removeRange(1, 1000);
+        Assert.assertTrue(list.resizeCount() > 0);
+        Assert.assertTrue(list.shrinkCount() > 0);
+        pool.release(list);
+        ArrayList<Integer> again = pool.lease();
+        Assert.assertEquals(0, again.resizeCount());
+        Assert.assertEquals(0, again.copiedElements());
+        Assert.assertEquals(0, again.shrinkCount());
+        Assert.assertEquals(0, again.reclaimedBytes());
+        Assert.assertEquals(again.backingArray().length, again.peakCapacity());
+    }
+
+    @Test
+    public void Release_OversizedList_TrimmedToMaxCapacity() {
+        ListPool<Integer> pool = ListPool.shared(4, 8, 64);
+        ArrayList<Integer> list = pool.lease();
+        for (int i = 0; i < 1000; ++i) {
+            list.add(i);
+        }
+        pool.release(list);
+        Assert.assertEquals(1, pool.getTrimmed());
+        ArrayList<Integer> again = pool.lease();
+        Assert.assertEquals(64, again.backingArray().length);
+        again.add(1);
+        Assert.assertEquals(Integer.valueOf(1), again.get(0));
+    }
+
+    @Test
+    public void Release_PoolFull_ListDropped() {
+        ListPool<Integer> pool = ListPool.perThread(1, 8, 64);
+        ArrayList<Integer> first = pool.lease();
+        ArrayList<Integer> second = pool.lease();
+        pool.release(first);
+        pool.release(second);
+        Assert.assertEquals(1, pool.getDropped());
+        Assert.assertSame(first, pool.lease());
+    }
+
+    @Test
+    public void Release_Twice_IllegalStateException() {
+        ListPool<Integer> pool = ListPool.shared(4, 8, 64);
+        ArrayList<Integer> list = pool.lease();
+        pool.release(list);
+        thrown.expect(IllegalStateException.class);
+        pool.release(list);
+    }
+
+    @Test
+    public void Release_TwiceAfterDrop_IllegalStateException() {
+        ListPool<Integer> pool = ListPool.perThread(0, 8, 64);
+        ArrayList<Integer> list = pool.lease();
+        pool.release(list);
+        Assert.assertEquals(1, pool.getDropped());
+        thrown.expect(IllegalStateException.class);
+        pool.release(list);
+    }
+
+    @Test
+    public void Release_LeasedAgain_ReleasedAgainAndNotAliased() {
+        ListPool<Integer> pool = ListPool.perThread(4, 8, 64);
+        ArrayList<Integer> list = pool.lease();
+        pool.release(list);
+        Assert.assertSame(list, pool.lease());
+        pool.release(list);
+        Assert.assertSame(list, pool.lease());
+        Assert.assertNotSame(list, pool.lease());
+    }
+
+    @Test
+    public void PerThread_OtherThread_DoesNotSeeReleasedList() throws Exception {
+        ListPool<Integer> pool = ListPool.perThread(4, 8, 64);
+        ArrayList<Integer> list = pool.lease();
+        pool.release(list);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ArrayList<Integer>> other = executor.submit(pool::lease);
+            Assert.assertNotSame(list, other.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertSame(list, pool.lease());
+    }
+
+    @Test
+    public void Shared_ConcurrentLeaseRelease_EveryLeaseCounted() throws Exception {
+        ListPool<Integer> pool = ListPool.shared(8, 8, 64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] tasks = new Future<?>[4];
+            for (int t = 0; t < tasks.length; ++t) {
+                tasks[t] = executor.submit(() -> {
+                    for (int i = 0; i < 10_000; ++i) {
+                        ArrayList<Integer> list = pool.lease();
+                        Assert.assertTrue(list.isEmpty());
+                        list.add(i);
+                        pool.release(list);
+                    }
+                });
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(40_000, pool.getHits() + pool.getMisses());
+        Assert.assertTrue(pool.getMisses() <= 8 + pool.getDropped());
+    }
+
+    @Test
+    public void MXBean_RegisteredInPlatformServer_HitRateExported() throws Exception {
+        ListPool<String> pool = ListPool.shared(2, 8, 64);
+        pool.release(pool.lease());
+        pool.lease();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("aston.bootcamp:type=ListPool,name=test");
+        server.registerMBean(pool, name);
+        try {
+            Assert.assertEquals(0.5, (Double) server.getAttribute(name, "HitRate"), 0.0);
+            Assert.assertEquals(1L, server.getAttribute(name, "Hits"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    public void Create_MaxCapacityBelowInitial_IllegalArgumentException() {
+        thrown.expect(IllegalArgumentException.class);
+        ListPool.shared(4, 64, 8);
+    }
+}
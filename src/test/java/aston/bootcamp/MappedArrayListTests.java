@@ -0,0 +1,94 @@
+package aston.bootcamp;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class MappedArrayListTests {
+    @Rule
+    @SuppressWarnings("deprecation")
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void Reopen_AfterClose_SameElemsAndTrimmedFile() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("longs.bin");
+        try (MappedArrayList<Long> testArr = MappedArrayList.open(path, FixedWidthCodec.LONG)) {
+            for (long i = 0; i < 10_000; ++i) {
+                testArr.add(i * i);
+            }
+            Assert.assertEquals(Long.valueOf(25L), testArr.set(5, -5L));
+            testArr.force();
+        }
+        Assert.assertEquals(MappedArrayList.HEADER_BYTES + 10_000L * Long.BYTES, Files.size(path));
+        try (MappedArrayList<Long> testArr = MappedArrayList.open(path, FixedWidthCodec.LONG)) {
+            Assert.assertEquals(10_000, testArr.size());
+            Assert.assertEquals(Long.valueOf(-5L), testArr.get(5));
+            Assert.assertEquals(Long.valueOf(9_999L * 9_999L), testArr.get(9_999));
+            testArr.add(1L);
+            Assert.assertEquals(Long.valueOf(1L), testArr.get(10_000));
+        }
+    }
+
+    @Test
+    public void Truncate_ThenReopen_TailDropped() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("ints.bin");
+        try (MappedArrayList<Integer> testArr = MappedArrayList.open(path, FixedWidthCodec.INT)) {
+            for (int i = 0; i < 100; ++i) {
+                testArr.add(i);
+            }
+            testArr.truncate(40);
+            testArr.add(-1);
+            Assert.assertEquals(41, testArr.size());
+        }
+        try (MappedArrayList<Integer> testArr = MappedArrayList.open(path, FixedWidthCodec.INT)) {
+            Assert.assertEquals(41, testArr.size());
+            Assert.assertEquals(Integer.valueOf(39), testArr.get(39));
+            Assert.assertEquals(Integer.valueOf(-1), testArr.get(40));
+            testArr.clear();
+            Assert.assertTrue(testArr.isEmpty());
+        }
+    }
+
+    @Test
+    public void Add_SeveralSegments_CorrectElems() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("segments.bin");
+        try (MappedArrayList<Integer> testArr = MappedArrayList.open(path, FixedWidthCodec.INT, 4096)) {
+            for (int i = 0; i < 10_000; ++i) {
+                testArr.add(i);
+            }
+        }
+        try (MappedArrayList<Integer> testArr = MappedArrayList.open(path, FixedWidthCodec.INT, 4096)) {
+            for (int i = 0; i < 10_000; ++i) {
+                Assert.assertEquals(Integer.valueOf(i), testArr.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void Open_DifferentWidth_IllegalArgumentException() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("width.bin");
+        try (MappedArrayList<Integer> testArr = MappedArrayList.open(path, FixedWidthCodec.INT)) {
+            testArr.add(1);
+        }
+        thrown.expect(IllegalArgumentException.class);
+        MappedArrayList.open(path, FixedWidthCodec.LONG);
+    }
+
+    @Test
+    public void Get_AfterClose_IllegalStateException() throws IOException {
+        MappedArrayList<Integer> testArr = MappedArrayList.open(folder.newFile().toPath(), FixedWidthCodec.INT);
+        testArr.add(1);
+        testArr.close();
+        thrown.expect(IllegalStateException.class);
+        testArr.get(0);
+    }
+}
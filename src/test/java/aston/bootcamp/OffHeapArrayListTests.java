@@ -0,0 +1,143 @@
+package aston.bootcamp;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.nio.ByteBuffer;
+
+public class OffHeapArrayListTests {
+    @Rule
+    @SuppressWarnings("deprecation")
+    public final ExpectedException thrown = ExpectedException.none();
+
+    /**
+     * Точка из трех полей, 20 байт: ширина не кратна 8
+     */
+    private static final FixedWidthCodec<int[]> TRIPLE = new FixedWidthCodec<>() {
+        @Override
+        public int width() {
+            return 20;
+        }
+
+        @Override
+        public void encode(int[] value, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, value[0]);
+            buffer.putLong(offset + 8, value[1]);
+            buffer.putInt(offset + 16, value[2]);
+        }
+
+        @Override
+        public int[] decode(ByteBuffer buffer, int offset) {
+            return new int[]{(int) buffer.getLong(offset), (int) buffer.getLong(offset + 8), buffer.getInt(offset + 16)};
+        }
+    };
+
+    @Test
+    public void Add_ManyElems_GrowsAndKeepsOrder() {
+        try (OffHeapArrayList<Integer> testArr = new OffHeapArrayList<>(FixedWidthCodec.INT)) {
+            for (int i = 0; i < 100_000; ++i) {
+                testArr.add(i);
+            }
+            Assert.assertEquals(100_000, testArr.size());
+            for (int i = 0; i < 100_000; ++i) {
+                Assert.assertEquals(Integer.valueOf(i), testArr.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void AddAndRemove_ByIndex_ShiftsElems() {
+        try (OffHeapArrayList<Long> testArr = new OffHeapArrayList<>(FixedWidthCodec.LONG, 0)) {
+            testArr.add(1L);
+            testArr.add(3L);
+            testArr.add(0, 0L);
+            testArr.add(2, 2L);
+            testArr.add(4, 4L);
+            Assert.assertEquals(5, testArr.size());
+            for (int i = 0; i < 5; ++i) {
+                Assert.assertEquals(Long.valueOf(i), testArr.get(i));
+            }
+            Assert.assertEquals(Long.valueOf(0L), testArr.remove(0));
+            Assert.assertEquals(Long.valueOf(4L), testArr.remove(3));
+            Assert.assertEquals(Long.valueOf(2L), testArr.set(1, 20L));
+            Assert.assertEquals(Long.valueOf(1L), testArr.get(0));
+            Assert.assertEquals(Long.valueOf(20L), testArr.get(1));
+            Assert.assertEquals(Long.valueOf(3L), testArr.get(2));
+        }
+    }
+
+    @Test
+    public void Add_LargeShiftOverChunk_CorrectOrder() {
+        try (OffHeapArrayList<Integer> testArr = new OffHeapArrayList<>(FixedWidthCodec.INT)) {
+            for (int i = 1; i <= 50_000; ++i) {
+                testArr.add(i);
+            }
+            testArr.add(0, 0);
+            Assert.assertEquals(Integer.valueOf(0), testArr.remove(0));
+            testArr.add(0, 0);
+            for (int i = 0; i <= 50_000; ++i) {
+                Assert.assertEquals(Integer.valueOf(i), testArr.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void IndexOf_WidthNotMultipleOfEight_ComparesAllBytes() {
+        try (OffHeapArrayList<int[]> testArr = new OffHeapArrayList<>(TRIPLE)) {
+            testArr.add(new int[]{1, 2, 3});
+            testArr.add(new int[]{1, 2, 4});
+            testArr.add(new int[]{1, 2, 3});
+            Assert.assertEquals(1, testArr.indexOf(new int[]{1, 2, 4}));
+            Assert.assertEquals(0, testArr.indexOf(new int[]{1, 2, 3}));
+            Assert.assertEquals(2, testArr.lastIndexOf(new int[]{1, 2, 3}));
+            Assert.assertEquals(-1, testArr.indexOf(new int[]{1, 2, 5}));
+            Assert.assertTrue(testArr.remove(new int[]{1, 2, 4}));
+            Assert.assertFalse(testArr.contains(new int[]{1, 2, 4}));
+            Assert.assertArrayEquals(new int[]{1, 2, 3}, testArr.get(1));
+        }
+    }
+
+    @Test
+    public void Contains_DoubleNaN_Found() {
+        try (OffHeapArrayList<Double> testArr = new OffHeapArrayList<>(FixedWidthCodec.DOUBLE)) {
+            testArr.add(1.5);
+            testArr.add(Double.longBitsToDouble(0x7ff8000000000001L));
+            Assert.assertTrue(testArr.contains(Double.NaN));
+            Assert.assertEquals(0, testArr.indexOf(1.5));
+        }
+    }
+
+    @Test
+    public void TrimToSize_AfterGrow_KeepsElems() {
+        try (OffHeapArrayList<Integer> testArr = new OffHeapArrayList<>(FixedWidthCodec.INT, 100)) {
+            testArr.add(7);
+            testArr.add(8);
+            testArr.trimToSize();
+            Assert.assertEquals(8, testArr.allocatedBytes());
+            testArr.add(9);
+            Assert.assertEquals(Integer.valueOf(9), testArr.get(2));
+        }
+    }
+
+    @Test
+    public void Get_IncorrectIndex_IndexOutOfBoundException() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        try (OffHeapArrayList<Integer> testArr = new OffHeapArrayList<>(FixedWidthCodec.INT)) {
+            testArr.add(1);
+            testArr.get(1);
+        }
+    }
+
+    @Test
+    public void Add_AfterClose_IllegalStateException() {
+        OffHeapArrayList<Integer> testArr = new OffHeapArrayList<>(FixedWidthCodec.INT);
+        testArr.add(1);
+        testArr.close();
+        testArr.close();
+        Assert.assertEquals(0, testArr.allocatedBytes());
+        thrown.expect(IllegalStateException.class);
+        testArr.add(2);
+    }
+}
@@ -0,0 +1,136 @@
+package aston.bootcamp;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class PersistentVectorTests {
+    @Rule
+    @SuppressWarnings("deprecation")
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void AppendAndPop_AcrossLevels_SameAsJavaUtil() {
+        int count = 32 * 32 * 32 + 100;
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        java.util.ArrayList<Integer> origArr = new java.util.ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            vector = vector.append(i);
+            origArr.add(i);
+        }
+        Assert.assertEquals(count, vector.size());
+        Assert.assertArrayEquals(origArr.toArray(), vector.toArray());
+        for (int i = count; i > 0; --i) {
+            Assert.assertEquals(origArr.get(i - 1), vector.get(i - 1));
+            vector = vector.pop();
+        }
+        Assert.assertTrue(vector.isEmpty());
+        vector = vector.append(7).append(8);
+        Assert.assertArrayEquals(new Object[]{7, 8}, vector.toArray());
+    }
+
+    @Test
+    public void RandomOperations_EveryVersionKept_OldVersionsUnchanged() {
+        Random random = new Random(21);
+        java.util.ArrayList<PersistentVector<Integer>> versions = new java.util.ArrayList<>();
+        java.util.ArrayList<List<Integer>> expected = new java.util.ArrayList<>();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        java.util.ArrayList<Integer> origArr = new java.util.ArrayList<>();
+        for (int step = 0; step < 20_000; ++step) {
+            int op = random.nextInt(10);
+            if (op < 6 || origArr.isEmpty()) {
+                vector = vector.append(step);
+                origArr.add(step);
+            } else if (op < 8) {
+                int index = random.nextInt(origArr.size());
+                vector = vector.set(index, -step);
+                origArr.set(index, -step);
+            } else {
+                vector = vector.pop();
+                origArr.remove(origArr.size() - 1);
+            }
+            if (step % 500 == 0) {
+                versions.add(vector);
+                expected.add(List.copyOf(origArr));
+            }
+        }
+        Assert.assertArrayEquals(origArr.toArray(), vector.toArray());
+        for (int i = 0; i < versions.size(); ++i) {
+            Assert.assertArrayEquals(expected.get(i).toArray(), versions.get(i).toArray());
+        }
+    }
+
+    @Test
+    public void From_ArrayList_SameElemsAndIndependentOfList() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 5000; ++i) {
+            list.add(i);
+        }
+        PersistentVector<Integer> vector = PersistentVector.from(list);
+        list.set(0, -1);
+        list.add(5000);
+        Assert.assertEquals(5000, vector.size());
+        Assert.assertEquals(Integer.valueOf(0), vector.get(0));
+        Assert.assertEquals(Integer.valueOf(4999), vector.get(4999));
+        ArrayList<Integer> back = vector.toArrayList();
+        Assert.assertEquals(5000, back.size());
+        Assert.assertEquals(Integer.valueOf(1234), back.get(1234));
+    }
+
+    @Test
+    public void Builder_FromExistingVersion_SourceUnchanged() {
+        PersistentVector<Integer> source = PersistentVector.from(List.of(1, 2, 3));
+        PersistentVector.Builder<Integer> builder = source.toBuilder();
+        for (int i = 0; i < 2000; ++i) {
+            builder.add(i);
+        }
+        builder.set(0, 100).set(1500, -1);
+        Assert.assertEquals(Integer.valueOf(100), builder.get(0));
+        PersistentVector<Integer> result = builder.persistent();
+        Assert.assertArrayEquals(new Object[]{1, 2, 3}, source.toArray());
+        Assert.assertEquals(2003, result.size());
+        Assert.assertEquals(Integer.valueOf(-1), result.get(1500));
+        PersistentVector<Integer> changed = result.toBuilder().set(1500, 5).persistent();
+        Assert.assertEquals(Integer.valueOf(-1), result.get(1500));
+        Assert.assertEquals(Integer.valueOf(5), changed.get(1500));
+    }
+
+    @Test
+    public void Builder_UsedAfterPersistent_IllegalStateException() {
+        PersistentVector.Builder<Integer> builder = PersistentVector.<Integer>empty().toBuilder();
+        builder.add(1);
+        builder.persistent();
+        thrown.expect(IllegalStateException.class);
+        builder.add(2);
+    }
+
+    @Test
+    public void Iterator_AllElems_InOrder() {
+        PersistentVector.Builder<Integer> builder = PersistentVector.<Integer>empty().toBuilder();
+        for (int i = 0; i < 100; ++i) {
+            builder.add(i);
+        }
+        int expected = 0;
+        for (Integer value : builder.persistent()) {
+            Assert.assertEquals(Integer.valueOf(expected++), value);
+        }
+        Assert.assertEquals(100, expected);
+    }
+
+    @Test
+    public void Get_OutOfBounds_IndexOutOfBoundsException() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        PersistentVector.from(List.of(1)).get(1);
+    }
+
+    @Test
+    public void Pop_Empty_NoSuchElementException() {
+        thrown.expect(NoSuchElementException.class);
+        PersistentVector.empty().pop();
+    }
+}
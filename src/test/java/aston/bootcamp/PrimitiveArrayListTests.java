@@ -0,0 +1,304 @@
+package aston.bootcamp;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+public class PrimitiveArrayListTests {
+    @Rule
+    @SuppressWarnings("deprecation")
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void IntAdd_1000000Elems_NormalAdd() {
+        IntArrayList testArr = new IntArrayList();
+        for (int i = 0; i < 1000000; ++i) {
+            testArr.add(i);
+        }
+        Assert.assertEquals(1000000, testArr.size());
+        Assert.assertEquals(999999, testArr.get(999999));
+    }
+
+    @Test
+    public void IntInitConstructor_NegativeInitialCapacity_IllegalArgumentException() {
+        thrown.expect(IllegalArgumentException.class);
+        IntArrayList testArr = new IntArrayList(-5);
+    }
+
+    @Test
+    public void IntAddIndex_AddToExistingIndex_NormalAdd() {
+        IntArrayList testArr = new IntArrayList(0);
+        testArr.add(0, 1);
+        testArr.add(0, 2);
+        testArr.add(1, 3);
+        Assert.assertArrayEquals(new int[]{2, 3, 1}, testArr.toArray());
+    }
+
+    @Test
+    public void IntAddIndex_AddToNonExistingIndex_IndexOutOfBoundException() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        IntArrayList testArr = new IntArrayList();
+        testArr.add(1);
+        testArr.add(3, 2);
+    }
+
+    @Test
+    public void IntRemove_MiddleIndex_CorrectShift() {
+        IntArrayList testArr = new IntArrayList(new int[]{1, 2, 3, 4, 5});
+        Assert.assertEquals(3, testArr.remove(2));
+        Assert.assertArrayEquals(new int[]{1, 2, 4, 5}, testArr.toArray());
+    }
+
+    @Test
+    public void IntRemoveValue_ExistingAndMissingValue_CorrectResult() {
+        IntArrayList testArr = new IntArrayList(new int[]{1, 2, 3, 2});
+        Assert.assertTrue(testArr.removeValue(2));
+        Assert.assertFalse(testArr.removeValue(10));
+        Assert.assertArrayEquals(new int[]{1, 3, 2}, testArr.toArray());
+    }
+
+    @Test
+    public void IntSet_CorrectIndex_CorrectReplace() {
+        IntArrayList testArr = new IntArrayList(new int[]{1, 2, 3});
+        Assert.assertEquals(3, testArr.set(2, 10));
+        Assert.assertEquals(10, testArr.get(2));
+    }
+
+    @Test
+    public void IntIndexOf_DuplicateValues_FirstAndLastIndex() {
+        IntArrayList testArr = new IntArrayList(new int[]{4, 1, 4, 2, 4});
+        Assert.assertEquals(0, testArr.indexOf(4));
+        Assert.assertEquals(4, testArr.lastIndexOf(4));
+        Assert.assertEquals(-1, testArr.indexOf(7));
+        Assert.assertTrue(testArr.contains(2));
+    }
+
+    @Test
+    public void IntAddAll_NonEmptyList_ReturnTrue() {
+        IntArrayList testArr = new IntArrayList(new int[]{1, 2});
+        IntArrayList copyArr = new IntArrayList(new int[]{3, 4, 5});
+        Assert.assertTrue(testArr.addAll(copyArr));
+        Assert.assertFalse(testArr.addAll(new int[0]));
+        Assert.assertArrayEquals(new int[]{1, 2, 3, 4, 5}, testArr.toArray());
+    }
+
+    @Test
+    public void IntRemoveAll_NonEmptyList_AllOccurrencesRemoved() {
+        IntArrayList testArr = new IntArrayList(new int[]{1, 2, 3, 2, 1, 5});
+        Assert.assertTrue(testArr.removeAll(new IntArrayList(new int[]{2, 1})));
+        Assert.assertArrayEquals(new int[]{3, 5}, testArr.toArray());
+        Assert.assertFalse(testArr.removeAll(new IntArrayList(new int[]{7})));
+    }
+
+    @Test
+    public void IntRetainAllAndRemoveIf_MixedValues_CorrectRemaining() {
+        IntArrayList testArr = new IntArrayList(new int[]{1, 2, 3, 4, 5, 6});
+        Assert.assertTrue(testArr.retainAll(new IntArrayList(new int[]{2, 3, 4, 6})));
+        Assert.assertTrue(testArr.removeIf(x -> x % 2 == 0));
+        Assert.assertFalse(testArr.removeIf(x -> x > 100));
+        Assert.assertArrayEquals(new int[]{3}, testArr.toArray());
+    }
+
+    @Test
+    public void IntSort_RandomValues_Ascending() {
+        IntArrayList testArr = new IntArrayList(new int[]{5, -1, 3, 0, 2});
+        testArr.sort();
+        Assert.assertArrayEquals(new int[]{-1, 0, 2, 3, 5}, testArr.toArray());
+    }
+
+    @Test
+    public void IntTrimToSize_NonEmptyList_NoError() {
+        IntArrayList testArr = new IntArrayList(10000);
+        testArr.add(1);
+        testArr.trimToSize();
+        testArr.add(2);
+        Assert.assertArrayEquals(new int[]{1, 2}, testArr.toArray());
+    }
+
+    @Test
+    public void IntIterator_IterateToEnd_NoSuchElementException() {
+        thrown.expect(NoSuchElementException.class);
+        IntArrayList testArr = new IntArrayList(new int[]{1, 2, 3});
+        PrimitiveIterator.OfInt testIter = testArr.iterator();
+        int expected = 1;
+        while (testIter.hasNext()) {
+            Assert.assertEquals(expected, testIter.nextInt());
+            expected += 1;
+        }
+        testIter.nextInt();
+    }
+
+    @Test
+    public void LongAddAndSort_LargeValues_CorrectOrder() {
+        LongArrayList testArr = new LongArrayList();
+        testArr.add(Long.MAX_VALUE);
+        testArr.add(Long.MIN_VALUE);
+        testArr.add(0L);
+        testArr.sort();
+        Assert.assertArrayEquals(new long[]{Long.MIN_VALUE, 0L, Long.MAX_VALUE}, testArr.toArray());
+        Assert.assertEquals(2, testArr.indexOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void DoubleIndexOf_NaN_Found() {
+        DoubleArrayList testArr = new DoubleArrayList(new double[]{1.5, Double.NaN, -0.0});
+        Assert.assertEquals(1, testArr.indexOf(Double.NaN));
+        Assert.assertEquals(-1, testArr.indexOf(0.0));
+        Assert.assertEquals(2, testArr.indexOf(-0.0));
+    }
+
+    @Test
+    public void DoubleRemoveAll_NaN_Removed() {
+        DoubleArrayList testArr = new DoubleArrayList(new double[]{Double.NaN, 2.0, 3.0});
+        Assert.assertTrue(testArr.removeAll(new DoubleArrayList(new double[]{Double.NaN, 3.0})));
+        Assert.assertArrayEquals(new double[]{2.0}, testArr.toArray(), 0.0);
+    }
+
+    @Test
+    public void LongWriteToReadFrom_SeveralBatches_SameElems() throws IOException {
+        LongArrayList testArr = new LongArrayList();
+        for (long i = 0; i < 300_000; ++i) {
+            testArr.add(i * 31);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = testArr.writeTo(Channels.newChannel(out));
+        Assert.assertEquals(out.size(), written);
+        LongArrayList result = LongArrayList.readFrom(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+        Assert.assertArrayEquals(testArr.toArray(), result.toArray());
+    }
+
+    @Test
+    public void IntWriteTo_ReadAsArrayListWithCodec_SameElems() throws IOException {
+        IntArrayList testArr = new IntArrayList(new int[]{5, -1, Integer.MAX_VALUE});
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        testArr.writeTo(Channels.newChannel(out));
+        ArrayList<Integer> result = ArrayList.readFrom(
+                Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), FixedWidthCodec.INT);
+        Assert.assertArrayEquals(new Object[]{5, -1, Integer.MAX_VALUE}, result.toArray());
+    }
+
+    @Test
+    public void DoubleReadFrom_CorruptedBatch_IOException() throws IOException {
+        DoubleArrayList testArr = new DoubleArrayList(new double[]{1.0, 2.0, 3.0});
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        testArr.writeTo(Channels.newChannel(out));
+        byte[] bytes = out.toByteArray();
+        bytes[bytes.length - 6] ^= 1;
+        thrown.expect(IOException.class);
+        DoubleArrayList.readFrom(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    public void IntSearchAndAggregates_RandomSizes_SameAsScalarLoop() {
+        Random random = new Random(19);
+        for (int size = 0; size < 100; ++size) {
+            int[] values = new int[size];
+            for (int i = 0; i < size; ++i) {
+                values[i] = random.nextInt(8) - 4 + (random.nextInt(50) == 0 ? Integer.MAX_VALUE : 0);
+            }
+            IntArrayList testArr = new IntArrayList(values);
+            long sum = 0;
+            for (int value : values) {
+                sum += value;
+            }
+            Assert.assertEquals(sum, testArr.sum());
+            if (size > 0) {
+                Assert.assertEquals(Arrays.stream(values).min().getAsInt(), testArr.min());
+                Assert.assertEquals(Arrays.stream(values).max().getAsInt(), testArr.max());
+            }
+            for (int key = -5; key <= 4; ++key) {
+                int first = -1;
+                int last = -1;
+                int count = 0;
+                for (int i = 0; i < size; ++i) {
+                    if (values[i] == key) {
+                        first = first == -1 ? i : first;
+                        last = i;
+                        count += 1;
+                    }
+                }
+                Assert.assertEquals(first, testArr.indexOf(key));
+                Assert.assertEquals(last, testArr.lastIndexOf(key));
+                Assert.assertEquals(count, testArr.count(key));
+            }
+        }
+    }
+
+    @Test
+    public void LongSearchAndAggregates_RandomSizes_SameAsScalarLoop() {
+        Random random = new Random(19);
+        for (int size = 0; size < 60; ++size) {
+            long[] values = new long[size];
+            for (int i = 0; i < size; ++i) {
+                values[i] = (random.nextInt(6) - 3) * (1L << 40);
+            }
+            LongArrayList testArr = new LongArrayList(values);
+            Assert.assertEquals(Arrays.stream(values).sum(), testArr.sum());
+            if (size > 0) {
+                Assert.assertEquals(Arrays.stream(values).min().getAsLong(), testArr.min());
+                Assert.assertEquals(Arrays.stream(values).max().getAsLong(), testArr.max());
+            }
+            long key = 2L << 40;
+            Assert.assertEquals(Arrays.stream(values).filter(v -> v == key).count(), testArr.count(key));
+            int last = -1;
+            for (int i = 0; i < size; ++i) {
+                last = values[i] == key ? i : last;
+            }
+            Assert.assertEquals(last, testArr.lastIndexOf(key));
+        }
+    }
+
+    @Test
+    public void DoubleSearch_NaNAndSignedZero_SameAsDoubleCompare() {
+        double[] values = new double[37];
+        Arrays.fill(values, 1.5);
+        values[5] = -0.0;
+        values[11] = 0.0;
+        values[20] = Double.longBitsToDouble(0x7ff0000000000123L);
+        values[33] = Double.NaN;
+        DoubleArrayList testArr = new DoubleArrayList(values);
+        Assert.assertEquals(5, testArr.indexOf(-0.0));
+        Assert.assertEquals(11, testArr.indexOf(0.0));
+        Assert.assertEquals(20, testArr.indexOf(Double.NaN));
+        Assert.assertEquals(33, testArr.lastIndexOf(Double.NaN));
+        Assert.assertEquals(2, testArr.count(Double.NaN));
+        Assert.assertEquals(33, testArr.count(1.5));
+        Assert.assertEquals(-1, testArr.indexOf(2.5));
+    }
+
+    @Test
+    public void DoubleAggregates_RandomValues_SameAsScalarLoop() {
+        Random random = new Random(19);
+        for (int size = 1; size < 70; ++size) {
+            double[] values = new double[size];
+            double sum = 0;
+            for (int i = 0; i < size; ++i) {
+                values[i] = random.nextInt(1000) / 8.0 - 50;
+                sum += values[i];
+            }
+            DoubleArrayList testArr = new DoubleArrayList(values);
+            Assert.assertEquals(sum, testArr.sum(), 0.0);
+            Assert.assertEquals(Arrays.stream(values).min().getAsDouble(), testArr.min(), 0.0);
+            Assert.assertEquals(Arrays.stream(values).max().getAsDouble(), testArr.max(), 0.0);
+        }
+        Assert.assertTrue(Double.isNaN(new DoubleArrayList(new double[]{1, Double.NaN, 3}).max()));
+        Assert.assertEquals(Double.doubleToLongBits(-0.0),
+                Double.doubleToLongBits(new DoubleArrayList(new double[]{0.0, -0.0}).min()));
+    }
+
+    @Test
+    public void IntMin_EmptyList_NoSuchElementException() {
+        thrown.expect(NoSuchElementException.class);
+        new IntArrayList().min();
+    }
+}
@@ -0,0 +1,86 @@
+package aston.bootcamp;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class RingArrayListTests {
+    @Rule
+    @SuppressWarnings("deprecation")
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void DequeOperations_WrapAroundAndGrow_SameAsArrayDeque() {
+        Random random = new Random(13);
+        RingArrayList<Integer> testArr = new RingArrayList<>(0);
+        ArrayDeque<Integer> origDeque = new ArrayDeque<>();
+        for (int step = 0; step < 50_000; ++step) {
+            int op = random.nextInt(4);
+            if (op == 0) {
+                testArr.addFirst(step);
+                origDeque.addFirst(step);
+            } else if (op == 1) {
+                testArr.addLast(step);
+                origDeque.addLast(step);
+            } else if (origDeque.isEmpty()) {
+                Assert.assertTrue(testArr.isEmpty());
+            } else if (op == 2) {
+                Assert.assertEquals(origDeque.removeFirst(), testArr.removeFirst());
+            } else {
+                Assert.assertEquals(origDeque.removeLast(), testArr.removeLast());
+            }
+        }
+        Assert.assertArrayEquals(origDeque.toArray(), testArr.toArray());
+    }
+
+    @Test
+    public void IndexedOperations_AfterWrapAround_SameAsJdkList() {
+        Random random = new Random(5);
+        RingArrayList<Integer> testArr = new RingArrayList<>();
+        java.util.ArrayList<Integer> origArr = new java.util.ArrayList<>();
+        for (int step = 0; step < 20_000; ++step) {
+            int op = random.nextInt(10);
+            if (op < 5 || origArr.isEmpty()) {
+                int index = random.nextInt(origArr.size() + 1);
+                testArr.add(index, step);
+                origArr.add(index, step);
+            } else if (op < 8) {
+                int index = random.nextInt(origArr.size());
+                Assert.assertEquals(origArr.remove(index), testArr.remove(index));
+            } else {
+                int index = random.nextInt(origArr.size());
+                Assert.assertEquals(origArr.set(index, -step), testArr.set(index, -step));
+            }
+        }
+        Assert.assertArrayEquals(origArr.toArray(), testArr.toArray());
+        for (int i = 0; i < origArr.size(); ++i) {
+            Assert.assertEquals(origArr.get(i), testArr.get(i));
+        }
+    }
+
+    @Test
+    public void GetFirstAndLast_AfterRemoveObject_CorrectElems() {
+        RingArrayList<String> testArr = new RingArrayList<>(List.of("a", "b", "c"));
+        testArr.addFirst("z");
+        Assert.assertTrue(testArr.remove("b"));
+        Assert.assertFalse(testArr.contains("b"));
+        Assert.assertEquals("z", testArr.getFirst());
+        Assert.assertEquals("c", testArr.getLast());
+        Assert.assertEquals(1, testArr.indexOf("a"));
+    }
+
+    @Test
+    public void RemoveFirst_Empty_NoSuchElementException() {
+        thrown.expect(NoSuchElementException.class);
+        RingArrayList<Integer> testArr = new RingArrayList<>();
+        testArr.addLast(1);
+        testArr.removeFirst();
+        testArr.removeFirst();
+    }
+}
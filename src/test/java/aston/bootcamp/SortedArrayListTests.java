@@ -0,0 +1,82 @@
+package aston.bootcamp;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class SortedArrayListTests {
+    @Test
+    public void InsertSorted_RandomElems_AlwaysSorted() {
+        Random random = new Random(17);
+        SortedArrayList<Integer> testArr = SortedArrayList.naturalOrder();
+        java.util.ArrayList<Integer> origArr = new java.util.ArrayList<>();
+        for (int i = 0; i < 5_000; ++i) {
+            int value = random.nextInt(1000);
+            testArr.insertSorted(value);
+            origArr.add(value);
+        }
+        origArr.sort(Comparator.naturalOrder());
+        Assert.assertArrayEquals(origArr.toArray(), testArr.toArray());
+        for (int value = -1; value <= 1000; ++value) {
+            Assert.assertEquals(origArr.indexOf(value), testArr.indexOf(value));
+            Assert.assertEquals(origArr.lastIndexOf(value), testArr.lastIndexOf(value));
+        }
+    }
+
+    @Test
+    public void AddAll_MergeWithDuplicates_StableAndSorted() {
+        Comparator<PersonTest> byAge = Comparator.comparingInt(PersonTest::getAge);
+        SortedArrayList<PersonTest> testArr = new SortedArrayList<>(byAge,
+                List.of(new PersonTest(30, "a"), new PersonTest(10, "b"), new PersonTest(20, "c")));
+        PersonTest d = new PersonTest(20, "d");
+        PersonTest e = new PersonTest(5, "e");
+        PersonTest f = new PersonTest(20, "f");
+        Assert.assertTrue(testArr.addAll(List.of(d, e, f)));
+        String[] names = new String[testArr.size()];
+        for (int i = 0; i < names.length; ++i) {
+            names[i] = testArr.get(i).getName();
+        }
+        Assert.assertArrayEquals(new String[]{"e", "b", "c", "d", "f", "a"}, names);
+        Assert.assertFalse(testArr.addAll(List.of()));
+    }
+
+    @Test
+    public void AddAll_RandomBatches_SameAsSortedJdkList() {
+        Random random = new Random(3);
+        SortedArrayList<Integer> testArr = SortedArrayList.naturalOrder();
+        java.util.ArrayList<Integer> origArr = new java.util.ArrayList<>();
+        for (int round = 0; round < 50; ++round) {
+            java.util.ArrayList<Integer> batch = new java.util.ArrayList<>();
+            for (int i = random.nextInt(200); i > 0; --i) {
+                batch.add(random.nextInt(10_000));
+            }
+            testArr.addAll(batch);
+            origArr.addAll(batch);
+        }
+        origArr.sort(Comparator.naturalOrder());
+        Assert.assertArrayEquals(origArr.toArray(), testArr.toArray());
+    }
+
+    @Test
+    public void FloorCeilingAndRange_CorrectElems() {
+        SortedArrayList<Integer> testArr = new SortedArrayList<>(Comparator.naturalOrder(), List.of(50, 10, 30, 20, 40, 30));
+        Assert.assertEquals(Integer.valueOf(30), testArr.floor(35));
+        Assert.assertEquals(Integer.valueOf(30), testArr.floor(30));
+        Assert.assertNull(testArr.floor(5));
+        Assert.assertEquals(Integer.valueOf(40), testArr.ceiling(35));
+        Assert.assertNull(testArr.ceiling(51));
+        Assert.assertEquals(Integer.valueOf(20), testArr.lower(30));
+        Assert.assertEquals(Integer.valueOf(40), testArr.higher(30));
+        Assert.assertEquals(4, testArr.countRange(20, 41));
+        Assert.assertArrayEquals(new Object[]{20, 30, 30, 40}, testArr.range(20, 41).toArray());
+        Assert.assertEquals(0, testArr.range(41, 20).size());
+        Assert.assertEquals(-2, testArr.binarySearch(15));
+        Assert.assertTrue(testArr.remove(Integer.valueOf(30)));
+        Assert.assertTrue(testArr.contains(30));
+        Assert.assertEquals(Integer.valueOf(10), testArr.remove(0));
+        Assert.assertArrayEquals(new Object[]{20, 30, 40, 50}, testArr.toArray());
+    }
+}
@@ -0,0 +1,87 @@
+package aston.bootcamp;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.List;
+import java.util.Random;
+
+public class TieredArrayListTests {
+    @Rule
+    @SuppressWarnings("deprecation")
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void AddAndRemove_Middle_CorrectOrder() {
+        TieredArrayList<Integer> testArr = new TieredArrayList<>(4);
+        for (int i = 0; i < 10; ++i) {
+            testArr.add(i);
+        }
+        testArr.add(5, 50);
+        testArr.add(0, -1);
+        Assert.assertArrayEquals(new Object[]{-1, 0, 1, 2, 3, 4, 50, 5, 6, 7, 8, 9}, testArr.toArray());
+        Assert.assertEquals(Integer.valueOf(50), testArr.remove(6));
+        Assert.assertEquals(Integer.valueOf(-1), testArr.remove(0));
+        Assert.assertTrue(testArr.remove((Object) 9));
+        Assert.assertArrayEquals(new Object[]{0, 1, 2, 3, 4, 5, 6, 7, 8}, testArr.toArray());
+    }
+
+    @Test
+    public void RandomOperations_SameAsJdkList() {
+        for (int blockSize : new int[]{2, 4, 16, 1024}) {
+            Random random = new Random(blockSize);
+            TieredArrayList<Integer> testArr = new TieredArrayList<>(blockSize);
+            java.util.ArrayList<Integer> origArr = new java.util.ArrayList<>();
+            for (int step = 0; step < 20_000; ++step) {
+                int op = random.nextInt(10);
+                if (op < 5 || origArr.isEmpty()) {
+                    int index = random.nextInt(origArr.size() + 1);
+                    testArr.add(index, step);
+                    origArr.add(index, step);
+                } else if (op < 8) {
+                    int index = random.nextInt(origArr.size());
+                    Assert.assertEquals(origArr.remove(index), testArr.remove(index));
+                } else {
+                    int index = random.nextInt(origArr.size());
+                    Assert.assertEquals(origArr.set(index, -step), testArr.set(index, -step));
+                }
+            }
+            Assert.assertEquals(origArr.size(), testArr.size());
+            Assert.assertArrayEquals(origArr.toArray(), testArr.toArray());
+            for (int i = 0; i < origArr.size(); ++i) {
+                Assert.assertEquals(origArr.get(i), testArr.get(i));
+            }
+            Assert.assertEquals(origArr.indexOf(-19_999), testArr.indexOf(-19_999));
+        }
+    }
+
+    @Test
+    public void Remove_AllElems_EmptyAndReusable() {
+        TieredArrayList<Integer> testArr = new TieredArrayList<>(List.of(1, 2, 3));
+        testArr.remove(1);
+        testArr.remove(0);
+        testArr.remove(0);
+        Assert.assertTrue(testArr.isEmpty());
+        testArr.add(4);
+        Assert.assertEquals(Integer.valueOf(4), testArr.get(0));
+        testArr.clear();
+        Assert.assertEquals(0, testArr.size());
+        Assert.assertFalse(testArr.contains(4));
+    }
+
+    @Test
+    public void Constructor_NotPowerOfTwo_IllegalArgumentException() {
+        thrown.expect(IllegalArgumentException.class);
+        new TieredArrayList<Integer>(100);
+    }
+
+    @Test
+    public void Get_IncorrectIndex_IndexOutOfBoundException() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        TieredArrayList<Integer> testArr = new TieredArrayList<>();
+        testArr.add(1);
+        testArr.get(1);
+    }
+}